@@ -1,5 +1,6 @@
 package com.seristic.morphlib;
 
+import com.seristic.morphlib.morph.AnchorBuffer;
 import com.seristic.morphlib.morph.MorphState;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
@@ -28,6 +29,9 @@ public class MorphData {
     private EntityType<?> entityType = EntityType.PLAYER;
     private MorphState morphState = new MorphState();
 
+    // Anchor positions derived from morphState, computed lazily (client render thread)
+    private transient AnchorBuffer anchors;
+
     public MorphData() {
         this.morphId = UUID.randomUUID();
     }
@@ -105,6 +109,17 @@ public class MorphData {
         this.morphState = morphState != null ? morphState : new MorphState();
     }
 
+    /**
+     * Get anchor positions for this morph, recomputed only when the morph
+     * state has changed since the last call.
+     */
+    public AnchorBuffer getAnchors() {
+        if (anchors == null) {
+            anchors = new AnchorBuffer();
+        }
+        return anchors.update(morphState);
+    }
+
     public void write(RegistryFriendlyByteBuf buf) {
         buf.writeUUID(morphId);
 
@@ -1,6 +1,11 @@
 package com.seristic.morphlib;
 
+import com.seristic.morphlib.events.MorphEvents;
+import com.seristic.morphlib.events.PreMorphEvent;
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TimedOperation;
+import com.seristic.morphlib.logging.TraceContext;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import net.minecraft.world.entity.Entity;
 
 /**
@@ -64,17 +69,62 @@ public class MorphManager {
     /**
      * Apply a morph to an entity.
      * This sets the morph data and should trigger sync to clients.
+     *
+     * @deprecated Use {@link #tryApplyMorph(Entity, MorphData)}, which reports
+     *             whether a listener cancelled the morph.
      */
+    @Deprecated
     public static void applyMorph(Entity entity, MorphData data) {
+        tryApplyMorph(entity, data);
+    }
+
+    /**
+     * Apply a morph to an entity.
+     * This sets the morph data and should trigger sync to clients.
+     * On the server this fires {@link MorphEvents#PRE_MORPH} and
+     * {@link MorphEvents#POST_MORPH}.
+     *
+     * @return false if the morph was cancelled or could not be applied
+     */
+    public static boolean tryApplyMorph(Entity entity, MorphData data) {
+        return tryApplyMorph(entity, data, true);
+    }
+
+    /**
+     * Apply a morph, optionally without firing the morph events (for callers
+     * such as the morph pipeline that fire them themselves).
+     */
+    public static boolean tryApplyMorph(Entity entity, MorphData data, boolean fireEvents) {
         if (accessor == null) {
             ModLogger.error("MorphManager", "MorphAccessor not initialized!");
-            return;
+            return false;
+        }
+        // Joins the caller's trace (service call, command, sync packet) or starts one
+        try (TraceContext.Scope trace = TraceContext.begin();
+                TimedOperation ignored = ModLogger.startTimed(MorphMetrics.MORPH_APPLY_TIME)) {
+            // Clients only mirror what the server already decided
+            fireEvents = fireEvents && !entity.level().isClientSide() && MorphEvents.hasMorphListeners();
+            MorphData previous = fireEvents ? accessor.getMorph(entity) : null;
+            if (fireEvents) {
+                PreMorphEvent preEvent = MorphEvents.firePreMorph(entity, previous, data);
+                if (preEvent != null && preEvent.isCancelled()) {
+                    ModLogger.info("MorphManager", "Morph of entity {} cancelled: {}", entity.getUUID(),
+                            preEvent.getCancelReason());
+                    return false;
+                }
+            }
+
+            ModLogger.info("MorphManager", "Applying morph to entity: {} with data: {}", entity.getUUID(), data);
+            accessor.setMorph(entity, data);
+            MorphMetrics.MORPH_APPLIES.increment();
+
+            // Apply actual scaling transformations to the entity
+            applyEntityScaling(entity, data);
+
+            if (fireEvents)
+                MorphEvents.firePostMorph(entity, previous, data);
+            return true;
         }
-        ModLogger.info("MorphManager", "Applying morph to entity: " + entity.getStringUUID() + " with data: " + data);
-        accessor.setMorph(entity, data);
-
-        // Apply actual scaling transformations to the entity
-        applyEntityScaling(entity, data);
     }
 
     /**
@@ -106,10 +156,10 @@ public class MorphManager {
             // Update entity's bounding box to match new scale
             livingEntity.refreshDimensions();
 
-            ModLogger.debug("MorphManager", "Applied scaling to entity " + entity.getStringUUID() +
-                    ": scale=" + scale + ", height=" + morphState.getHeight());
+            ModLogger.debug("MorphManager", "Applied scaling to entity {}: scale={}, height={}",
+                    entity.getUUID(), scale, morphState.getHeight());
         } catch (Exception e) {
-            ModLogger.warn("MorphManager", "Failed to apply entity scaling: " + e.getMessage());
+            ModLogger.warn("MorphManager", "Failed to apply entity scaling: {}", e.getMessage());
         }
     }
 
@@ -131,9 +181,9 @@ public class MorphManager {
             // Update entity's bounding box
             livingEntity.refreshDimensions();
 
-            ModLogger.debug("MorphManager", "Reset scaling for entity " + entity.getStringUUID());
+            ModLogger.debug("MorphManager", "Reset scaling for entity {}", entity.getUUID());
         } catch (Exception e) {
-            ModLogger.warn("MorphManager", "Failed to reset entity scaling: " + e.getMessage());
+            ModLogger.warn("MorphManager", "Failed to reset entity scaling: {}", e.getMessage());
         }
     }
 
@@ -165,20 +215,56 @@ public class MorphManager {
 
     /**
      * Remove morph data for an entity.
+     *
+     * @deprecated Use {@link #tryRemoveMorph(Entity)}, which reports whether a
+     *             listener cancelled the removal.
      */
+    @Deprecated
     public static void removeMorph(Entity entity) {
+        tryRemoveMorph(entity);
+    }
+
+    /**
+     * Remove morph data for an entity.
+     * On the server this fires the morph events with a null target morph.
+     *
+     * @return false if the removal was cancelled or could not be done
+     */
+    public static boolean tryRemoveMorph(Entity entity) {
+        return tryRemoveMorph(entity, true);
+    }
+
+    /**
+     * Remove morph data, optionally without firing the morph events.
+     */
+    public static boolean tryRemoveMorph(Entity entity, boolean fireEvents) {
         if (accessor == null) {
             ModLogger.error("MorphManager", "MorphAccessor not initialized!");
-            return;
+            return false;
         }
         MorphData removed = accessor.getMorph(entity);
         if (removed != null) {
-            ModLogger.info("MorphManager", "Removed morph from entity: " + entity.getStringUUID());
+            fireEvents = fireEvents && !entity.level().isClientSide();
+            if (fireEvents) {
+                PreMorphEvent preEvent = MorphEvents.firePreMorph(entity, removed, null);
+                if (preEvent != null && preEvent.isCancelled()) {
+                    ModLogger.info("MorphManager", "Morph removal for entity {} cancelled: {}", entity.getUUID(),
+                            preEvent.getCancelReason());
+                    return false;
+                }
+            }
+
+            ModLogger.info("MorphManager", "Removed morph from entity: {}", entity.getUUID());
             accessor.removeMorph(entity);
+            MorphMetrics.MORPH_REMOVALS.increment();
 
             // Reset entity scaling to default
             resetEntityScaling(entity);
+
+            if (fireEvents)
+                MorphEvents.firePostMorph(entity, removed, null);
         }
+        return true;
     }
 
     // ===== Morph Stack API (new) =====
@@ -202,8 +288,8 @@ public class MorphManager {
             ModLogger.warn("MorphManager", "MorphStackAccessor not initialized!");
             return;
         }
-        ModLogger.info("MorphManager", "Setting morph stack for entity: " + entity.getStringUUID() + " with "
-                + stack.getLayers().size() + " layers");
+        ModLogger.info("MorphManager", "Setting morph stack for entity: {} with {} layers",
+                entity.getUUID(), stack.getLayers().size());
         stackAccessor.setMorphStack(entity, stack);
     }
 
@@ -220,8 +306,8 @@ public class MorphManager {
         stack.addLayer(layerId, priority, morphData);
         setMorphStack(entity, stack);
 
-        ModLogger.info("MorphManager",
-                "Added morph layer '" + layerId + "' (priority " + priority + ") to entity: " + entity.getStringUUID());
+        ModLogger.info("MorphManager", "Added morph layer '{}' (priority {}) to entity: {}",
+                layerId, priority, entity.getUUID());
     }
 
     /**
@@ -241,7 +327,7 @@ public class MorphManager {
             setMorphStack(entity, stack);
         }
 
-        ModLogger.info("MorphManager", "Removed morph layer '" + layerId + "' from entity: " + entity.getStringUUID());
+        ModLogger.info("MorphManager", "Removed morph layer '{}' from entity: {}", layerId, entity.getUUID());
     }
 
     /**
@@ -254,7 +340,7 @@ public class MorphManager {
 
         MorphStack removed = stackAccessor.getMorphStack(entity);
         if (removed != null) {
-            ModLogger.info("MorphManager", "Removed morph stack from entity: " + entity.getStringUUID());
+            ModLogger.info("MorphManager", "Removed morph stack from entity: {}", entity.getUUID());
             stackAccessor.removeMorphStack(entity);
         }
     }
@@ -279,9 +365,9 @@ public class MorphManager {
      * Clear all morphs (simple and stacked) from an entity.
      */
     public static void clearAllMorphs(Entity entity) {
-        removeMorph(entity);
+        tryRemoveMorph(entity);
         removeMorphStack(entity);
         // Scaling is already reset in removeMorph()
-        ModLogger.info("MorphManager", "Cleared all morphs from entity: " + entity.getStringUUID());
+        ModLogger.info("MorphManager", "Cleared all morphs from entity: {}", entity.getUUID());
     }
 }
@@ -1,5 +1,8 @@
 package com.seristic.morphlib;
 
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TimedOperation;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
@@ -70,6 +73,9 @@ public class MorphStack {
 
     private final List<MorphLayer> layers;
 
+    // Result of the last combine(), dropped whenever the layers change
+    private MorphData combined;
+
     public MorphStack() {
         this.layers = new ArrayList<>();
     }
@@ -94,6 +100,7 @@ public class MorphStack {
         layers.add(new MorphLayer(layerId, priority, morphData));
         // Re-sort by priority
         layers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        combined = null;
     }
 
     /**
@@ -103,13 +110,15 @@ public class MorphStack {
         removeLayer(layerId);
         layers.add(new MorphLayer(layerId, priority, morphData, metadata));
         layers.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        combined = null;
     }
 
     /**
      * Remove a layer by ID.
      */
     public void removeLayer(String layerId) {
-        layers.removeIf(layer -> layer.getLayerId().equals(layerId));
+        if (layers.removeIf(layer -> layer.getLayerId().equals(layerId)))
+            combined = null;
     }
 
     /**
@@ -138,18 +147,43 @@ public class MorphStack {
      */
     public void clear() {
         layers.clear();
+        combined = null;
+    }
+
+    /**
+     * Drop the cached {@link #combine()} result. Only needed after changing a
+     * layer's MorphData in place; adding, removing and clearing layers already
+     * do this.
+     */
+    public void invalidate() {
+        combined = null;
     }
 
     /**
      * Combine all layers into a single MorphData, applying priority-based
      * inheritance.
      * Higher priority values override lower ones.
+     *
+     * The result is cached until the layers change, so callers get the same
+     * instance (and its anchors) every frame. Treat it as read-only.
      */
     public MorphData combine() {
+        MorphData current = combined;
+        if (current != null) {
+            return current;
+        }
         if (layers.isEmpty()) {
-            return new MorphData(); // Default morph data
+            current = new MorphData(); // Default morph data
+        } else {
+            try (TimedOperation ignored = ModLogger.startTimed(MorphMetrics.STACK_COMBINE_TIME)) {
+                current = combineLayers();
+            }
         }
+        combined = current;
+        return current;
+    }
 
+    private MorphData combineLayers() {
         // Start with the lowest priority layer and work up
         List<MorphLayer> reversedLayers = new ArrayList<>(layers);
         Collections.reverse(reversedLayers);
@@ -1,11 +1,14 @@
 package com.seristic.morphlib;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
 
 import com.seristic.morphlib.logging.ModLogger;
 import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.metrics.MorphMetrics;
 
 public final class Morphlib {
     public static final String MOD_ID = "morphlib";
@@ -14,20 +17,27 @@ public final class Morphlib {
         // Write common init code here.
 
         initLogger();
+        initMetrics();
 
         ModLogger.info("MorphLib", "Common Module Initialized");
     }
 
+    private static void initMetrics() {
+        MorphMetrics.init();
+        MetricsRegistry.getInstance().startPeriodicSnapshot(Duration.ofMinutes(5));
+    }
+
     private static void initLogger() {
-        LoggingConfig config = new LoggingConfig(
-                Path.of("logs"),
-                "morphlib",
-                5 * 1024 * 1024L, // 5 MB
-                5,
-                false,
-                true,
-                DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"),
-                ZoneId.systemDefault());
+        LoggingConfig config = LoggingConfig.builder()
+                .logDirectory(Path.of("logs"))
+                .logFileBaseName("morphlib")
+                .maxBytesPerFile(5 * 1024 * 1024L) // 5 MB
+                .maxBackupFiles(5)
+                .jsonFormat(false)
+                .consoleEnabled(true)
+                .dateTimeFormatter(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))
+                .zoneId(ZoneId.systemDefault())
+                .build();
 
         ModLogger.init("MorphLib", config);
         ModLogger.info("MorphLib", "Logger Initialized Successfully");
@@ -0,0 +1,27 @@
+package com.seristic.morphlib.client;
+
+import com.seristic.morphlib.restrictions.MorphEligibility;
+
+/**
+ * Client copy of the local player's morph eligibility, as last sent by the
+ * server. The morph menu reads it instead of asking per morph.
+ */
+public final class ClientMorphEligibility {
+    private static volatile MorphEligibility current = MorphEligibility.EMPTY;
+
+    private ClientMorphEligibility() {
+    }
+
+    public static MorphEligibility get() {
+        return current;
+    }
+
+    public static void set(MorphEligibility eligibility) {
+        current = eligibility;
+    }
+
+    /** Forget the server's state (disconnect). */
+    public static void clear() {
+        current = MorphEligibility.EMPTY;
+    }
+}
@@ -0,0 +1,61 @@
+package com.seristic.morphlib.client.render;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.morph.MorphState;
+import net.minecraft.world.entity.LivingEntity;
+
+/**
+ * Morph of the entity currently being rendered, reused across frames.
+ *
+ * The platform render hook sets it between its pre- and post-render events;
+ * render layers and mixins read it through {@link #current()}. It uses no
+ * loader API, so mixins shared by every platform can depend on it.
+ *
+ * Render thread only.
+ */
+public final class ActiveMorph {
+
+    private static final ActiveMorph CURRENT = new ActiveMorph();
+
+    public LivingEntity entity;
+    public MorphData morphData;
+    public MorphState morphState;
+    // Null when armor is not scaled at this detail level
+    public ArmorMorphTransformer.ArmorTransform armor;
+    public boolean renderChest;
+    public boolean moving;
+    // Whole-model scale at MINIMAL detail, 1 otherwise; armor models follow it
+    public float uniformScale = 1.0f;
+
+    private ActiveMorph() {
+    }
+
+    /**
+     * Get the morph of the entity currently being rendered, or null if the
+     * entity is not morphed. Only valid while its render layers are drawn.
+     */
+    public static ActiveMorph current() {
+        return CURRENT.entity != null ? CURRENT : null;
+    }
+
+    static void set(LivingEntity entity, MorphData morphData, MorphState morphState, boolean renderChest,
+            boolean moving, boolean scaleArmor, float uniformScale) {
+        CURRENT.entity = entity;
+        CURRENT.morphData = morphData;
+        CURRENT.morphState = morphState;
+        CURRENT.armor = scaleArmor ? ArmorMorphTransformer.transformFor(entity, morphState) : null;
+        CURRENT.renderChest = renderChest;
+        CURRENT.moving = moving;
+        CURRENT.uniformScale = uniformScale;
+    }
+
+    static void clear() {
+        CURRENT.entity = null;
+        CURRENT.morphData = null;
+        CURRENT.morphState = null;
+        CURRENT.armor = null;
+        CURRENT.renderChest = false;
+        CURRENT.moving = false;
+        CURRENT.uniformScale = 1.0f;
+    }
+}
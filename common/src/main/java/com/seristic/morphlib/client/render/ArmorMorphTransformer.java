@@ -0,0 +1,147 @@
+package com.seristic.morphlib.client.render;
+
+import com.seristic.morphlib.morph.MorphState;
+import net.minecraft.client.model.HumanoidModel;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Scales humanoid armor models to follow the morphed body.
+ *
+ * Armor parts are resolved once per armor model into an indexed table, and
+ * scales come from a per-entity {@link ArmorTransform} recomputed only when
+ * the entity's morph state or its version changes. Applying a slot is a few array reads and field writes.
+ *
+ * Writes go through {@link ModelPoseSnapshot}, so armor models are restored
+ * together with the entity model after it is drawn. Render thread only.
+ */
+public class ArmorMorphTransformer {
+
+    // Part table indices
+    private static final int HEAD = 0;
+    private static final int HAT = 1;
+    private static final int BODY = 2;
+    private static final int LEFT_ARM = 3;
+    private static final int RIGHT_ARM = 4;
+    private static final int LEFT_LEG = 5;
+    private static final int RIGHT_LEG = 6;
+    private static final int PART_COUNT = 7;
+
+    // Armor model -> resolved parts
+    private static final Map<HumanoidModel<?>, ModelPart[]> PART_TABLES = new IdentityHashMap<>();
+
+    // Entity -> cached armor scales. Keyed by the entity rather than the
+    // state, so a state replaced by a new instance reuses the entry.
+    private static final Map<LivingEntity, ArmorTransform> TRANSFORMS = new WeakHashMap<>();
+
+    /**
+     * Get the cached armor transform for an entity, refreshed if its morph
+     * state instance or version changed since it was last used.
+     */
+    public static ArmorTransform transformFor(LivingEntity entity, MorphState morphState) {
+        ArmorTransform transform = TRANSFORMS.get(entity);
+        if (transform == null) {
+            transform = new ArmorTransform();
+            TRANSFORMS.put(entity, transform);
+        }
+        return transform.update(morphState);
+    }
+
+    /**
+     * Scale the parts of an armor model used by one equipment slot.
+     */
+    public static void apply(HumanoidModel<?> armorModel, EquipmentSlot slot, ArmorTransform transform) {
+        ModelPart[] parts = PART_TABLES.get(armorModel);
+        if (parts == null) {
+            parts = resolveParts(armorModel);
+        }
+
+        switch (slot) {
+            case HEAD -> {
+                float s = transform.helmetScale;
+                ModelPoseSnapshot.setScale(parts[HEAD], s, s, s);
+                ModelPoseSnapshot.setScale(parts[HAT], s, s, s);
+            }
+            case CHEST -> {
+                ModelPoseSnapshot.setScale(parts[BODY], transform.chestWidth, transform.chestHeight,
+                        transform.chestWidth);
+                ModelPoseSnapshot.setYScale(parts[LEFT_ARM], transform.armLength);
+                ModelPoseSnapshot.setYScale(parts[RIGHT_ARM], transform.armLength);
+            }
+            case LEGS -> {
+                ModelPoseSnapshot.setScale(parts[BODY], transform.legsWidth, 1.0f, transform.legsWidth);
+                ModelPoseSnapshot.setScale(parts[LEFT_LEG], transform.legsWidth, transform.legLength,
+                        transform.legsWidth);
+                ModelPoseSnapshot.setScale(parts[RIGHT_LEG], transform.legsWidth, transform.legLength,
+                        transform.legsWidth);
+            }
+            case FEET -> {
+                ModelPoseSnapshot.setYScale(parts[LEFT_LEG], transform.legLength);
+                ModelPoseSnapshot.setYScale(parts[RIGHT_LEG], transform.legLength);
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Drop resolved part tables (resource reload, model rebake).
+     */
+    public static void clear() {
+        PART_TABLES.clear();
+        TRANSFORMS.clear();
+    }
+
+    private static ModelPart[] resolveParts(HumanoidModel<?> model) {
+        ModelPart[] parts = new ModelPart[PART_COUNT];
+        parts[HEAD] = model.head;
+        parts[HAT] = model.hat;
+        parts[BODY] = model.body;
+        parts[LEFT_ARM] = model.leftArm;
+        parts[RIGHT_ARM] = model.rightArm;
+        parts[LEFT_LEG] = model.leftLeg;
+        parts[RIGHT_LEG] = model.rightLeg;
+        PART_TABLES.put(model, parts);
+        return parts;
+    }
+
+    /**
+     * Armor scales derived from an entity's morph state, recomputed only when
+     * the state instance or its version changes.
+     */
+    public static final class ArmorTransform {
+        public float helmetScale = 1.0f;
+        public float chestWidth = 1.0f;
+        public float chestHeight = 1.0f;
+        public float armLength = 1.0f;
+        public float legsWidth = 1.0f;
+        public float legLength = 1.0f;
+
+        // State this was computed from
+        private MorphState source;
+        private int sourceVersion = -1;
+
+        /**
+         * Refresh from a morph state if it changed since the last update.
+         */
+        private ArmorTransform update(MorphState morphState) {
+            if (morphState == source && morphState.getVersion() == sourceVersion) {
+                return this;
+            }
+            helmetScale = morphState.getHeadSize();
+            chestWidth = morphState.getBodyWidth();
+            chestHeight = morphState.getHeight();
+            armLength = morphState.getArmLength();
+            legsWidth = morphState.getHipWidth();
+            legLength = morphState.getLegLength();
+            source = morphState;
+            sourceVersion = morphState.getVersion();
+            return this;
+        }
+    }
+}
@@ -1,200 +1,229 @@
 package com.seristic.morphlib.client.render;
 
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.seristic.morphlib.MorphData;
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import com.seristic.morphlib.morph.MorphState;
 import net.minecraft.client.model.geom.ModelPart;
 import net.minecraft.client.model.geom.PartPose;
 import net.minecraft.client.model.geom.builders.CubeDeformation;
 import net.minecraft.client.model.geom.builders.CubeListBuilder;
+import net.minecraft.client.model.geom.builders.LayerDefinition;
+import net.minecraft.client.model.geom.builders.MeshDefinition;
+import net.minecraft.client.model.geom.builders.PartDefinition;
 
-import java.util.Optional;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Handles dynamic injection of chest/breast geometry into entity models.
- * Creates custom ModelParts for entities that don't have chest geometry.
+ * Renders chest/breast geometry for entity models that don't have it.
+ *
+ * Chest meshes are baked once per quantized (scale, spacing, gender) shape and
+ * cached. They are never attached to the entity model itself - models are
+ * shared by every entity using the renderer - but drawn by
+ * {@link ChestGeometryLayer} relative to the body part, with per-entity
+ * visibility, residual scale and animation applied at render time.
  */
 public class ChestGeometryInjector {
 
     private static final String CHEST_LEFT_NAME = "morphlib_chest_left";
     private static final String CHEST_RIGHT_NAME = "morphlib_chest_right";
 
-    /**
-     * Inject chest geometry into a model's body part if it doesn't already have it.
-     * 
-     * @param bodyPart   The body ModelPart to attach chest to
-     * @param morphData  The morph data containing gender/body type
-     * @param morphState The morph state with chest scaling parameters
-     * @return true if injection was successful or already exists
-     */
-    public static boolean injectChestGeometry(ModelPart bodyPart, MorphData morphData, MorphState morphState) {
-        if (bodyPart == null) {
-            ModLogger.warn("ChestGeometryInjector", "Cannot inject chest - body part is null");
-            return false;
-        }
+    // Shape quantization step for scale and spacing
+    private static final float QUANTIZATION_STEP = 0.05f;
 
-        // Check if chest parts already exist
-        if (hasChestGeometry(bodyPart)) {
-            // Update existing chest geometry
-            updateChestGeometry(bodyPart, morphData, morphState);
-            return true;
-        }
+    // Maximum number of baked chest meshes kept around
+    private static final int MAX_CACHED_MESHES = 64;
 
-        // Create and attach chest geometry
-        try {
-            createChestParts(bodyPart, morphData, morphState);
-            ModLogger.info("ChestGeometryInjector", "Successfully injected chest geometry");
+    // Packed shape key -> baked mesh (LRU, render thread only)
+    private static final Map<Long, ModelPart> MESH_CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ModelPart> eldest) {
+            if (size() <= MAX_CACHED_MESHES) {
+                return false;
+            }
+            forgetPoses(eldest.getValue());
             return true;
-        } catch (Exception e) {
-            ModLogger.error("ChestGeometryInjector", "Failed to inject chest geometry: " + e.getMessage());
-            return false;
         }
-    }
+    };
 
     /**
-     * Check if body part already has chest geometry attached
+     * Check whether an entity with this morph should show chest geometry.
      */
-    public static boolean hasChestGeometry(ModelPart bodyPart) {
-        // Check if our custom chest parts exist
-        for (var child : bodyPart.children.entrySet()) {
-            if (CHEST_LEFT_NAME.equals(child.getKey()) || CHEST_RIGHT_NAME.equals(child.getKey())) {
-                return true;
-            }
-        }
-        return false;
+    public static boolean shouldRenderChest(MorphData morphData, MorphState morphState) {
+        return morphData.getGender() == MorphData.Gender.FEMALE && morphState.getChestScale() > 0.01f;
     }
 
     /**
-     * Create chest ModelParts and attach them to the body
+     * Draw chest geometry for one entity relative to its body part.
+     *
+     * @param bodyPart    The body ModelPart the chest follows
+     * @param morphData   The morph data containing gender/body type
+     * @param morphState  The morph state with chest scaling parameters
+     * @param ageInTicks  Current age for animation
+     * @param animate     Whether movement animation (bounce, sway) applies
+     * @param poseStack   Pose stack positioned at the model root
+     * @param consumer    Vertex consumer for the entity texture
+     * @param packedLight Packed light coordinates
+     * @param overlay     Packed overlay coordinates
      */
-    private static void createChestParts(ModelPart bodyPart, MorphData morphData, MorphState morphState) {
-        float chestScale = morphState.getChestScale();
-        float chestSpacing = morphState.getChestSpacing();
-
-        // Only create visible chest for female gender with non-zero scale
-        boolean isFemale = morphData.getGender() == MorphData.Gender.FEMALE;
-        if (!isFemale || chestScale <= 0.01f) {
-            // Male or flat chest - no visible geometry needed
+    public static void renderChest(ModelPart bodyPart, MorphData morphData, MorphState morphState,
+            float ageInTicks, boolean animate, PoseStack poseStack, VertexConsumer consumer,
+            int packedLight, int overlay) {
+        if (bodyPart == null || !bodyPart.visible || !shouldRenderChest(morphData, morphState)) {
             return;
         }
 
-        // Calculate chest dimensions based on scale
-        float baseSize = 2.0f; // Base cube size
-        float width = baseSize * chestScale;
-        float height = baseSize * chestScale;
-        float depth = baseSize * chestScale;
+        int scaleStep = quantize(morphState.getChestScale());
+        int spacingStep = quantize(morphState.getChestSpacing());
+        ModelPart mesh = getOrBuildMesh(scaleStep, spacingStep, morphData.getGender());
 
-        // Calculate position (offset from body center)
-        float offsetY = -2.0f; // Below head/neck
-        float offsetZ = -2.0f - (depth / 2); // Forward from body
-        float lateralOffset = 2.0f + chestSpacing; // Left/right spacing
+        ModelPart chestLeft = mesh.getChild(CHEST_LEFT_NAME);
+        ModelPart chestRight = mesh.getChild(CHEST_RIGHT_NAME);
 
-        // Create left chest part
-        ModelPart chestLeft = new ModelPart(
-                CubeListBuilder.create()
-                        .texOffs(16, 20) // Texture UV offset
-                        .addBox(-width / 2, -height / 2, -depth / 2, width, height, depth, new CubeDeformation(0.0f))
-                        .compile().cubes(),
-                bodyPart.getAllChildren());
-        chestLeft.setPos(lateralOffset, offsetY, offsetZ);
+        // Residual scale between the exact value and the baked shape
+        float bakedScale = scaleStep * QUANTIZATION_STEP;
+        float residual = bakedScale > 0.0f ? morphState.getChestScale() / bakedScale : 1.0f;
+        ModelPoseSnapshot.setScale(chestLeft, residual, residual, residual);
+        ModelPoseSnapshot.setScale(chestRight, residual, residual, residual);
 
-        // Create right chest part
-        ModelPart chestRight = new ModelPart(
-                CubeListBuilder.create()
-                        .texOffs(16, 20) // Texture UV offset (mirror)
-                        .addBox(-width / 2, -height / 2, -depth / 2, width, height, depth, new CubeDeformation(0.0f))
-                        .compile().cubes(),
-                bodyPart.getAllChildren());
-        chestRight.setPos(-lateralOffset, offsetY, offsetZ);
-
-        // Add to body part's children
-        bodyPart.children.put(CHEST_LEFT_NAME, chestLeft);
-        bodyPart.children.put(CHEST_RIGHT_NAME, chestRight);
-
-        ModLogger.debug("ChestGeometryInjector",
-                "Created chest parts: scale=" + chestScale + ", spacing=" + chestSpacing +
-                        ", dimensions=" + width + "x" + height + "x" + depth);
+        if (animate) {
+            animateChest(chestLeft, chestRight, morphState, ageInTicks);
+        }
+
+        poseStack.pushPose();
+        bodyPart.translateAndRotate(poseStack);
+        mesh.render(poseStack, consumer, packedLight, overlay);
+        poseStack.popPose();
     }
 
     /**
-     * Update existing chest geometry with new scale values
+     * Check if body part has chest geometry attached by older versions
      */
-    public static void updateChestGeometry(ModelPart bodyPart, MorphData morphData, MorphState morphState) {
-        ModelPart chestLeft = bodyPart.children.get(CHEST_LEFT_NAME);
-        ModelPart chestRight = bodyPart.children.get(CHEST_RIGHT_NAME);
+    public static boolean hasChestGeometry(ModelPart bodyPart) {
+        return bodyPart.hasChild(CHEST_LEFT_NAME) || bodyPart.hasChild(CHEST_RIGHT_NAME);
+    }
 
-        if (chestLeft == null || chestRight == null) {
+    /**
+     * Remove chest geometry that older versions injected into a model
+     */
+    public static void removeChestGeometry(ModelPart bodyPart) {
+        if (bodyPart == null) {
             return;
         }
 
-        float chestScale = morphState.getChestScale();
-        float chestSpacing = morphState.getChestSpacing();
+        bodyPart.children.remove(CHEST_LEFT_NAME);
+        bodyPart.children.remove(CHEST_RIGHT_NAME);
 
-        // Update scale
-        chestLeft.xScale = chestScale;
-        chestLeft.yScale = chestScale;
-        chestLeft.zScale = chestScale;
+        ModLogger.debug("ChestGeometryInjector", "Removed chest geometry");
+    }
+
+    /**
+     * Drop all baked meshes (resource reload, model rebake).
+     */
+    public static void invalidateMeshes() {
+        for (ModelPart mesh : MESH_CACHE.values()) {
+            forgetPoses(mesh);
+        }
+        MESH_CACHE.clear();
+        ModLogger.debug("ChestGeometryInjector", "Invalidated chest mesh cache");
+    }
 
-        chestRight.xScale = chestScale;
-        chestRight.yScale = chestScale;
-        chestRight.zScale = chestScale;
+    /**
+     * Number of baked chest meshes currently cached.
+     */
+    public static int getCachedMeshCount() {
+        return MESH_CACHE.size();
+    }
 
-        // Update position based on spacing
-        float lateralOffset = 2.0f + chestSpacing;
-        chestLeft.x = lateralOffset;
-        chestRight.x = -lateralOffset;
+    /**
+     * Release the pose snapshots of a mesh leaving the cache.
+     */
+    private static void forgetPoses(ModelPart mesh) {
+        ModelPoseSnapshot.forget(mesh.getChild(CHEST_LEFT_NAME));
+        ModelPoseSnapshot.forget(mesh.getChild(CHEST_RIGHT_NAME));
+    }
 
-        // Hide chest for male or flat
-        boolean isFemale = morphData.getGender() == MorphData.Gender.FEMALE;
-        boolean visible = isFemale && chestScale > 0.01f;
+    private static int quantize(float value) {
+        return Math.round(value / QUANTIZATION_STEP);
+    }
 
-        chestLeft.visible = visible;
-        chestRight.visible = visible;
+    private static long shapeKey(int scaleStep, int spacingStep, MorphData.Gender gender) {
+        return ((long) scaleStep << 32) | ((long) (spacingStep & 0xFFFFFF) << 8) | gender.ordinal();
+    }
 
-        ModLogger.debug("ChestGeometryInjector",
-                "Updated chest geometry: scale=" + chestScale + ", spacing=" + chestSpacing + ", visible=" + visible);
+    private static ModelPart getOrBuildMesh(int scaleStep, int spacingStep, MorphData.Gender gender) {
+        long key = shapeKey(scaleStep, spacingStep, gender);
+        ModelPart mesh = MESH_CACHE.get(key);
+        if (mesh != null) {
+            MorphMetrics.CHEST_MESH_HITS.increment();
+        } else {
+            MorphMetrics.CHEST_MESH_MISSES.increment();
+            mesh = buildMesh(scaleStep * QUANTIZATION_STEP, spacingStep * QUANTIZATION_STEP);
+            MESH_CACHE.put(key, mesh);
+        }
+        return mesh;
     }
 
     /**
-     * Remove chest geometry from a model
+     * Bake a chest mesh for one quantized shape.
      */
-    public static void removeChestGeometry(ModelPart bodyPart) {
-        if (bodyPart == null) {
-            return;
-        }
+    private static ModelPart buildMesh(float chestScale, float chestSpacing) {
+        // Calculate chest dimensions based on scale
+        float baseSize = 2.0f; // Base cube size
+        float width = baseSize * chestScale;
+        float height = baseSize * chestScale;
+        float depth = baseSize * chestScale;
 
-        bodyPart.children.remove(CHEST_LEFT_NAME);
-        bodyPart.children.remove(CHEST_RIGHT_NAME);
+        // Calculate position (offset from body pivot)
+        float offsetY = -2.0f; // Below head/neck
+        float offsetZ = -2.0f - (depth / 2); // Forward from body
+        float lateralOffset = 2.0f + chestSpacing; // Left/right spacing
 
-        ModLogger.debug("ChestGeometryInjector", "Removed chest geometry");
+        MeshDefinition meshDefinition = new MeshDefinition();
+        PartDefinition root = meshDefinition.getRoot();
+
+        root.addOrReplaceChild(CHEST_LEFT_NAME,
+                CubeListBuilder.create()
+                        .texOffs(16, 20) // Texture UV offset
+                        .addBox(-width / 2, -height / 2, -depth / 2, width, height, depth, new CubeDeformation(0.0f)),
+                PartPose.offset(lateralOffset, offsetY, offsetZ));
+
+        root.addOrReplaceChild(CHEST_RIGHT_NAME,
+                CubeListBuilder.create()
+                        .texOffs(16, 20) // Texture UV offset (mirror)
+                        .mirror()
+                        .addBox(-width / 2, -height / 2, -depth / 2, width, height, depth, new CubeDeformation(0.0f)),
+                PartPose.offset(-lateralOffset, offsetY, offsetZ));
+
+        ModLogger.debug("ChestGeometryInjector", () -> "Baked chest mesh: scale=" + chestScale
+                + ", spacing=" + chestSpacing + ", dimensions=" + width + "x" + height + "x" + depth);
+
+        return LayerDefinition.create(meshDefinition, 64, 64).bakeRoot();
     }
 
     /**
      * Apply animation to chest parts (bounce, sway)
      */
-    public static void animateChest(ModelPart bodyPart, MorphState morphState, float ageInTicks) {
-        ModelPart chestLeft = bodyPart.children.get(CHEST_LEFT_NAME);
-        ModelPart chestRight = bodyPart.children.get(CHEST_RIGHT_NAME);
-
-        if (chestLeft == null || chestRight == null) {
-            return;
-        }
-
+    private static void animateChest(ModelPart chestLeft, ModelPart chestRight, MorphState morphState,
+            float ageInTicks) {
         float bounce = morphState.getIdleBounce();
         float sway = morphState.getWalkSway();
 
         if (bounce > 0.001f) {
-            // Gentle idle bounce
+            // Gentle idle bounce (offset from the base pose, never accumulated)
             float bounceAmount = (float) Math.sin(ageInTicks * 0.05f) * 0.05f * bounce;
-            chestLeft.y += bounceAmount;
-            chestRight.y += bounceAmount;
+            ModelPoseSnapshot.offsetBaseY(chestLeft, bounceAmount);
+            ModelPoseSnapshot.offsetBaseY(chestRight, bounceAmount);
         }
 
         if (sway > 0.001f) {
             // Subtle sway during movement
             float swayAmount = (float) Math.sin(ageInTicks * 0.1f) * 0.03f * sway;
-            chestLeft.zRot = swayAmount;
-            chestRight.zRot = -swayAmount;
+            ModelPoseSnapshot.setZRot(chestLeft, swayAmount);
+            ModelPoseSnapshot.setZRot(chestRight, -swayAmount);
         }
     }
 }
@@ -0,0 +1,52 @@
+package com.seristic.morphlib.client.render;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import net.minecraft.client.model.EntityModel;
+import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.entity.LivingEntityRenderer;
+import net.minecraft.client.renderer.entity.layers.RenderLayer;
+import net.minecraft.client.renderer.entity.state.LivingEntityRenderState;
+
+import java.util.Optional;
+
+/**
+ * Render layer drawing cached chest geometry for the entity currently being
+ * rendered by {@link UniversalMorphRenderHandler}.
+ *
+ * The layer reads the active morph captured in the pre-render event, so the
+ * shared entity model is never modified.
+ */
+public class ChestGeometryLayer<S extends LivingEntityRenderState, M extends EntityModel<? super S>>
+        extends RenderLayer<S, M> {
+
+    private final LivingEntityRenderer<?, S, M> renderer;
+
+    public ChestGeometryLayer(LivingEntityRenderer<?, S, M> renderer) {
+        super(renderer);
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void render(PoseStack poseStack, MultiBufferSource bufferSource, int packedLight, S renderState,
+            float yRot, float xRot) {
+        ActiveMorph active = ActiveMorph.current();
+        if (active == null || !active.renderChest) {
+            return;
+        }
+
+        Optional<ModelPart> body = ModelPartMapper.getRootPart(getParentModel());
+        if (body.isEmpty()) {
+            return;
+        }
+
+        VertexConsumer consumer = bufferSource
+                .getBuffer(RenderType.entityCutoutNoCull(renderer.getTextureLocation(renderState)));
+
+        ChestGeometryInjector.renderChest(body.get(), active.morphData, active.morphState,
+                renderState.ageInTicks, active.moving, poseStack, consumer, packedLight,
+                LivingEntityRenderer.getOverlayCoords(renderState, 0.0f));
+    }
+}
@@ -83,8 +83,8 @@ public class ModelPartMapper {
                     field.setAccessible(true);
                     Object value = field.get(model);
                     if (value instanceof ModelPart modelPart) {
-                        ModLogger.debug("ModelPartMapper",
-                                "Found " + part + " as '" + fieldName + "' in " + model.getClass().getSimpleName());
+                        ModLogger.debug("ModelPartMapper", "Found {} as '{}' in {}",
+                                part, fieldName, model.getClass().getSimpleName());
                         return Optional.of(modelPart);
                     }
                 }
@@ -93,8 +93,7 @@ public class ModelPartMapper {
             }
         }
 
-        ModLogger.debug("ModelPartMapper",
-                "Could not find " + part + " in " + model.getClass().getSimpleName());
+        ModLogger.debug("ModelPartMapper", "Could not find {} in {}", part, model.getClass().getSimpleName());
         return Optional.empty();
     }
 
@@ -0,0 +1,219 @@
+package com.seristic.morphlib.client.render;
+
+import net.minecraft.client.model.geom.ModelPart;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the base pose of every ModelPart touched by a morph and lets
+ * transforms write absolute values relative to it.
+ *
+ * Model instances are shared by every entity using the same renderer, so
+ * morph transforms must never accumulate on the live part values. Each part
+ * is snapshotted the first time a morph touches it; transforms then write
+ * base-relative values and only the parts touched this frame are restored.
+ *
+ * Only the fields morph transforms write are recorded; animation-driven
+ * rotations are left to the model's own setupAnim.
+ *
+ * Render thread only.
+ */
+public class ModelPoseSnapshot {
+
+    // ModelPart -> pose recorded before the first morph touched it
+    private static final Map<ModelPart, BasePose> BASE_POSES = new IdentityHashMap<>();
+
+    // Parts written since the last restore
+    private static final List<BasePose> DIRTY = new ArrayList<>();
+
+    /**
+     * Get the base pose for a part, recording it on first access.
+     * The part is marked dirty so it will be restored by {@link #restoreDirty()}.
+     */
+    public static BasePose touch(ModelPart part) {
+        BasePose base = BASE_POSES.get(part);
+        if (base == null) {
+            base = new BasePose(part);
+            BASE_POSES.put(part, base);
+        }
+        if (!base.dirty) {
+            base.dirty = true;
+            DIRTY.add(base);
+        }
+        return base;
+    }
+
+    /**
+     * Set the scale of a part (absolute, not multiplied onto the live value).
+     */
+    public static void setScale(ModelPart part, float xScale, float yScale, float zScale) {
+        if (part == null) {
+            return;
+        }
+        touch(part);
+        part.xScale = xScale;
+        part.yScale = yScale;
+        part.zScale = zScale;
+    }
+
+    /**
+     * Set the vertical scale of a part only.
+     */
+    public static void setYScale(ModelPart part, float yScale) {
+        if (part == null) {
+            return;
+        }
+        touch(part);
+        part.yScale = yScale;
+    }
+
+    /**
+     * Position a part at its base x multiplied by a factor.
+     */
+    public static void scaleBaseX(ModelPart part, float factor) {
+        if (part == null) {
+            return;
+        }
+        part.x = touch(part).x * factor;
+    }
+
+    /**
+     * Position a part at an absolute x.
+     */
+    public static void setX(ModelPart part, float x) {
+        if (part == null) {
+            return;
+        }
+        touch(part);
+        part.x = x;
+    }
+
+    /**
+     * Offset a part's y from its base y.
+     */
+    public static void offsetBaseY(ModelPart part, float offset) {
+        if (part == null) {
+            return;
+        }
+        part.y = touch(part).y + offset;
+    }
+
+    /**
+     * Set the z rotation of a part.
+     */
+    public static void setZRot(ModelPart part, float zRot) {
+        if (part == null) {
+            return;
+        }
+        touch(part);
+        part.zRot = zRot;
+    }
+
+    /**
+     * Set part visibility.
+     */
+    public static void setVisible(ModelPart part, boolean visible) {
+        if (part == null) {
+            return;
+        }
+        touch(part);
+        part.visible = visible;
+    }
+
+    /**
+     * Restore a single part to its base pose if it was touched.
+     */
+    public static void restore(ModelPart part) {
+        if (part == null) {
+            return;
+        }
+        BasePose base = BASE_POSES.get(part);
+        if (base != null && base.dirty) {
+            base.restore();
+            base.dirty = false;
+            DIRTY.remove(base);
+        }
+    }
+
+    /**
+     * Drop the recorded pose of a part that is being thrown away (e.g. an
+     * evicted chest mesh), so it is not kept reachable from here.
+     */
+    public static void forget(ModelPart part) {
+        if (part == null) {
+            return;
+        }
+        BasePose base = BASE_POSES.remove(part);
+        if (base != null && base.dirty) {
+            base.restore();
+            base.dirty = false;
+            DIRTY.remove(base);
+        }
+    }
+
+    /**
+     * Restore every part touched since the last restore.
+     * Untouched parts are never written.
+     */
+    public static void restoreDirty() {
+        for (int i = 0, n = DIRTY.size(); i < n; i++) {
+            BasePose base = DIRTY.get(i);
+            base.restore();
+            base.dirty = false;
+        }
+        DIRTY.clear();
+    }
+
+    /**
+     * Whether any part currently holds morph values.
+     */
+    public static boolean hasDirtyParts() {
+        return !DIRTY.isEmpty();
+    }
+
+    /**
+     * Forget all recorded poses (resource reload, model rebake).
+     */
+    public static void clear() {
+        restoreDirty();
+        BASE_POSES.clear();
+    }
+
+    /**
+     * The pose of a part before any morph touched it.
+     */
+    public static final class BasePose {
+        private final ModelPart part;
+        public final float x, y, z;
+        public final float zRot;
+        public final float xScale, yScale, zScale;
+        public final boolean visible;
+        private boolean dirty = false;
+
+        private BasePose(ModelPart part) {
+            this.part = part;
+            this.x = part.x;
+            this.y = part.y;
+            this.z = part.z;
+            this.zRot = part.zRot;
+            this.xScale = part.xScale;
+            this.yScale = part.yScale;
+            this.zScale = part.zScale;
+            this.visible = part.visible;
+        }
+
+        private void restore() {
+            part.x = x;
+            part.y = y;
+            part.z = z;
+            part.zRot = zRot;
+            part.xScale = xScale;
+            part.yScale = yScale;
+            part.zScale = zScale;
+            part.visible = visible;
+        }
+    }
+}
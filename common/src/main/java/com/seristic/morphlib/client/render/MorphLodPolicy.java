@@ -0,0 +1,145 @@
+package com.seristic.morphlib.client.render;
+
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.Counter;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Level-of-detail policy for morph rendering.
+ *
+ * The level is chosen from the squared camera distance and the approximate
+ * on-screen size of the entity (height / distance), so large entities keep
+ * detail further out than small ones:
+ * - FULL: all transforms, chest geometry, armor and animation
+ * - REDUCED: body scale only; no limb or head scales, chest, armor or animation
+ * - MINIMAL: one uniform scale of the whole model (armor follows)
+ *
+ * Thresholds come from {@link #configure}; entities rendered at each level
+ * are counted in {@link MorphMetrics}. Selection runs on the render thread.
+ */
+public class MorphLodPolicy {
+
+    public enum Level {
+        FULL,
+        REDUCED,
+        MINIMAL
+    }
+
+    // Indexed by Level ordinal
+    private static final Counter[] COUNTERS = { MorphMetrics.LOD_FULL, MorphMetrics.LOD_REDUCED,
+            MorphMetrics.LOD_MINIMAL };
+
+    private static volatile Thresholds thresholds = Thresholds.DEFAULT;
+
+    /**
+     * Choose the detail level for an entity seen from the camera.
+     */
+    public static Level select(LivingEntity entity, Vec3 cameraPosition, float heightScale) {
+        Thresholds t = thresholds;
+        double distanceSq = entity.distanceToSqr(cameraPosition);
+        float height = entity.getBbHeight() * heightScale;
+        // (height / distance)^2 without a square root; guard the camera being inside the entity
+        double sizeSq = distanceSq > 1.0e-4 ? (height * height) / distanceSq : Double.MAX_VALUE;
+
+        Level level;
+        if (distanceSq <= t.fullDistanceSq && sizeSq >= t.fullMinSizeSq) {
+            level = Level.FULL;
+        } else if (distanceSq <= t.reducedDistanceSq && sizeSq >= t.reducedMinSizeSq) {
+            level = Level.REDUCED;
+        } else {
+            level = Level.MINIMAL;
+        }
+
+        COUNTERS[level.ordinal()].increment();
+        return level;
+    }
+
+    /**
+     * Replace the thresholds used by {@link #select}.
+     */
+    public static void configure(Thresholds config) {
+        thresholds = config;
+        ModLogger.info("MorphLodPolicy", () -> "LOD thresholds: full=" + config.fullDistance + " blocks/size "
+                + config.fullMinScreenSize + ", reduced=" + config.reducedDistance + " blocks/size "
+                + config.reducedMinScreenSize);
+    }
+
+    public static Thresholds thresholds() {
+        return thresholds;
+    }
+
+    /**
+     * Distance and on-screen size limits for each level. Immutable.
+     *
+     * <pre>
+     * MorphLodPolicy.configure(MorphLodPolicy.Thresholds.builder()
+     *         .distances(16.0f, 48.0f)
+     *         .minScreenSizes(0.08f, 0.02f)
+     *         .build());
+     * </pre>
+     */
+    public static final class Thresholds {
+        public static final Thresholds DEFAULT = builder().build();
+
+        /** Maximum distance in blocks for full and reduced detail. */
+        public final float fullDistance;
+        public final float reducedDistance;
+        /** Minimum on-screen size (entity height / distance) for full and reduced detail. */
+        public final float fullMinScreenSize;
+        public final float reducedMinScreenSize;
+
+        // Squared for select()
+        private final float fullDistanceSq;
+        private final float reducedDistanceSq;
+        private final float fullMinSizeSq;
+        private final float reducedMinSizeSq;
+
+        private Thresholds(Builder b) {
+            this.fullDistance = b.fullDistance;
+            this.reducedDistance = b.reducedDistance;
+            this.fullMinScreenSize = b.fullMinScreenSize;
+            this.reducedMinScreenSize = b.reducedMinScreenSize;
+            this.fullDistanceSq = fullDistance * fullDistance;
+            this.reducedDistanceSq = reducedDistance * reducedDistance;
+            this.fullMinSizeSq = fullMinScreenSize * fullMinScreenSize;
+            this.reducedMinSizeSq = reducedMinScreenSize * reducedMinScreenSize;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static final class Builder {
+            private float fullDistance = 16.0f;
+            private float reducedDistance = 48.0f;
+            private float fullMinScreenSize = 0.08f;
+            private float reducedMinScreenSize = 0.02f;
+
+            public Builder distances(float fullDistance, float reducedDistance) {
+                if (fullDistance < 0.0f || reducedDistance < fullDistance) {
+                    throw new IllegalArgumentException(
+                            "Invalid LOD distances: full=" + fullDistance + ", reduced=" + reducedDistance);
+                }
+                this.fullDistance = fullDistance;
+                this.reducedDistance = reducedDistance;
+                return this;
+            }
+
+            public Builder minScreenSizes(float fullMinScreenSize, float reducedMinScreenSize) {
+                if (reducedMinScreenSize < 0.0f || fullMinScreenSize < reducedMinScreenSize) {
+                    throw new IllegalArgumentException("Invalid LOD screen sizes: full=" + fullMinScreenSize
+                            + ", reduced=" + reducedMinScreenSize);
+                }
+                this.fullMinScreenSize = fullMinScreenSize;
+                this.reducedMinScreenSize = reducedMinScreenSize;
+                return this;
+            }
+
+            public Thresholds build() {
+                return new Thresholds(this);
+            }
+        }
+    }
+}
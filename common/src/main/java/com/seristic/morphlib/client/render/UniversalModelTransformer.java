@@ -1,5 +1,6 @@
 package com.seristic.morphlib.client.render;
 
+import com.seristic.morphlib.logging.LoggerManager.LogLevel;
 import com.seristic.morphlib.logging.ModLogger;
 import com.seristic.morphlib.morph.MorphState;
 import net.minecraft.client.model.EntityModel;
@@ -14,6 +15,9 @@ import java.util.Optional;
  */
 public class UniversalModelTransformer {
 
+    // Model space origin sits this far above the feet (1.5 blocks, in pixels)
+    private static final float MODEL_FEET_Y = 24.0f;
+
     /**
      * Apply all MorphState transformations to an entity model.
      * 
@@ -21,21 +25,56 @@ public class UniversalModelTransformer {
      * @param morphState The morph state with transformation parameters
      */
     public static void applyTransformations(EntityModel<?> model, MorphState morphState) {
+        applyTransformations(model, morphState, MorphLodPolicy.Level.FULL);
+    }
+
+    /**
+     * Apply MorphState transformations at a level of detail.
+     * REDUCED scales the body only; MINIMAL replaces the per-part scales with
+     * one uniform scale of the whole model.
+     *
+     * @param model      The entity model to transform
+     * @param morphState The morph state with transformation parameters
+     * @param level      Detail level chosen by {@link MorphLodPolicy}
+     */
+    public static void applyTransformations(EntityModel<?> model, MorphState morphState,
+            MorphLodPolicy.Level level) {
         if (model == null || morphState == null) {
             return;
         }
 
+        if (level == MorphLodPolicy.Level.MINIMAL) {
+            applyUniformScale(model, morphState.getHeight());
+            return;
+        }
+
         // Apply scale transformations to model parts
-        applyHeadScale(model, morphState);
         applyBodyScale(model, morphState);
-        applyArmScale(model, morphState);
-        applyLegScale(model, morphState);
-        applyShoulderWidth(model, morphState);
-        applyHipWidth(model, morphState);
-
-        ModLogger.debug("UniversalModelTransformer",
-                "Applied transformations to " + model.getClass().getSimpleName() +
-                        ": height=" + morphState.getHeight() + ", bodyWidth=" + morphState.getBodyWidth());
+        if (level == MorphLodPolicy.Level.FULL) {
+            applyHeadScale(model, morphState);
+            applyArmScale(model, morphState);
+            applyLegScale(model, morphState);
+            applyShoulderWidth(model, morphState);
+            applyHipWidth(model, morphState);
+        }
+
+        // Runs per entity per frame: check the level first so the floats are not boxed
+        if (ModLogger.isEnabled(LogLevel.DEBUG, "UniversalModelTransformer")) {
+            ModLogger.debug("UniversalModelTransformer", "Applied transformations to {}: height={}, bodyWidth={}",
+                    model.getClass().getSimpleName(), morphState.getHeight(), morphState.getBodyWidth());
+        }
+    }
+
+    /**
+     * Scale a whole model uniformly about the feet through its root part, so
+     * head, body and limbs stay in proportion. Restored like every other
+     * part by {@link ModelPoseSnapshot}.
+     */
+    public static void applyUniformScale(EntityModel<?> model, float scale) {
+        ModelPart root = model.root();
+        ModelPoseSnapshot.setScale(root, scale, scale, scale);
+        // Model space y points down from the origin; keep the feet on the ground
+        ModelPoseSnapshot.offsetBaseY(root, MODEL_FEET_Y * (1.0f - scale));
     }
 
     /**
@@ -47,12 +86,8 @@ public class UniversalModelTransformer {
             return;
         }
 
-        ModelPart head = headOpt.get();
         float scale = morphState.getHeadSize();
-
-        head.xScale = scale;
-        head.yScale = scale;
-        head.zScale = scale;
+        ModelPoseSnapshot.setScale(headOpt.get(), scale, scale, scale);
     }
 
     /**
@@ -64,13 +99,9 @@ public class UniversalModelTransformer {
             return;
         }
 
-        ModelPart body = bodyOpt.get();
         float heightScale = morphState.getHeight();
         float widthScale = morphState.getBodyWidth();
-
-        body.xScale = widthScale;
-        body.yScale = heightScale;
-        body.zScale = widthScale;
+        ModelPoseSnapshot.setScale(bodyOpt.get(), widthScale, heightScale, widthScale);
     }
 
     /**
@@ -79,15 +110,10 @@ public class UniversalModelTransformer {
     private static void applyArmScale(EntityModel<?> model, MorphState morphState) {
         float armScale = morphState.getArmLength();
 
-        // Left arm
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_ARM).ifPresent(leftArm -> {
-            leftArm.yScale = armScale;
-        });
-
-        // Right arm
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_ARM).ifPresent(rightArm -> {
-            rightArm.yScale = armScale;
-        });
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_ARM)
+                .ifPresent(leftArm -> ModelPoseSnapshot.setYScale(leftArm, armScale));
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_ARM)
+                .ifPresent(rightArm -> ModelPoseSnapshot.setYScale(rightArm, armScale));
     }
 
     /**
@@ -96,72 +122,55 @@ public class UniversalModelTransformer {
     private static void applyLegScale(EntityModel<?> model, MorphState morphState) {
         float legScale = morphState.getLegLength();
 
-        // Left leg
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_LEG).ifPresent(leftLeg -> {
-            leftLeg.yScale = legScale;
-        });
-
-        // Right leg
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_LEG).ifPresent(rightLeg -> {
-            rightLeg.yScale = legScale;
-        });
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_LEG)
+                .ifPresent(leftLeg -> ModelPoseSnapshot.setYScale(leftLeg, legScale));
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_LEG)
+                .ifPresent(rightLeg -> ModelPoseSnapshot.setYScale(rightLeg, legScale));
     }
 
     /**
-     * Apply shoulder width by adjusting arm positions
+     * Apply shoulder width by adjusting arm positions.
+     * Positions are derived from the recorded base pose so they never compound
+     * across frames.
      */
     private static void applyShoulderWidth(EntityModel<?> model, MorphState morphState) {
         float shoulderWidth = morphState.getShoulderWidth();
 
-        // Adjust arm positions for shoulder width
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_ARM).ifPresent(leftArm -> {
-            // Move arm outward based on shoulder width
-            leftArm.x = leftArm.x * shoulderWidth;
-        });
-
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_ARM).ifPresent(rightArm -> {
-            // Move arm outward based on shoulder width
-            rightArm.x = rightArm.x * shoulderWidth;
-        });
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_ARM)
+                .ifPresent(leftArm -> ModelPoseSnapshot.scaleBaseX(leftArm, shoulderWidth));
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_ARM)
+                .ifPresent(rightArm -> ModelPoseSnapshot.scaleBaseX(rightArm, shoulderWidth));
     }
 
     /**
-     * Apply hip width by adjusting leg positions
+     * Apply hip width by adjusting leg positions.
+     * Positions are derived from the recorded base pose so they never compound
+     * across frames.
      */
     private static void applyHipWidth(EntityModel<?> model, MorphState morphState) {
         float hipWidth = morphState.getHipWidth();
 
-        // Adjust leg positions for hip width
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_LEG).ifPresent(leftLeg -> {
-            // Move leg outward based on hip width
-            leftLeg.x = leftLeg.x * hipWidth;
-        });
-
-        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_LEG).ifPresent(rightLeg -> {
-            // Move leg outward based on hip width
-            rightLeg.x = rightLeg.x * hipWidth;
-        });
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.LEFT_LEG)
+                .ifPresent(leftLeg -> ModelPoseSnapshot.scaleBaseX(leftLeg, hipWidth));
+        ModelPartMapper.findPart(model, ModelPartMapper.BodyPart.RIGHT_LEG)
+                .ifPresent(rightLeg -> ModelPoseSnapshot.scaleBaseX(rightLeg, hipWidth));
     }
 
     /**
-     * Reset all transformations to default (scale=1.0, default positions)
+     * Reset all transformations to the recorded base pose.
+     * Only parts that were actually touched by a morph are written.
      */
     public static void resetTransformations(EntityModel<?> model) {
         if (model == null) {
             return;
         }
 
-        // Reset all parts to default scale
         for (var part : ModelPartMapper.BodyPart.values()) {
-            ModelPartMapper.findPart(model, part).ifPresent(modelPart -> {
-                modelPart.xScale = 1.0f;
-                modelPart.yScale = 1.0f;
-                modelPart.zScale = 1.0f;
-            });
+            ModelPartMapper.findPart(model, part).ifPresent(ModelPoseSnapshot::restore);
         }
 
-        ModLogger.debug("UniversalModelTransformer",
-                "Reset transformations for " + model.getClass().getSimpleName());
+        ModLogger.debug("UniversalModelTransformer", "Reset transformations for {}",
+                model.getClass().getSimpleName());
     }
 
     /**
@@ -2,11 +2,18 @@ package com.seristic.morphlib.client.render;
 
 import com.seristic.morphlib.MorphData;
 import com.seristic.morphlib.MorphManager;
+import com.seristic.morphlib.logging.LoggerManager.LogLevel;
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import com.seristic.morphlib.morph.MorphState;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.EntityModel;
-import net.minecraft.client.model.geom.ModelPart;
+import net.minecraft.client.renderer.entity.EntityRenderer;
+import net.minecraft.client.renderer.entity.LivingEntityRenderer;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.world.entity.LivingEntity;
+import net.neoforged.neoforge.client.event.EntityRenderersEvent;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
 import net.neoforged.neoforge.client.event.RenderLivingEvent;
 import net.neoforged.neoforge.common.NeoForge;
 
@@ -15,12 +22,13 @@ import java.util.Optional;
 /**
  * Universal rendering handler for ALL LivingEntity types.
  * Replaces the old Player-only MorphRenderHandler.
- * 
+ *
  * This handler:
  * - Works on Players, Villagers, Zombies, and custom entities
  * - Applies MorphState transformations to any entity model
- * - Injects custom chest geometry dynamically
+ * - Renders cached chest geometry through {@link ChestGeometryLayer}
  * - Handles gender-specific morphing
+ * - Lowers detail for distant entities through {@link MorphLodPolicy}
  */
 public class UniversalMorphRenderHandler {
 
@@ -36,11 +44,52 @@ public class UniversalMorphRenderHandler {
         }
 
         NeoForge.EVENT_BUS.addListener(UniversalMorphRenderHandler::onRenderLivingPre);
+        NeoForge.EVENT_BUS.addListener(UniversalMorphRenderHandler::onRenderLivingPost);
         registered = true;
 
         ModLogger.info("UniversalMorphRenderHandler", "✅ Registered universal morph rendering system");
     }
 
+    /**
+     * Add the chest geometry layer to every living entity renderer.
+     * Must be registered on the mod event bus.
+     */
+    public static void onAddLayers(EntityRenderersEvent.AddLayers event) {
+        int added = 0;
+        for (var entityType : event.getEntityTypes()) {
+            if (addChestLayer(event.getRenderer(entityType))) {
+                added++;
+            }
+        }
+        for (var skin : event.getSkins()) {
+            if (addChestLayer(event.getSkin(skin))) {
+                added++;
+            }
+        }
+        ModLogger.info("UniversalMorphRenderHandler", "Added chest geometry layer to " + added + " renderers");
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean addChestLayer(EntityRenderer<?, ?> renderer) {
+        if (renderer instanceof LivingEntityRenderer livingRenderer) {
+            livingRenderer.addLayer(new ChestGeometryLayer<>(livingRenderer));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drop cached chest meshes and recorded poses when resources reload, since
+     * entity models are rebaked. Must be registered on the mod event bus.
+     */
+    public static void onRegisterReloadListeners(RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> {
+            ChestGeometryInjector.invalidateMeshes();
+            ArmorMorphTransformer.clear();
+            ModelPoseSnapshot.clear();
+        });
+    }
+
     /**
      * Handle pre-render for ALL LivingEntity types
      */
@@ -48,6 +97,11 @@ public class UniversalMorphRenderHandler {
         LivingEntity entity = event.getEntity();
         EntityModel<?> model = event.getRenderer().getModel();
 
+        // Models are shared between entities - put back anything a previous
+        // morphed entity changed before deciding what this one needs
+        ModelPoseSnapshot.restoreDirty();
+        ActiveMorph.clear();
+
         if (entity == null || model == null) {
             return;
         }
@@ -64,48 +118,73 @@ public class UniversalMorphRenderHandler {
             morphState = new MorphState(); // Default state
         }
 
-        ModLogger.debug("UniversalMorphRenderHandler",
-                "🎨 Rendering morph for " + entity.getType().toShortString() +
-                        " (model: " + model.getClass().getSimpleName() + ")");
+        // Per entity per frame: check the level first so nothing is captured or boxed
+        if (ModLogger.isEnabled(LogLevel.DEBUG, "UniversalMorphRenderHandler")) {
+            ModLogger.debug("UniversalMorphRenderHandler", "🎨 Rendering morph for {} (model: {})",
+                    entity.getType().toShortString(), model.getClass().getSimpleName());
+        }
 
         // Apply universal transformations to the model
         applyMorphToModel(model, morphData, morphState, entity);
     }
 
+    /**
+     * Restore every part the morph touched once the entity has been drawn, so
+     * the next entity sharing this model starts from its base pose.
+     */
+    private static void onRenderLivingPost(RenderLivingEvent.Post<?, ?> event) {
+        ModelPoseSnapshot.restoreDirty();
+        ActiveMorph.clear();
+    }
+
     /**
      * Apply morph transformations to any entity model
      */
     private static void applyMorphToModel(EntityModel<?> model, MorphData morphData,
             MorphState morphState, LivingEntity entity) {
+        long start = System.nanoTime();
         try {
-            // Step 1: Apply basic scale transformations
-            UniversalModelTransformer.applyTransformations(model, morphState);
-
-            // Step 2: Inject/update chest geometry if needed
-            if (ModelPartMapper.supportsChestGeometry(model)) {
-                Optional<ModelPart> bodyOpt = ModelPartMapper.getRootPart(model);
-                bodyOpt.ifPresent(body -> {
-                    ChestGeometryInjector.injectChestGeometry(body, morphData, morphState);
-
-                    // Apply chest animation if entity is moving
-                    if (entity.walkAnimation.isMoving()) {
-                        ChestGeometryInjector.animateChest(body, morphState, entity.tickCount);
-                    }
-                });
+            // Step 1: Pick the detail level from camera distance and on-screen size
+            MorphLodPolicy.Level level = MorphLodPolicy.select(entity,
+                    Minecraft.getInstance().gameRenderer.getMainCamera().getPosition(), morphState.getHeight());
+            boolean fullDetail = level == MorphLodPolicy.Level.FULL;
+
+            // Step 2: Apply scale transformations for that level
+            UniversalModelTransformer.applyTransformations(model, morphState, level);
+
+            // Step 3: Expose the morph to render layers (chest geometry is drawn
+            // by ChestGeometryLayer, never attached to the shared model)
+            ActiveMorph.set(entity, morphData, morphState,
+                    fullDetail && ModelPartMapper.supportsChestGeometry(model)
+                            && ChestGeometryInjector.shouldRenderChest(morphData, morphState),
+                    fullDetail && entity.walkAnimation.isMoving(),
+                    // Armor follows head and limb scales, which REDUCED leaves alone
+                    fullDetail,
+                    level == MorphLodPolicy.Level.MINIMAL ? morphState.getHeight() : 1.0f);
+            MorphMetrics.RENDER_TRANSFORM_TIME.recordSince(start);
+
+            if (ModLogger.isEnabled(LogLevel.DEBUG, "UniversalMorphRenderHandler")) {
+                ModLogger.debug("UniversalMorphRenderHandler", "✅ Applied morph: height={}, chest={}, gender={}",
+                        morphState.getHeight(), morphState.getChestScale(), morphData.getGender());
             }
 
-            ModLogger.debug("UniversalMorphRenderHandler",
-                    "✅ Applied morph: height=" + morphState.getHeight() +
-                            ", chest=" + morphState.getChestScale() +
-                            ", gender=" + morphData.getGender());
-
         } catch (Exception e) {
-            ModLogger.error("UniversalMorphRenderHandler",
-                    "Failed to apply morph to " + model.getClass().getSimpleName() + ": " + e.getMessage());
-            e.printStackTrace();
+            // Throttled per template: a broken model fails every frame
+            ModLogger.error("UniversalMorphRenderHandler", "Failed to apply morph to {}",
+                    model.getClass().getSimpleName(), e);
         }
     }
 
+    /**
+     * Get the morph of the entity currently being rendered, or null if the
+     * entity is not morphed. Only valid while its render layers are drawn.
+     *
+     * @see ActiveMorph#current()
+     */
+    public static ActiveMorph getActiveMorph() {
+        return ActiveMorph.current();
+    }
+
     /**
      * Check if an entity has an active morph
      */
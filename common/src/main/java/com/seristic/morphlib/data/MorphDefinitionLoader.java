@@ -0,0 +1,202 @@
+package com.seristic.morphlib.data;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import com.seristic.morphlib.morph.MorphState;
+import com.seristic.morphlib.registry.MorphRegistery;
+import com.seristic.morphlib.restrictions.MorphRestrictionManager;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.FileToIdConverter;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.GsonHelper;
+
+/**
+ * Loads morph presets from datapacks ({@code data/<namespace>/morphs/*.json}).
+ *
+ * Files are parsed and validated in parallel on the reload's background
+ * executor; the valid definitions then replace the previous datapack set in
+ * the registry in a single snapshot swap on the game thread. Each morph's id
+ * is derived from its resource location ({@link #morphIdFor}), so it stays
+ * the same across reloads and restarts.
+ *
+ * <pre>
+ * {
+ *   "entity_type": "minecraft:villager",
+ *   "gender": "female",
+ *   "body_type": "slim",
+ *   "custom_skin": "mymod:textures/entity/villager_tall.png",
+ *   "state": { "height": 1.1, "chestScale": 1.2 }
+ * }
+ * </pre>
+ *
+ * Everything except {@code entity_type} is optional; {@code state} keys are
+ * {@link MorphState.Parameter} keys.
+ */
+public class MorphDefinitionLoader implements PreparableReloadListener {
+    private static final MorphDefinitionLoader INSTANCE = new MorphDefinitionLoader();
+
+    private static final FileToIdConverter LISTER = FileToIdConverter.json("morphs");
+    // Generous bounds: anything outside is almost certainly a typo
+    private static final float MIN_PARAMETER = -16.0f;
+    private static final float MAX_PARAMETER = 16.0f;
+
+    // Definitions from the last reload, id -> morph id
+    private volatile Map<ResourceLocation, UUID> definitions = Map.of();
+
+    private MorphDefinitionLoader() {
+        MetricsRegistry.getInstance().gauge("datapack.morph_definitions", () -> definitions.size());
+    }
+
+    public static MorphDefinitionLoader getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Stable morph id for a definition.
+     */
+    public static UUID morphIdFor(ResourceLocation definitionId) {
+        return UUID.nameUUIDFromBytes(("morphlib:morph/" + definitionId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Definitions loaded by the last reload, by resource location.
+     */
+    public Map<ResourceLocation, UUID> getDefinitions() {
+        return definitions;
+    }
+
+    @Override
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager,
+            Executor backgroundExecutor, Executor gameExecutor) {
+        long start = System.nanoTime();
+
+        return CompletableFuture
+                .supplyAsync(() -> LISTER.listMatchingResources(resourceManager), backgroundExecutor)
+                .thenCompose(files -> parseAll(files, backgroundExecutor))
+                .thenCompose(barrier::wait)
+                .thenAcceptAsync(parsed -> {
+                    apply(parsed);
+                    MorphMetrics.DEFINITION_RELOAD_TIME.recordSince(start);
+                    ModLogger.info("MorphDefinitionLoader", "📦 Loaded {} morph definitions in {} ms",
+                            parsed.size(), (System.nanoTime() - start) / 1_000_000);
+                }, gameExecutor);
+    }
+
+    private CompletableFuture<List<Parsed>> parseAll(Map<ResourceLocation, Resource> files, Executor executor) {
+        List<CompletableFuture<Parsed>> futures = new ArrayList<>(files.size());
+        for (Map.Entry<ResourceLocation, Resource> file : files.entrySet()) {
+            ResourceLocation id = LISTER.fileToId(file.getKey());
+            Resource resource = file.getValue();
+            futures.add(CompletableFuture.supplyAsync(() -> parseFile(id, resource), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<Parsed> parsed = new ArrayList<>(futures.size());
+            for (CompletableFuture<Parsed> future : futures) {
+                Parsed result = future.join();
+                if (result != null)
+                    parsed.add(result);
+            }
+            return parsed;
+        });
+    }
+
+    private static Parsed parseFile(ResourceLocation id, Resource resource) {
+        try (Reader reader = resource.openAsReader()) {
+            JsonElement json = JsonParser.parseReader(reader);
+            return new Parsed(id, parse(id, GsonHelper.convertToJsonObject(json, "morph definition")));
+        } catch (Exception e) {
+            MorphMetrics.DEFINITION_ERRORS.increment();
+            ModLogger.warn("MorphDefinitionLoader", "Skipping morph definition {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Build and validate a morph from a definition.
+     *
+     * @throws JsonSyntaxException if the definition is invalid
+     */
+    static MorphData parse(ResourceLocation id, JsonObject json) {
+        MorphData morph = new MorphData(morphIdFor(id));
+
+        ResourceLocation entityTypeId = parseLocation(GsonHelper.getAsString(json, "entity_type"), "entity_type");
+        morph.setEntityType(BuiltInRegistries.ENTITY_TYPE.getOptional(entityTypeId)
+                .orElseThrow(() -> new JsonSyntaxException("Unknown entity type: " + entityTypeId)));
+
+        if (json.has("gender"))
+            morph.setGender(parseEnum(MorphData.Gender.class, GsonHelper.getAsString(json, "gender"), "gender"));
+        if (json.has("body_type"))
+            morph.setBodyType(
+                    parseEnum(MorphData.BodyType.class, GsonHelper.getAsString(json, "body_type"), "body_type"));
+        if (json.has("custom_skin"))
+            morph.setCustomSkin(parseLocation(GsonHelper.getAsString(json, "custom_skin"), "custom_skin"));
+
+        if (json.has("state")) {
+            MorphState state = new MorphState();
+            for (Map.Entry<String, JsonElement> entry : GsonHelper.getAsJsonObject(json, "state").entrySet()) {
+                MorphState.Parameter parameter = MorphState.Parameter.byKey(entry.getKey());
+                if (parameter == null)
+                    throw new JsonSyntaxException("Unknown state parameter: " + entry.getKey());
+                float value = GsonHelper.convertToFloat(entry.getValue(), entry.getKey());
+                if (!Float.isFinite(value) || value < MIN_PARAMETER || value > MAX_PARAMETER)
+                    throw new JsonSyntaxException("State parameter " + entry.getKey() + " out of range: " + value);
+                state.setParameter(parameter.getKey(), value);
+            }
+            morph.setMorphState(state);
+        }
+        return morph;
+    }
+
+    /** Replace the previous datapack morphs with the new set in one registry swap. */
+    private void apply(List<Parsed> parsed) {
+        List<MorphData> morphs = new ArrayList<>(parsed.size());
+        Map<ResourceLocation, UUID> loaded = new HashMap<>(parsed.size());
+        for (Parsed definition : parsed) {
+            morphs.add(definition.morph());
+            loaded.put(definition.id(), definition.morph().getMorphId());
+        }
+        MorphRegistery.getInstance().replaceMorphs(definitions.values(), morphs);
+        definitions = Map.copyOf(loaded);
+        // Morph ids may now point at different entity types
+        MorphRestrictionManager.getInstance().invalidateAll();
+    }
+
+    private static ResourceLocation parseLocation(String value, String field) {
+        ResourceLocation location = ResourceLocation.tryParse(value);
+        if (location == null)
+            throw new JsonSyntaxException("Invalid " + field + ": " + value);
+        return location;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private record Parsed(ResourceLocation id, MorphData morph) {
+    }
+}
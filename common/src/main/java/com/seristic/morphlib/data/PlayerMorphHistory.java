@@ -1,5 +1,6 @@
 package com.seristic.morphlib.data;
 
+import com.seristic.morphlib.registry.MorphRegistery;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -10,48 +11,77 @@ import java.util.*;
  * **NEW**
  * Stores player-specific morph history, including unlocks and favorites.
  * Persistent across sessions.
+ *
+ * Morphs are held as dense ids interned by {@link MorphRegistery}: unlocks
+ * and favorites are bitsets, recents a fixed-size ring. NBT stores the UUIDs
+ * packed into long arrays (most/least significant bits per morph).
  */
 public class PlayerMorphHistory {
-    private final Set<UUID> unlockedMorphs = new HashSet<>();
-    private final Set<UUID> favoriteMorphs = new HashSet<>();
-    private final List<UUID> recentMorphs = new ArrayList<>();
     private static final int MAX_RECENT_MORPHS = 50;
 
+    private final BitSet unlockedMorphs = new BitSet();
+    private final BitSet favoriteMorphs = new BitSet();
+    private final RecentMorphRing recentMorphs = new RecentMorphRing(MAX_RECENT_MORPHS);
+    // Changed since the last save snapshot
+    private boolean dirty;
+
     /**
      * Unlocks a morph for this player.
      */
     public void unlockMorph(UUID morphId) {
-        unlockedMorphs.add(morphId);
+        unlockedMorphs.set(intern(morphId));
+        dirty = true;
     }
 
     /**
      * Locks a morph (removes unlock).
      */
     public void lockMorph(UUID morphId) {
-        unlockedMorphs.remove(morphId);
-        favoriteMorphs.remove(morphId);
+        int id = find(morphId);
+        if (id >= 0) {
+            unlockedMorphs.clear(id);
+            favoriteMorphs.clear(id);
+            dirty = true;
+        }
     }
 
     /**
      * Checks if a morph is unlocked for this player.
      */
     public boolean isMorphUnlocked(UUID morphId) {
-        return unlockedMorphs.contains(morphId);
+        int id = find(morphId);
+        return id >= 0 && unlockedMorphs.get(id);
+    }
+
+    /**
+     * Checks if a morph is unlocked, by its interned id.
+     */
+    public boolean isMorphUnlocked(int internedId) {
+        return unlockedMorphs.get(internedId);
     }
 
     /**
      * Gets all unlocked morph IDs.
      */
     public Set<UUID> getUnlockedMorphs() {
-        return new HashSet<>(unlockedMorphs);
+        return toUuidSet(unlockedMorphs);
+    }
+
+    /**
+     * Number of unlocked morphs.
+     */
+    public int getUnlockedCount() {
+        return unlockedMorphs.cardinality();
     }
 
     /**
      * Adds a morph to favorites (must be unlocked).
      */
     public void addToFavorites(UUID morphId) {
-        if (unlockedMorphs.contains(morphId)) {
-            favoriteMorphs.add(morphId);
+        int id = find(morphId);
+        if (id >= 0 && unlockedMorphs.get(id)) {
+            favoriteMorphs.set(id);
+            dirty = true;
         }
     }
 
@@ -59,40 +89,44 @@ public class PlayerMorphHistory {
      * Removes a morph from favorites.
      */
     public void removeFromFavorites(UUID morphId) {
-        favoriteMorphs.remove(morphId);
+        int id = find(morphId);
+        if (id >= 0) {
+            favoriteMorphs.clear(id);
+            dirty = true;
+        }
     }
 
     /**
      * Checks if a morph is favorited.
      */
     public boolean isMorphFavorite(UUID morphId) {
-        return favoriteMorphs.contains(morphId);
+        int id = find(morphId);
+        return id >= 0 && favoriteMorphs.get(id);
     }
 
     /**
      * Gets all favorite morph IDs.
      */
     public Set<UUID> getFavoriteMorphs() {
-        return new HashSet<>(favoriteMorphs);
+        return toUuidSet(favoriteMorphs);
     }
 
     /**
      * Adds a morph to recent history (removes duplicates, adds to front).
      */
     public void addToRecentHistory(UUID morphId) {
-        recentMorphs.remove(morphId);
-        recentMorphs.add(0, morphId);
-
-        if (recentMorphs.size() > MAX_RECENT_MORPHS) {
-            recentMorphs.remove(recentMorphs.size() - 1);
-        }
+        recentMorphs.add(intern(morphId));
+        dirty = true;
     }
 
     /**
      * Gets recent morph history (ordered, most recent first).
      */
     public List<UUID> getRecentMorphs() {
-        return new ArrayList<>(recentMorphs);
+        MorphRegistery registry = MorphRegistery.getInstance();
+        List<UUID> recent = new ArrayList<>(recentMorphs.size());
+        recentMorphs.forEachNewestFirst(id -> recent.add(registry.getMorphIdForInterned(id)));
+        return recent;
     }
 
     /**
@@ -100,6 +134,7 @@ public class PlayerMorphHistory {
      */
     public void clearRecentHistory() {
         recentMorphs.clear();
+        dirty = true;
     }
 
     /**
@@ -107,67 +142,40 @@ public class PlayerMorphHistory {
      */
     public CompoundTag toNbt() {
         CompoundTag tag = new CompoundTag();
+        tag.putLongArray("unlockedMorphs", pack(unlockedMorphs));
+        tag.putLongArray("favoriteMorphs", pack(favoriteMorphs));
 
-        ListTag unlockedList = new ListTag();
-        for (UUID id : unlockedMorphs) {
-            CompoundTag idTag = new CompoundTag();
-            idTag.putUUID("id", id);
-            unlockedList.add(idTag);
-        }
-        tag.put("unlockedMorphs", unlockedList);
-
-        ListTag favoriteList = new ListTag();
-        for (UUID id : favoriteMorphs) {
-            CompoundTag idTag = new CompoundTag();
-            idTag.putUUID("id", id);
-            favoriteList.add(idTag);
-        }
-        tag.put("favoriteMorphs", favoriteList);
-
-        ListTag recentList = new ListTag();
-        for (UUID id : recentMorphs) {
-            CompoundTag idTag = new CompoundTag();
-            idTag.putUUID("id", id);
-            recentList.add(idTag);
-        }
-        tag.put("recentMorphs", recentList);
+        MorphRegistery registry = MorphRegistery.getInstance();
+        long[] recent = new long[recentMorphs.size() * 2];
+        int[] next = { 0 };
+        recentMorphs.forEachNewestFirst(id -> next[0] = putUuid(recent, next[0], registry.getMorphIdForInterned(id)));
+        tag.putLongArray("recentMorphs", recent);
 
         return tag;
     }
 
     /**
-     * Deserialization from NBT.
+     * Deserialization from NBT. Also reads the older format that stored each
+     * UUID in its own compound tag.
      */
     public static PlayerMorphHistory fromNbt(CompoundTag tag) {
         PlayerMorphHistory history = new PlayerMorphHistory();
 
-        if (tag.contains("unlockedMorphs", Tag.TAG_LIST)) {
-            ListTag unlockedList = tag.getList("unlockedMorphs", Tag.TAG_COMPOUND);
-            for (int i = 0; i < unlockedList.size(); i++) {
-                CompoundTag idTag = unlockedList.getCompound(i);
-                history.unlockMorph(idTag.getUUID("id"));
-            }
+        for (UUID id : readUuids(tag, "unlockedMorphs")) {
+            history.unlockMorph(id);
         }
 
-        if (tag.contains("favoriteMorphs", Tag.TAG_LIST)) {
-            ListTag favoriteList = tag.getList("favoriteMorphs", Tag.TAG_COMPOUND);
-            for (int i = 0; i < favoriteList.size(); i++) {
-                CompoundTag idTag = favoriteList.getCompound(i);
-                UUID id = idTag.getUUID("id");
-                if (history.unlockedMorphs.contains(id)) {
-                    history.favoriteMorphs.add(id);
-                }
-            }
+        for (UUID id : readUuids(tag, "favoriteMorphs")) {
+            history.addToFavorites(id);
         }
 
-        if (tag.contains("recentMorphs", Tag.TAG_LIST)) {
-            ListTag recentList = tag.getList("recentMorphs", Tag.TAG_COMPOUND);
-            for (int i = 0; i < recentList.size(); i++) {
-                CompoundTag idTag = recentList.getCompound(i);
-                history.recentMorphs.add(idTag.getUUID("id"));
-            }
+        // Stored most recent first; re-add oldest first to rebuild the order
+        List<UUID> recent = readUuids(tag, "recentMorphs");
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            history.addToRecentHistory(recent.get(i));
         }
 
+        history.dirty = false;
         return history;
     }
 
@@ -176,9 +184,80 @@ public class PlayerMorphHistory {
      */
     public PlayerMorphHistory copy() {
         PlayerMorphHistory copy = new PlayerMorphHistory();
-        copy.unlockedMorphs.addAll(this.unlockedMorphs);
-        copy.favoriteMorphs.addAll(this.favoriteMorphs);
-        copy.recentMorphs.addAll(this.recentMorphs);
+        copy.unlockedMorphs.or(this.unlockedMorphs);
+        copy.favoriteMorphs.or(this.favoriteMorphs);
+        List<UUID> recent = getRecentMorphs();
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            copy.addToRecentHistory(recent.get(i));
+        }
+        copy.dirty = false;
         return copy;
     }
+
+    /**
+     * Whether this history changed since it was loaded or last saved.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Flags this history for the next save.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    void clearDirty() {
+        dirty = false;
+    }
+
+    private static int intern(UUID morphId) {
+        return MorphRegistery.getInstance().internId(morphId);
+    }
+
+    private static int find(UUID morphId) {
+        return MorphRegistery.getInstance().findInternedId(morphId);
+    }
+
+    private static Set<UUID> toUuidSet(BitSet ids) {
+        MorphRegistery registry = MorphRegistery.getInstance();
+        Set<UUID> set = new HashSet<>(ids.cardinality() * 2);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            set.add(registry.getMorphIdForInterned(id));
+        }
+        return set;
+    }
+
+    private static long[] pack(BitSet ids) {
+        MorphRegistery registry = MorphRegistery.getInstance();
+        long[] packed = new long[ids.cardinality() * 2];
+        int next = 0;
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            next = putUuid(packed, next, registry.getMorphIdForInterned(id));
+        }
+        return packed;
+    }
+
+    private static int putUuid(long[] packed, int index, UUID uuid) {
+        packed[index] = uuid.getMostSignificantBits();
+        packed[index + 1] = uuid.getLeastSignificantBits();
+        return index + 2;
+    }
+
+    private static List<UUID> readUuids(CompoundTag tag, String key) {
+        List<UUID> ids = new ArrayList<>();
+        if (tag.contains(key, Tag.TAG_LONG_ARRAY)) {
+            long[] packed = tag.getLongArray(key);
+            for (int i = 0; i + 1 < packed.length; i += 2) {
+                ids.add(new UUID(packed[i], packed[i + 1]));
+            }
+        } else if (tag.contains(key, Tag.TAG_LIST)) {
+            ListTag list = tag.getList(key, Tag.TAG_COMPOUND);
+            for (int i = 0; i < list.size(); i++) {
+                ids.add(list.getCompound(i).getUUID("id"));
+            }
+        }
+        return ids;
+    }
 }
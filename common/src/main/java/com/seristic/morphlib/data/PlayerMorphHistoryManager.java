@@ -1,21 +1,66 @@
 package com.seristic.morphlib.data;
 
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import net.minecraft.nbt.CompoundTag;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages player morph histories for all players.
  * Provides centralized access and persistence handling.
+ *
+ * Histories are loaded lazily from the world save (on login or first
+ * access) and kept in memory while the player is online. After logout they
+ * move to a small LRU cache so a quick reconnect skips the disk.
+ *
+ * Saving is write-behind: every flush interval, dirty histories are
+ * snapshotted to NBT on the game thread and written by a background writer.
+ * Several changes between flushes coalesce into one write per player.
+ * {@link #stop()} flushes everything synchronously.
  */
 public class PlayerMorphHistoryManager {
     private static final PlayerMorphHistoryManager INSTANCE = new PlayerMorphHistoryManager();
 
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(30);
+    static final int MAX_OFFLINE_CACHED = 64;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    // Online players; never evicted
     private final Map<UUID, PlayerMorphHistory> playerHistories = new ConcurrentHashMap<>();
+    // Logged-out players, least recently used first; guarded by itself
+    private final Map<UUID, PlayerMorphHistory> offlineHistories = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, PlayerMorphHistory> eldest) {
+            if (size() <= MAX_OFFLINE_CACHED)
+                return false;
+            snapshotIfDirty(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    };
+    // Newest unwritten snapshot per player
+    private final Map<UUID, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    private volatile PlayerMorphHistoryStorage storage;
+    private ScheduledExecutorService writer;
+    private ScheduledFuture<?> flushTask;
 
     private PlayerMorphHistoryManager() {
+        MetricsRegistry.getInstance().gauge("history.cached", this::getCachedCount);
+        MetricsRegistry.getInstance().gauge("history.pending_writes", pendingWrites::size);
     }
 
     public static PlayerMorphHistoryManager getInstance() {
@@ -23,24 +68,135 @@ public class PlayerMorphHistoryManager {
     }
 
     /**
-     * Gets the morph history for a player, creating a new one if it doesn't exist.
+     * Starts persisting histories under {@code directory}. Call when the
+     * server starts.
+     *
+     * @param directory     Folder for the per-player files.
+     * @param gameThread    Executor for the game thread; dirty histories are
+     *                      snapshotted there.
+     * @param flushInterval How often dirty histories are written.
+     */
+    public synchronized void start(Path directory, Executor gameThread, Duration flushInterval) {
+        stop();
+        storage = new PlayerMorphHistoryStorage(directory);
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "morphlib-history-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        ScheduledExecutorService currentWriter = writer;
+        long millis = flushInterval.toMillis();
+        // Snapshot on the game thread, then write on the writer; never block either
+        flushTask = writer.scheduleWithFixedDelay(
+                () -> CompletableFuture.runAsync(this::snapshotDirty, gameThread)
+                        .thenRunAsync(this::writePending, currentWriter),
+                millis, millis, TimeUnit.MILLISECONDS);
+        ModLogger.info("PlayerMorphHistory", "💾 Persisting morph histories to {} every {} ms", directory, millis);
+    }
+
+    /**
+     * Writes every unsaved history and stops the writer. Call on the game
+     * thread when the server stops.
+     */
+    public synchronized void stop() {
+        if (writer == null)
+            return;
+
+        flushTask.cancel(false);
+        snapshotDirty();
+        writer.execute(this::writePending);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                ModLogger.error("PlayerMorphHistory", "Timed out writing {} morph histories on shutdown",
+                        pendingWrites.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writer = null;
+        flushTask = null;
+        storage = null;
+        clearAll();
+    }
+
+    /**
+     * Loads a player's history when they join.
+     */
+    public void onPlayerLogin(UUID playerId) {
+        PlayerMorphHistory history;
+        synchronized (offlineHistories) {
+            history = offlineHistories.remove(playerId);
+        }
+        if (history == null)
+            history = readHistory(playerId);
+        playerHistories.putIfAbsent(playerId, history);
+    }
+
+    /**
+     * Queues a player's unsaved changes and moves their history to the
+     * offline cache.
+     */
+    public void onPlayerLogout(UUID playerId) {
+        PlayerMorphHistory history = playerHistories.remove(playerId);
+        if (history == null)
+            return;
+        snapshotIfDirty(playerId, history);
+        synchronized (offlineHistories) {
+            offlineHistories.put(playerId, history);
+        }
+    }
+
+    /**
+     * Gets the morph history for a player, loading it from the world save or
+     * creating a new one if it isn't cached.
      */
     public PlayerMorphHistory getHistory(UUID playerId) {
-        return playerHistories.computeIfAbsent(playerId, id -> new PlayerMorphHistory());
+        PlayerMorphHistory history = playerHistories.get(playerId);
+        if (history != null)
+            return history;
+
+        synchronized (offlineHistories) {
+            history = offlineHistories.get(playerId);
+        }
+        if (history != null)
+            return history;
+
+        // Read outside the lock so flushes, logouts and metrics never wait on the disk
+        PlayerMorphHistory loaded = readHistory(playerId);
+        synchronized (offlineHistories) {
+            // The player may have logged in, or another caller loaded them, meanwhile
+            history = playerHistories.get(playerId);
+            if (history == null)
+                history = offlineHistories.putIfAbsent(playerId, loaded);
+            return history != null ? history : loaded;
+        }
     }
 
     /**
      * Sets the morph history for a player (used during loading).
      */
     public void setHistory(UUID playerId, PlayerMorphHistory history) {
+        history.markDirty();
+        synchronized (offlineHistories) {
+            offlineHistories.remove(playerId);
+        }
         playerHistories.put(playerId, history);
     }
 
     /**
-     * Removes a player's history (cleanup when player leaves).
+     * Removes a player's history from memory, queueing any unsaved changes
+     * first.
      */
     public void removeHistory(UUID playerId) {
-        playerHistories.remove(playerId);
+        PlayerMorphHistory history = playerHistories.remove(playerId);
+        if (history == null) {
+            synchronized (offlineHistories) {
+                history = offlineHistories.remove(playerId);
+            }
+        }
+        if (history != null)
+            snapshotIfDirty(playerId, history);
     }
 
     /**
@@ -67,5 +223,89 @@ public class PlayerMorphHistoryManager {
      */
     public void clearAll() {
         playerHistories.clear();
+        synchronized (offlineHistories) {
+            offlineHistories.clear();
+        }
+        pendingWrites.clear();
+    }
+
+    /** Number of histories held in memory, online and offline. */
+    public int getCachedCount() {
+        synchronized (offlineHistories) {
+            return playerHistories.size() + offlineHistories.size();
+        }
+    }
+
+    /** Number of players with a snapshot waiting to be written. */
+    public int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    // -------------------- Persistence --------------------
+
+    private PlayerMorphHistory readHistory(UUID playerId) {
+        // An unwritten snapshot is newer than the file
+        PendingWrite pending = pendingWrites.get(playerId);
+        if (pending != null)
+            return PlayerMorphHistory.fromNbt(pending.tag());
+
+        PlayerMorphHistoryStorage current = storage;
+        if (current == null)
+            return new PlayerMorphHistory();
+        try {
+            CompoundTag tag = current.read(playerId);
+            MorphMetrics.HISTORY_LOADS.increment();
+            return tag != null ? PlayerMorphHistory.fromNbt(tag) : new PlayerMorphHistory();
+        } catch (IOException e) {
+            MorphMetrics.HISTORY_IO_ERRORS.increment();
+            ModLogger.error("PlayerMorphHistory", "Unreadable morph history for {}, starting fresh", playerId, e);
+            return new PlayerMorphHistory();
+        }
+    }
+
+    /** Game thread: snapshot every dirty history for the writer. */
+    private void snapshotDirty() {
+        playerHistories.forEach(this::snapshotIfDirty);
+        synchronized (offlineHistories) {
+            offlineHistories.forEach(this::snapshotIfDirty);
+        }
+    }
+
+    private void snapshotIfDirty(UUID playerId, PlayerMorphHistory history) {
+        if (!history.isDirty())
+            return;
+        history.clearDirty();
+        // Keep the oldest queue time so the latency covers the first unsaved change
+        pendingWrites.merge(playerId, new PendingWrite(history.toNbt(), System.nanoTime()),
+                (older, newer) -> new PendingWrite(newer.tag(), older.queuedAt()));
+    }
+
+    /** Writer thread: write the queued snapshots. */
+    private void writePending() {
+        PlayerMorphHistoryStorage current = storage;
+        if (current == null || pendingWrites.isEmpty())
+            return;
+
+        long start = System.nanoTime();
+        for (UUID playerId : pendingWrites.keySet()) {
+            PendingWrite pending = pendingWrites.get(playerId);
+            if (pending == null)
+                continue;
+            try {
+                current.write(playerId, pending.tag());
+                // Leave it queued if a newer snapshot arrived during the write
+                pendingWrites.remove(playerId, pending);
+                MorphMetrics.HISTORY_WRITES.increment();
+                MorphMetrics.HISTORY_WRITE_LATENCY.recordSince(pending.queuedAt());
+            } catch (IOException e) {
+                // Stays queued; retried on the next flush
+                MorphMetrics.HISTORY_IO_ERRORS.increment();
+                ModLogger.warn("PlayerMorphHistory", "Failed to save morph history for {}", playerId, e);
+            }
+        }
+        MorphMetrics.HISTORY_FLUSH_TIME.recordSince(start);
+    }
+
+    private record PendingWrite(CompoundTag tag, long queuedAt) {
     }
 }
@@ -0,0 +1,57 @@
+package com.seristic.morphlib.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+
+/**
+ * One compressed NBT file per player ({@code <uuid>.dat}) in the world save.
+ *
+ * Writes go to a temp file that is then moved over the old one, so a crash
+ * mid-write leaves the previous save intact. Unreadable files are moved aside
+ * ({@code <uuid>.dat_corrupted}) instead of being overwritten later.
+ */
+final class PlayerMorphHistoryStorage {
+    private final Path directory;
+
+    PlayerMorphHistoryStorage(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The saved history, or null if the player has none.
+     */
+    CompoundTag read(UUID playerId) throws IOException {
+        Path file = fileFor(playerId);
+        if (!Files.exists(file))
+            return null;
+        try {
+            return NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
+        } catch (IOException e) {
+            Files.move(file, directory.resolve(playerId + ".dat_corrupted"), StandardCopyOption.REPLACE_EXISTING);
+            throw e;
+        }
+    }
+
+    void write(UUID playerId, CompoundTag tag) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, playerId + "-", ".dat");
+        try {
+            NbtIo.writeCompressed(tag, temp);
+            Files.move(temp, fileFor(playerId), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path fileFor(UUID playerId) {
+        return directory.resolve(playerId + ".dat");
+    }
+}
@@ -0,0 +1,155 @@
+package com.seristic.morphlib.data;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Most-recently-used list of dense morph ids with a fixed capacity.
+ *
+ * Entries live in a ring; an open-addressed id -> sequence map finds an
+ * existing entry so re-adding it only tombstones its old slot instead of
+ * shifting the list. The ring is compacted when tombstones fill it, which
+ * keeps {@link #add} amortized O(1).
+ */
+final class RecentMorphRing {
+    private static final int EMPTY = -1;
+
+    private final int capacity;
+    // Room for tombstones between compactions
+    private final int[] slots;
+    private long head; // next sequence to write
+    private long tail; // oldest sequence still in the ring
+    private int size;
+
+    // id -> sequence, linear probing; keys are EMPTY when unused
+    private final int[] keys;
+    private final long[] sequences;
+    private final int mask;
+
+    RecentMorphRing(int capacity) {
+        this.capacity = capacity;
+        this.slots = new int[capacity * 2];
+        Arrays.fill(slots, EMPTY);
+        int tableSize = Integer.highestOneBit(capacity * 4 - 1) << 1;
+        this.keys = new int[tableSize];
+        this.sequences = new long[tableSize];
+        this.mask = tableSize - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /** Move {@code id} to the front, evicting the oldest entry if full. */
+    void add(int id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            slots[slot(sequences[index])] = EMPTY;
+            size--;
+            removeAt(index);
+        }
+        if (head - tail == slots.length)
+            compact();
+
+        slots[slot(head)] = id;
+        put(id, head);
+        head++;
+        size++;
+
+        while (size > capacity) {
+            int oldest = slots[slot(tail)];
+            if (oldest != EMPTY) {
+                slots[slot(tail)] = EMPTY;
+                removeAt(indexOf(oldest));
+                size--;
+            }
+            tail++;
+        }
+        skipTombstones();
+    }
+
+    boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Visit ids from most to least recent. */
+    void forEachNewestFirst(IntConsumer action) {
+        for (long seq = head - 1; seq >= tail; seq--) {
+            int id = slots[slot(seq)];
+            if (id != EMPTY)
+                action.accept(id);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(slots, EMPTY);
+        Arrays.fill(keys, EMPTY);
+        head = 0;
+        tail = 0;
+        size = 0;
+    }
+
+    private void compact() {
+        int[] live = new int[size];
+        int n = 0;
+        for (long seq = tail; seq < head; seq++) {
+            int id = slots[slot(seq)];
+            if (id != EMPTY)
+                live[n++] = id;
+        }
+        clear();
+        for (int i = 0; i < n; i++) {
+            slots[i] = live[i];
+            put(live[i], i);
+        }
+        head = n;
+        size = n;
+    }
+
+    private void skipTombstones() {
+        while (tail < head && slots[slot(tail)] == EMPTY)
+            tail++;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % slots.length);
+    }
+
+    // -------------------- id -> sequence map --------------------
+    private int indexOf(int id) {
+        for (int i = mix(id) & mask;; i = (i + 1) & mask) {
+            if (keys[i] == id)
+                return i;
+            if (keys[i] == EMPTY)
+                return -1;
+        }
+    }
+
+    private void put(int id, long sequence) {
+        int i = mix(id) & mask;
+        while (keys[i] != EMPTY && keys[i] != id)
+            i = (i + 1) & mask;
+        keys[i] = id;
+        sequences[i] = sequence;
+    }
+
+    /** Delete with backward shift so probe chains stay intact. */
+    private void removeAt(int index) {
+        int hole = index;
+        for (int i = (hole + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = mix(keys[i]) & mask;
+            // Move the entry into the hole unless its home lies in (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                sequences[hole] = sequences[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private static int mix(int id) {
+        return id * 0x9E3779B9;
+    }
+}
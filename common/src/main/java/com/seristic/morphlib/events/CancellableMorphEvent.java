@@ -0,0 +1,10 @@
+package com.seristic.morphlib.events;
+
+/**
+ * A morph event whose action listeners can veto.
+ */
+public interface CancellableMorphEvent {
+    boolean isCancelled();
+
+    void setCancelled(boolean cancelled);
+}
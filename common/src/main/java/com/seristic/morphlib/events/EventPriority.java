@@ -0,0 +1,13 @@
+package com.seristic.morphlib.events;
+
+/**
+ * Order in which {@link MorphEventType} listeners run, highest first.
+ * Mirrors the platform buses so bridged listeners keep their meaning.
+ */
+public enum EventPriority {
+    HIGHEST,
+    HIGH,
+    NORMAL,
+    LOW,
+    LOWEST
+}
@@ -0,0 +1,144 @@
+package com.seristic.morphlib.events;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import com.seristic.morphlib.logging.ModLogger;
+
+/**
+ * Listeners for one kind of morph event, kept in an array sorted by
+ * priority (then registration order) and replaced on every change, so
+ * {@link #post} is a plain array walk with no locking.
+ *
+ * Callers check {@link #hasListeners()} before building the event; with no
+ * listeners, firing costs one volatile read and allocates nothing. Bridges to
+ * platform buses register with {@link #registerForwarder} so they only count
+ * while the platform bus has subscribers.
+ */
+public final class MorphEventType<E> {
+    private static final Listeners NONE = new Listeners(new Registration<?>[0], false);
+
+    private final String name;
+    private final boolean cancellable;
+    private volatile Listeners listeners = NONE;
+    private long nextOrder;
+
+    /**
+     * @param active Null for ordinary listeners; for forwarders, whether the
+     *               other bus currently has subscribers.
+     */
+    private record Registration<E>(Consumer<? super E> listener, EventPriority priority, boolean receiveCancelled,
+            BooleanSupplier active, long order) {
+        boolean isActive() {
+            return active == null || active.getAsBoolean();
+        }
+    }
+
+    /** The sorted array, and whether any entry is an ordinary listener. */
+    private record Listeners(Registration<?>[] all, boolean anyAlwaysActive) {
+    }
+
+    private static final Comparator<Registration<?>> ORDER = Comparator
+            .<Registration<?>, EventPriority>comparing(Registration::priority)
+            .thenComparingLong(Registration::order);
+
+    MorphEventType(String name, boolean cancellable) {
+        this.name = name;
+        this.cancellable = cancellable;
+    }
+
+    public void register(Consumer<? super E> listener) {
+        register(EventPriority.NORMAL, false, listener);
+    }
+
+    public void register(EventPriority priority, Consumer<? super E> listener) {
+        register(priority, false, listener);
+    }
+
+    /**
+     * @param receiveCancelled Also call the listener after an earlier one
+     *                         cancelled the event.
+     */
+    public synchronized void register(EventPriority priority, boolean receiveCancelled,
+            Consumer<? super E> listener) {
+        add(new Registration<>(listener, priority, receiveCancelled, null, nextOrder++));
+    }
+
+    /**
+     * Register a listener that forwards to another event bus. It is only
+     * called, and only counts for {@link #hasListeners()}, while
+     * {@code hasSubscribers} returns true, so a bridge to an empty platform
+     * bus does not force every event to be built. {@code hasSubscribers} is
+     * called on every fire and must be cheap.
+     */
+    public synchronized void registerForwarder(Consumer<? super E> listener, BooleanSupplier hasSubscribers) {
+        add(new Registration<>(listener, EventPriority.NORMAL, false, hasSubscribers, nextOrder++));
+    }
+
+    private void add(Registration<E> registration) {
+        Registration<?>[] updated = Arrays.copyOf(listeners.all(), listeners.all().length + 1);
+        updated[updated.length - 1] = registration;
+        Arrays.sort(updated, ORDER);
+        listeners = of(updated);
+    }
+
+    public synchronized boolean unregister(Consumer<? super E> listener) {
+        Registration<?>[] current = listeners.all();
+        Registration<?>[] updated = Arrays.stream(current)
+                .filter(registration -> registration.listener() != listener)
+                .toArray(Registration<?>[]::new);
+        listeners = updated.length == 0 ? NONE : of(updated);
+        return updated.length != current.length;
+    }
+
+    private static Listeners of(Registration<?>[] all) {
+        boolean anyAlwaysActive = Arrays.stream(all).anyMatch(registration -> registration.active() == null);
+        return new Listeners(all, anyAlwaysActive);
+    }
+
+    public boolean hasListeners() {
+        Listeners current = listeners;
+        if (current.anyAlwaysActive())
+            return true;
+        for (Registration<?> registration : current.all()) {
+            if (registration.isActive())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Call every listener in priority order. Once a cancellable event is
+     * cancelled, only listeners registered with {@code receiveCancelled} see
+     * it. A listener that throws is logged and skipped.
+     *
+     * @return The event, for reading its cancelled state.
+     */
+    @SuppressWarnings("unchecked")
+    public E post(E event) {
+        Registration<?>[] current = listeners.all();
+        for (Registration<?> registration : current) {
+            if (cancellable && !registration.receiveCancelled() && ((CancellableMorphEvent) event).isCancelled())
+                continue;
+            if (!registration.isActive())
+                continue;
+            try {
+                ((Consumer<? super E>) registration.listener()).accept(event);
+            } catch (RuntimeException e) {
+                ModLogger.error("MorphEvents", "Listener for {} failed", name, e);
+            }
+        }
+        return event;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
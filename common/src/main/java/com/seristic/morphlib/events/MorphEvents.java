@@ -0,0 +1,53 @@
+package com.seristic.morphlib.events;
+
+import com.seristic.morphlib.MorphData;
+
+import net.minecraft.world.entity.Entity;
+
+/**
+ * MorphLib's lifecycle events. Register on the constants here; the platform
+ * modules forward the same events to NeoForge's bus and Fabric's events.
+ *
+ * With no listeners, firing allocates nothing. The Fabric bridge only counts
+ * as a listener while a Fabric callback is registered. NeoForge's bus cannot
+ * say whether anything subscribed, so on NeoForge the bridge always counts
+ * and every morph builds its event objects.
+ *
+ * <pre>
+ * MorphEvents.PRE_MORPH.register(EventPriority.HIGH, event -> {
+ *     if (event.getToMorph() != null &amp;&amp; isForbidden(event.getToMorph()))
+ *         event.setCancelled(true, "Forbidden here");
+ * });
+ * </pre>
+ */
+public final class MorphEvents {
+    /** Before an entity morphs or reverts ({@code toMorph == null}); cancellable. */
+    public static final MorphEventType<PreMorphEvent> PRE_MORPH = new MorphEventType<>("pre_morph", true);
+    /** After an entity morphed or reverted. */
+    public static final MorphEventType<PostMorphEvent> POST_MORPH = new MorphEventType<>("post_morph", false);
+
+    private MorphEvents() {
+    }
+
+    /** Whether either lifecycle event has listeners, so callers can skip looking up the old morph. */
+    public static boolean hasMorphListeners() {
+        return PRE_MORPH.hasListeners() || POST_MORPH.hasListeners();
+    }
+
+    /**
+     * Fire {@link #PRE_MORPH}.
+     *
+     * @return The posted event, or null if nobody listens (never cancelled).
+     */
+    public static PreMorphEvent firePreMorph(Entity entity, MorphData fromMorph, MorphData toMorph) {
+        if (!PRE_MORPH.hasListeners())
+            return null;
+        return PRE_MORPH.post(new PreMorphEvent(entity, fromMorph, toMorph));
+    }
+
+    /** Fire {@link #POST_MORPH} if anybody listens. */
+    public static void firePostMorph(Entity entity, MorphData fromMorph, MorphData toMorph) {
+        if (POST_MORPH.hasListeners())
+            POST_MORPH.post(new PostMorphEvent(entity, fromMorph, toMorph));
+    }
+}
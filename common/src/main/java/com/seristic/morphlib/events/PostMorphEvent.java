@@ -1,24 +1,37 @@
 package com.seristic.morphlib.events;
 
 import com.seristic.morphlib.MorphData;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 
 /**
- * Event fired after a player successfully morphs into a new form.
+ * Event fired after a player (or other entity) successfully morphs into a new
+ * form, or reverts when {@code toMorph} is null.
  */
 public class PostMorphEvent {
-    private final Player player;
+    private final Entity entity;
     private final MorphData fromMorph;
     private final MorphData toMorph;
 
-    public PostMorphEvent(Player player, MorphData fromMorph, MorphData toMorph) {
-        this.player = player;
+    public PostMorphEvent(Entity entity, MorphData fromMorph, MorphData toMorph) {
+        this.entity = entity;
         this.fromMorph = fromMorph;
         this.toMorph = toMorph;
     }
 
+    public PostMorphEvent(Player player, MorphData fromMorph, MorphData toMorph) {
+        this((Entity) player, fromMorph, toMorph);
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * The morphing player, or null if the entity is not a player.
+     */
     public Player getPlayer() {
-        return player;
+        return entity instanceof Player player ? player : null;
     }
 
     public MorphData getFromMorph() {
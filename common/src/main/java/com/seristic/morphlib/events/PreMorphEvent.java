@@ -1,27 +1,40 @@
 package com.seristic.morphlib.events;
 
 import com.seristic.morphlib.MorphData;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 
 /**
- * Event fired before a player morphs into a new form.
+ * Event fired before a player (or other entity) morphs into a new form, or
+ * reverts when {@code toMorph} is null.
  * Can be cancelled to prevent the morph from occurring.
  */
-public class PreMorphEvent {
-    private final Player player;
+public class PreMorphEvent implements CancellableMorphEvent {
+    private final Entity entity;
     private final MorphData fromMorph;
     private final MorphData toMorph;
     private boolean cancelled = false;
     private String cancelReason = null;
 
-    public PreMorphEvent(Player player, MorphData fromMorph, MorphData toMorph) {
-        this.player = player;
+    public PreMorphEvent(Entity entity, MorphData fromMorph, MorphData toMorph) {
+        this.entity = entity;
         this.fromMorph = fromMorph;
         this.toMorph = toMorph;
     }
 
+    public PreMorphEvent(Player player, MorphData fromMorph, MorphData toMorph) {
+        this((Entity) player, fromMorph, toMorph);
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * The morphing player, or null if the entity is not a player.
+     */
     public Player getPlayer() {
-        return player;
+        return entity instanceof Player player ? player : null;
     }
 
     public MorphData getFromMorph() {
@@ -32,10 +45,12 @@ public class PreMorphEvent {
         return toMorph;
     }
 
+    @Override
     public boolean isCancelled() {
         return cancelled;
     }
 
+    @Override
     public void setCancelled(boolean cancelled) {
         this.cancelled = cancelled;
     }
@@ -0,0 +1,84 @@
+package com.seristic.morphlib.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Console output for the async writer.
+ *
+ * Lines are batched and printed from the writer thread, so logging threads
+ * never block on {@code System.out} or the terminal. DEBUG and TRACE lines
+ * can be sampled per category (1 in N) to keep noisy debug sessions readable.
+ *
+ * Writer thread only, except for {@link #setUseColors} and the counters.
+ */
+final class ConsoleSink {
+
+    private static final String RESET = "\u001B[0m";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int FLUSH_THRESHOLD = 16 * 1024;
+
+    private final int defaultSampleRate;
+    private final Map<String, Integer> sampleRates;
+    private final Map<String, long[]> sampleCounters = new HashMap<>();
+    private final StringBuilder pending = new StringBuilder(FLUSH_THRESHOLD);
+    private final LongAdder sampledOut = new LongAdder();
+    private volatile boolean useColors = true;
+
+    ConsoleSink(int defaultSampleRate, Map<String, Integer> sampleRates) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Map.copyOf(sampleRates);
+    }
+
+    void append(LoggerManager.LogLevel level, String tag, String line, Throwable t) {
+        if (level.getPriority() <= LoggerManager.LogLevel.DEBUG.getPriority() && !sample(tag)) {
+            sampledOut.increment();
+            return;
+        }
+
+        if (useColors)
+            pending.append(level.getColor()).append(line).append(RESET);
+        else
+            pending.append(line);
+        pending.append(LINE_SEPARATOR);
+
+        if (t != null) {
+            StringWriter trace = new StringWriter();
+            t.printStackTrace(new PrintWriter(trace));
+            pending.append(trace);
+        }
+
+        if (pending.length() >= FLUSH_THRESHOLD)
+            flush();
+    }
+
+    /** Print everything batched so far in one call. */
+    void flush() {
+        if (pending.length() == 0)
+            return;
+        // Resolved per flush: the game may replace System.out after init
+        System.out.append(pending);
+        System.out.flush();
+        pending.setLength(0);
+    }
+
+    void setUseColors(boolean useColors) {
+        this.useColors = useColors;
+    }
+
+    /** Debug/trace lines skipped by sampling. */
+    long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    private boolean sample(String tag) {
+        int rate = sampleRates.getOrDefault(tag, defaultSampleRate);
+        if (rate <= 1)
+            return true;
+        long[] counter = sampleCounters.computeIfAbsent(tag, k -> new long[1]);
+        return counter[0]++ % rate == 0;
+    }
+}
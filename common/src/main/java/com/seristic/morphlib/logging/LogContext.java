@@ -10,6 +10,9 @@ import java.util.UUID;
  * Immutable after build — use builder to construct.
  */
 public final class LogContext {
+    /** Shared context with no correlation id or data; not printed in log lines. */
+    public static final LogContext EMPTY = new LogContext(null, Map.of());
+
     private final String correlationId;
     private final Map<String, String> data;
 
@@ -50,6 +53,6 @@ public final class LogContext {
     }
 
     public static LogContext empty() {
-        return new Builder().build();
+        return EMPTY;
     }
 }
@@ -0,0 +1,116 @@
+package com.seristic.morphlib.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archives rotated log files on a background thread.
+ *
+ * The writer only renames the live file to a pending name and opens a fresh
+ * one; shifting the numbered backups ({@code base.1.log} -> {@code base.2.log}
+ * ...), compressing and pruning happens here, in rotation order, so writes
+ * never wait on it.
+ */
+final class LogFileArchiver {
+
+    private static final Logger consoleLogger = LoggerFactory.getLogger("LogFileArchiver");
+
+    static final String PENDING_MARKER = ".rotating.";
+
+    private final LoggingConfig config;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "logger-archiver");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    LogFileArchiver(LoggingConfig config) {
+        this.config = config;
+    }
+
+    /** Name a just-closed live file is renamed to before archiving. */
+    Path pendingPath(long rotatedAtMillis) {
+        return config.logDirectory.resolve(config.logFileBaseName + ".log" + PENDING_MARKER + rotatedAtMillis);
+    }
+
+    /** Queue a renamed log file for archiving. */
+    void archive(Path pendingFile) {
+        executor.execute(() -> {
+            try {
+                if (config.maxBackupFiles <= 0) {
+                    Files.delete(pendingFile);
+                    return;
+                }
+                shiftBackups();
+                Path target = backupPath(1, config.archiveCompression);
+                if (config.archiveCompression == LoggingConfig.ArchiveCompression.GZIP) {
+                    gzip(pendingFile, target);
+                    Files.delete(pendingFile);
+                } else {
+                    Files.move(pendingFile, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException ex) {
+                consoleLogger.error("Failed to archive {}: {}", pendingFile, ex.getMessage(), ex);
+            }
+        });
+    }
+
+    /** Archive files left pending by a previous run that stopped mid-rotation. */
+    void archiveLeftovers() {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(config.logDirectory,
+                config.logFileBaseName + ".log" + PENDING_MARKER + "*")) {
+            for (Path leftover : stream)
+                archive(leftover);
+        } catch (IOException ex) {
+            consoleLogger.warn("Could not scan for pending log archives: {}", ex.getMessage());
+        }
+    }
+
+    void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+                executor.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Move base.N to base.N+1 (both compressed and plain), dropping the oldest. */
+    private void shiftBackups() throws IOException {
+        for (LoggingConfig.ArchiveCompression compression : LoggingConfig.ArchiveCompression.values()) {
+            Files.deleteIfExists(backupPath(config.maxBackupFiles, compression));
+            for (int i = config.maxBackupFiles - 1; i >= 1; i--) {
+                Path from = backupPath(i, compression);
+                if (Files.exists(from))
+                    Files.move(from, backupPath(i + 1, compression), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private Path backupPath(int index, LoggingConfig.ArchiveCompression compression) {
+        return config.logDirectory.resolve(config.logFileBaseName + "." + index + ".log" + compression.extension);
+    }
+
+    private static void gzip(Path source, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(source);
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+            in.transferTo(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,159 @@
+package com.seristic.morphlib.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Formats log lines as plain text or JSON with almost no per-line garbage.
+ *
+ * - The "yyyy-MM-dd HH:mm:ss." prefix is formatted once per second and
+ * shared; milliseconds are appended as digits.
+ * - Lines are built in a reused thread-local StringBuilder; the only per-line
+ * allocation is the resulting String.
+ * - JSON strings are escaped in a single pass.
+ * - {@link LogContext#data()} entries are included.
+ *
+ * Thread-safe.
+ */
+final class LogLineFormatter {
+
+    private static final DateTimeFormatter SECOND_PREFIX = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss'.'");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Builders that grew past this are dropped instead of being kept per thread
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final ZoneId zoneId;
+    private final boolean json;
+    private final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    // Last formatted second, replaced atomically as a whole
+    private volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, "");
+
+    private record CachedSecond(long epochSecond, String prefix) {
+    }
+
+    LogLineFormatter(ZoneId zoneId, boolean json) {
+        this.zoneId = zoneId;
+        this.json = json;
+    }
+
+    String format(LoggerManager.LogLevel level, String tag, String msg, LogContext ctx, Throwable t) {
+        StringBuilder sb = builders.get();
+        sb.setLength(0);
+
+        if (json)
+            formatJson(sb, level, tag, msg, ctx, t);
+        else
+            formatPlain(sb, level, tag, msg, ctx, t);
+
+        String line = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY)
+            builders.remove();
+        return line;
+    }
+
+    private void formatPlain(StringBuilder sb, LoggerManager.LogLevel level, String tag, String msg,
+            LogContext ctx, Throwable t) {
+        appendTimestamp(sb, System.currentTimeMillis());
+        sb.append(" [").append(level.name()).append("] [").append(tag).append(']');
+        if (ctx != null && ctx != LogContext.EMPTY) {
+            sb.append(" [corr=").append(ctx.correlationId()).append(']');
+            Map<String, String> data = ctx.data();
+            if (!data.isEmpty()) {
+                sb.append(" [");
+                boolean first = true;
+                for (Map.Entry<String, String> e : data.entrySet()) {
+                    if (!first)
+                        sb.append(", ");
+                    sb.append(e.getKey()).append('=').append(e.getValue());
+                    first = false;
+                }
+                sb.append(']');
+            }
+        }
+        sb.append(' ').append(msg);
+        if (t != null)
+            sb.append(" | EX: ").append(t);
+    }
+
+    private void formatJson(StringBuilder sb, LoggerManager.LogLevel level, String tag, String msg,
+            LogContext ctx, Throwable t) {
+        sb.append("{\"timestamp\":\"");
+        appendTimestamp(sb, System.currentTimeMillis());
+        sb.append("\",\"level\":\"").append(level.name()).append('"');
+        sb.append(",\"tag\":");
+        appendJsonString(sb, tag);
+        sb.append(",\"message\":");
+        appendJsonString(sb, msg);
+        if (ctx != null && ctx != LogContext.EMPTY) {
+            sb.append(",\"correlationId\":");
+            appendJsonString(sb, ctx.correlationId());
+            Map<String, String> data = ctx.data();
+            if (!data.isEmpty()) {
+                sb.append(",\"data\":{");
+                boolean first = true;
+                for (Map.Entry<String, String> e : data.entrySet()) {
+                    if (!first)
+                        sb.append(',');
+                    appendJsonString(sb, e.getKey());
+                    sb.append(':');
+                    appendJsonString(sb, e.getValue());
+                    first = false;
+                }
+                sb.append('}');
+            }
+        }
+        if (t != null) {
+            sb.append(",\"exception\":");
+            appendJsonString(sb, t.toString());
+        }
+        sb.append('}');
+    }
+
+    /** Append "yyyy-MM-dd HH:mm:ss.SSS" in the configured zone. */
+    void appendTimestamp(StringBuilder sb, long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000L);
+        CachedSecond cached = cachedSecond;
+        if (cached.epochSecond() != second) {
+            cached = new CachedSecond(second, SECOND_PREFIX.format(Instant.ofEpochSecond(second).atZone(zoneId)));
+            cachedSecond = cached;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        sb.append(cached.prefix())
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10));
+    }
+
+    /** Append a quoted JSON string, escaping in one pass. Null becomes a JSON null. */
+    static void appendJsonString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,130 @@
+package com.seristic.morphlib.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Preallocated bounded ring buffer for log lines (Vyukov bounded queue).
+ *
+ * Producers claim a slot with a single CAS on the enqueue position and never
+ * take a lock or allocate. Each slot carries a sequence number that tells
+ * producers and consumers whether it is free or filled, so a full buffer is
+ * detected without locking.
+ *
+ * Normally there is one consumer (the writer thread). Dequeue is also CAS
+ * based, which lets a producer evict the oldest entry for
+ * {@link LoggingConfig.OverflowPolicy#DROP_OLDEST}.
+ */
+final class LogRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    LogRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2)
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * Try to add an element.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long pos = enqueuePosition.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - pos;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(pos, pos + 1))
+                    break;
+                pos = enqueuePosition.get();
+            } else if (diff < 0) {
+                return false; // Slot not yet consumed: full
+            } else {
+                pos = enqueuePosition.get();
+            }
+        }
+        buffer.setPlain(index, element);
+        sequences.setRelease(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * Remove the oldest element.
+     *
+     * @return the element, or null if empty
+     */
+    E poll() {
+        long pos = dequeuePosition.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - (pos + 1);
+            if (diff == 0) {
+                if (dequeuePosition.compareAndSet(pos, pos + 1))
+                    break;
+                pos = dequeuePosition.get();
+            } else if (diff < 0) {
+                return null; // Slot not yet published: empty
+            } else {
+                pos = dequeuePosition.get();
+            }
+        }
+        E element = buffer.getPlain(index);
+        buffer.setPlain(index, null);
+        sequences.setRelease(index, pos + mask + 1);
+        return element;
+    }
+
+    /**
+     * Move up to {@code max} elements into {@code target}.
+     *
+     * @return number of elements moved
+     */
+    int drainTo(List<? super E> target, int max) {
+        int count = 0;
+        E element;
+        while (count < max && (element = poll()) != null) {
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Approximate number of queued elements. */
+    int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,141 @@
+package com.seristic.morphlib.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token-bucket rate limiting for repeated log messages.
+ *
+ * Messages are keyed by (category, message template), so the same warning
+ * raised for thousands of entities shares one bucket no matter what its
+ * arguments are. Messages over the limit are dropped before formatting and
+ * counted; the count is reported as a "suppressed N similar messages"
+ * summary when the bucket admits again, or by the periodic {@link #sweep}.
+ * The sweep also drops buckets that have refilled completely, since a fresh
+ * bucket behaves the same, so one-off keys cannot fill the table for good.
+ */
+final class LogThrottle {
+
+    /** Receives suppression summaries. */
+    interface SummarySink {
+        void summarize(LoggerManager.LogLevel level, String category, String template, long suppressed);
+    }
+
+    // Upper bound on tracked templates; beyond it new keys are not throttled
+    // until the sweep evicts idle buckets
+    private static final int MAX_BUCKETS = 4096;
+
+    private final int minPriority;
+    private final double burst;
+    private final double tokensPerNano;
+    private final SummarySink sink;
+
+    // category -> template -> bucket (two lookups, no key allocation)
+    private final Map<String, Map<String, Bucket>> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger bucketCount = new AtomicInteger();
+
+    LogThrottle(LoggerManager.LogLevel minLevel, int burst, double perSecond, SummarySink sink) {
+        this.minPriority = minLevel.getPriority();
+        this.burst = burst;
+        this.tokensPerNano = perSecond / 1_000_000_000.0;
+        this.sink = sink;
+    }
+
+    /**
+     * Whether a message may be logged. Levels below the throttled minimum are
+     * always admitted.
+     */
+    boolean tryAcquire(LoggerManager.LogLevel level, String category, String template) {
+        if (level.getPriority() < minPriority)
+            return true;
+
+        Bucket bucket = bucket(level, category, template);
+        if (bucket == null)
+            return true;
+
+        long suppressed;
+        synchronized (bucket) {
+            if (!bucket.take(System.nanoTime())) {
+                bucket.suppressed++;
+                return false;
+            }
+            suppressed = bucket.suppressed;
+            bucket.suppressed = 0;
+        }
+        if (suppressed > 0)
+            sink.summarize(level, category, template, suppressed);
+        return true;
+    }
+
+    /**
+     * Report suppressed counts of buckets that have gone quiet, and evict
+     * buckets that are idle and full again.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Map<String, Bucket>> category : buckets.entrySet()) {
+            Map<String, Bucket> templates = category.getValue();
+            for (Map.Entry<String, Bucket> entry : templates.entrySet()) {
+                Bucket bucket = entry.getValue();
+                long suppressed;
+                boolean full;
+                synchronized (bucket) {
+                    suppressed = bucket.suppressed;
+                    bucket.suppressed = 0;
+                    full = bucket.isFull(now);
+                }
+                if (suppressed > 0)
+                    sink.summarize(bucket.level, category.getKey(), entry.getKey(), suppressed);
+                else if (full && templates.remove(entry.getKey(), bucket))
+                    bucketCount.decrementAndGet();
+            }
+        }
+    }
+
+    int size() {
+        return bucketCount.get();
+    }
+
+    private Bucket bucket(LoggerManager.LogLevel level, String category, String template) {
+        Map<String, Bucket> templates = buckets.get(category);
+        if (templates == null)
+            templates = buckets.computeIfAbsent(category, k -> new ConcurrentHashMap<>());
+        Bucket bucket = templates.get(template);
+        if (bucket != null)
+            return bucket;
+        if (bucketCount.get() >= MAX_BUCKETS)
+            return null;
+        return templates.computeIfAbsent(template, k -> {
+            bucketCount.incrementAndGet();
+            return new Bucket(level, burst, System.nanoTime());
+        });
+    }
+
+    private final class Bucket {
+        final LoggerManager.LogLevel level;
+        double tokens;
+        long lastRefillNanos;
+        long suppressed;
+
+        Bucket(LoggerManager.LogLevel level, double tokens, long now) {
+            this.level = level;
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        /** Whether the bucket has refilled to its burst, i.e. is as good as new. */
+        boolean isFull(long now) {
+            return tokens + (now - lastRefillNanos) * tokensPerNano >= burst;
+        }
+
+        boolean take(long now) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            if (tokens < 1.0)
+                return false;
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
@@ -1,25 +1,33 @@
 package com.seristic.morphlib.logging;
 
+import com.seristic.morphlib.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 /**
  * Logger manager handling:
- * - Async file logging with rotation
- * - Colored console output
+ * - Async, group-committed file logging with non-blocking rotation
+ * - Colored console output, printed from the writer thread
  * - Category-based log levels
  * - JSON/plain text formatting
+ * - Throttling of repeated messages with suppression summaries
  */
 public final class LoggerManager implements Closeable {
 
@@ -50,21 +58,46 @@ public final class LoggerManager implements Closeable {
     private final String modId;
     private final LoggingConfig config;
     private final Map<String, LogLevel> categoryLevels = new ConcurrentHashMap<>();
-    private LogLevel globalLevel = LogLevel.DEBUG;
-    private boolean useColors = true;
+    private volatile LogLevel globalLevel = LogLevel.DEBUG;
+    // Lowest priority enabled by the global level or any category; lets
+    // disabled levels be rejected with a single volatile read
+    private volatile int minEnabledPriority = LogLevel.DEBUG.getPriority();
 
-    private final BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(10_000);
+    /** A formatted line queued for the writer thread. */
+    private record LogEntry(LogLevel level, String tag, String line, Throwable error) {
+    }
+
+    private final LogRingBuffer<LogEntry> writeQueue;
+    // Set while the writer is parked on an empty queue; producers unpark it
+    private volatile boolean writerWaiting = false;
+    private volatile Thread writerThread;
     private final ExecutorService writerExecutor = Executors.newSingleThreadExecutor(r -> {
         Thread t = new Thread(r, "logger-writer");
         t.setDaemon(true);
         return t;
     });
 
-    private BufferedWriter currentWriter;
+    private volatile boolean running = true;
+
+    // Writer thread state: lines are encoded into a reusable direct buffer and
+    // written to the channel once per batch, not once per line
+    private FileChannel currentChannel;
     private Path currentLogPath;
     private final AtomicLong currentFileBytes = new AtomicLong(0);
-    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
-    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private long nextTimedRotationMillis = Long.MAX_VALUE;
+    // After a failed rename or reopen, don't try again before these times
+    private long nextRotationRetryMillis;
+    private long nextReopenRetryMillis;
+    private static final long FILE_RETRY_MILLIS = 30_000;
+    private final LogFileArchiver archiver;
+    private final ByteBuffer writeBuffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final List<LogEntry> batch;
+    private final ConsoleSink consoleSink;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private final LogLineFormatter formatter;
+    private final LogThrottle throttle;
+    private final long slowOperationThresholdNanos;
 
     // -------------------- Initialization --------------------
     public static void init(String modId, LoggingConfig cfg) {
@@ -73,6 +106,10 @@ public final class LoggerManager implements Closeable {
         if (INSTANCE != null)
             throw new IllegalStateException("Already initialized");
         INSTANCE = new LoggerManager(modId, cfg);
+        // Sample whichever instance is current, so a re-init after shutdown is picked up
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("logging.queued", () -> INSTANCE != null ? INSTANCE.getQueuedMessages() : 0);
+        metrics.gauge("logging.dropped", () -> INSTANCE != null ? INSTANCE.getDroppedMessages() : 0);
     }
 
     public static LoggerManager get() {
@@ -91,9 +128,21 @@ public final class LoggerManager implements Closeable {
     private LoggerManager(String modId, LoggingConfig config) {
         this.modId = modId;
         this.config = config;
+        this.writeBuffer = ByteBuffer.allocateDirect(config.writeBufferBytes);
+        this.batch = new ArrayList<>(config.maxBatchSize);
+        this.writeQueue = new LogRingBuffer<>(config.queueCapacity);
+        this.formatter = new LogLineFormatter(config.zoneId, config.jsonFormat);
+        this.archiver = new LogFileArchiver(config);
+        this.throttle = new LogThrottle(config.throttleMinLevel, config.throttleBurst,
+                config.throttleRatePerSecond, this::logSuppressedSummary);
+        this.slowOperationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.slowOperationThresholdMillis);
+        this.consoleSink = config.consoleEnabled
+                ? new ConsoleSink(config.consoleDebugSampleRate, config.consoleCategorySampleRates)
+                : null;
         try {
             if (!Files.exists(config.logDirectory))
                 Files.createDirectories(config.logDirectory);
+            archiver.archiveLeftovers();
             openNewLogFile();
         } catch (Exception ex) {
             consoleLogger.error("Failed to init logger: {}", ex.getMessage(), ex);
@@ -105,8 +154,10 @@ public final class LoggerManager implements Closeable {
     private void openNewLogFile() throws IOException {
         Path path = config.logDirectory.resolve(config.logFileBaseName + ".log");
         this.currentLogPath = path;
-        currentWriter = new BufferedWriter(new FileWriter(path.toFile(), true));
-        currentFileBytes.set(Files.exists(path) ? Files.size(path) : 0L);
+        currentChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        currentFileBytes.set(currentChannel.size());
+        resetRotationTimer(System.currentTimeMillis());
     }
 
     // -------------------- Logging API --------------------
@@ -138,144 +189,302 @@ public final class LoggerManager implements Closeable {
         log(LogLevel.FATAL, tag, msg, ctx, null);
     }
 
+    /**
+     * Check whether a level is enabled for a category. Levels below every
+     * configured level are rejected without a map lookup.
+     */
+    public boolean isEnabled(LogLevel level, String cat) {
+        if (level.getPriority() < minEnabledPriority)
+            return false;
+        return shouldLog(level, cat);
+    }
+
+    /**
+     * Token-bucket check for a (category, template) pair. Call after
+     * {@link #isEnabled} and before formatting the message.
+     */
+    public boolean tryAcquire(LogLevel level, String cat, String template) {
+        return throttle.tryAcquire(level, cat, template);
+    }
+
+    private void logSuppressedSummary(LogLevel level, String cat, String template, long suppressed) {
+        log(level, cat, "Suppressed " + suppressed + " similar messages: " + template, LogContext.EMPTY, null);
+    }
+
     private boolean shouldLog(LogLevel level, String cat) {
         LogLevel l = categoryLevels.getOrDefault(cat, globalLevel);
         return level.getPriority() >= l.getPriority();
     }
 
-    private void log(LogLevel level, String tag, String msg, LogContext ctx, Throwable t) {
-        if (!shouldLog(level, tag))
+    public void log(LogLevel level, String tag, String msg, LogContext ctx, Throwable t) {
+        if (!isEnabled(level, tag))
             return;
-        String line = formatLine(level, tag, msg, ctx, t);
-        if (config.consoleEnabled) {
-            System.out.println(useColors ? level.getColor() + line + "\u001B[0m" : line);
-            if (t != null)
-                t.printStackTrace(System.out);
-        }
-        enqueueWrite(line + (t != null ? " | EX:" + t : ""));
-    }
-
-    private String formatLine(LogLevel lvl, String tag, String msg, LogContext ctx, Throwable t) {
-        String timestamp = TIMESTAMP.format(ZonedDateTime.now(config.zoneId));
-        if (config.jsonFormat) {
-            StringBuilder sb = new StringBuilder("{");
-            appendJson(sb, "timestamp", timestamp);
-            sb.append(',');
-            appendJson(sb, "level", lvl.name());
-            sb.append(',');
-            appendJson(sb, "tag", tag);
-            sb.append(',');
-            appendJson(sb, "message", msg);
-            if (ctx != null) {
-                sb.append(',');
-                appendJson(sb, "correlationId", ctx.correlationId());
-            }
-            if (t != null) {
-                sb.append(',');
-                appendJson(sb, "exception", t.toString());
-            }
-            sb.append('}');
-            return sb.toString();
-        } else {
-            StringBuilder sb = new StringBuilder(timestamp + " [" + lvl.name() + "] [" + tag + "]");
-            if (ctx != null)
-                sb.append(" [corr=").append(ctx.correlationId()).append("]");
-            sb.append(' ').append(msg);
-            if (t != null)
-                sb.append(" | EX: ").append(t);
-            return sb.toString();
-        }
+        String line = formatter.format(level, tag, msg, ctx, t);
+        enqueueWrite(new LogEntry(level, tag, line, t));
     }
 
-    private static void appendJson(StringBuilder sb, String key, String val) {
-        sb.append('"').append(key.replace("\"", "\\\"")).append('"').append(':').append('"')
-                .append(val.replace("\"", "\\\"")).append('"');
+    // -------------------- Async file writing --------------------
+    /**
+     * Queue a line for the writer thread. Never takes a lock; a full queue is
+     * handled according to {@link LoggingConfig#overflowPolicy}.
+     */
+    private void enqueueWrite(LogEntry line) {
+        if (!writeQueue.offer(line)) {
+            switch (config.overflowPolicy) {
+                case DROP_NEWEST -> writeQueue.recordDropped();
+                case DROP_OLDEST -> {
+                    // Evict until our line fits; each eviction is one dropped message
+                    do {
+                        if (writeQueue.poll() != null)
+                            writeQueue.recordDropped();
+                    } while (!writeQueue.offer(line));
+                }
+                case BLOCK -> {
+                    while (!writeQueue.offer(line)) {
+                        if (!running || Thread.currentThread() == writerThread) {
+                            writeQueue.recordDropped();
+                            return;
+                        }
+                        LockSupport.parkNanos(50_000L);
+                    }
+                }
+            }
+        }
+        if (writerWaiting)
+            LockSupport.unpark(writerThread);
     }
 
-    // -------------------- Async file writing --------------------
-    private void enqueueWrite(String line) {
-        boolean offered = writeQueue.offer(line);
-        if (!offered) {
-            writeQueue.poll();
-            writeQueue.offer(line);
+    /**
+     * Wait up to the flush interval for a line to arrive.
+     */
+    private LogEntry takeLine(long timeoutNanos) {
+        LogEntry line = writeQueue.poll();
+        if (line != null)
+            return line;
+        writerWaiting = true;
+        try {
+            // Re-check after publishing the flag so a concurrent offer is not missed
+            line = writeQueue.poll();
+            if (line == null) {
+                LockSupport.parkNanos(this, timeoutNanos);
+                line = writeQueue.poll();
+            }
+        } finally {
+            writerWaiting = false;
         }
+        return line;
     }
 
+    /**
+     * Group-commit loop: waits for the first line, drains whatever else is
+     * queued in one call, encodes the batch and writes it with as few channel
+     * writes as possible. Buffered bytes are written when the queue runs dry,
+     * after maxBatchSize lines, or after flushIntervalMillis under a
+     * continuous stream.
+     */
     private void writerLoop() {
-        while (!Thread.currentThread().isInterrupted()) {
+        long lastFlush = System.nanoTime();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.flushIntervalMillis);
+        long summaryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.throttleSummaryIntervalMillis);
+        long lastSummarySweep = lastFlush;
+        int pendingLines = 0;
+        writerThread = Thread.currentThread();
+        try {
+            while (running || !writeQueue.isEmpty()) {
+                try {
+                    LogEntry first = takeLine(flushIntervalNanos);
+                    if (first != null) {
+                        batch.add(first);
+                        writeQueue.drainTo(batch, config.maxBatchSize - 1);
+                        for (int i = 0, n = batch.size(); i < n; i++)
+                            writeEntry(batch.get(i));
+                        pendingLines += batch.size();
+                    }
+
+                    long now = System.nanoTime();
+                    if (now - lastSummarySweep >= summaryIntervalNanos) {
+                        // Summaries are queued like any other line and written next round
+                        lastSummarySweep = now;
+                        throttle.sweep();
+                    }
+                    if (pendingLines > 0 && (writeQueue.isEmpty() || pendingLines >= config.maxBatchSize
+                            || now - lastFlush >= flushIntervalNanos)) {
+                        pendingLines = 0;
+                        lastFlush = now;
+                        // Time-based rotation first, so a batch lands in the new period's file
+                        rotateIfNeeded();
+                        flushBuffer();
+                        rotateIfNeeded();
+                    }
+                } catch (IOException ex) {
+                    consoleLogger.error("Write failed: {}", ex.getMessage(), ex);
+                } finally {
+                    batch.clear();
+                }
+            }
+        } catch (Throwable t) {
+            consoleLogger.error("Writer crashed: {}", t.getMessage(), t);
+        } finally {
             try {
-                String line = writeQueue.poll(1, TimeUnit.SECONDS);
-                if (line != null)
-                    writeLine(line);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                LogEntry remaining;
+                while ((remaining = writeQueue.poll()) != null)
+                    writeEntry(remaining);
+                flushBuffer();
             } catch (Throwable t) {
-                consoleLogger.error("Writer crashed: {}", t.getMessage(), t);
+                consoleLogger.error("Flush error: {}", t.getMessage(), t);
             }
+            closeChannel();
+        }
+    }
+
+    private void writeEntry(LogEntry entry) throws IOException {
+        encodeLine(entry.line());
+        if (consoleSink != null)
+            consoleSink.append(entry.level(), entry.tag(), entry.line(), entry.error());
+    }
+
+    /** Encode one line plus separator into the write buffer, writing it out whenever it fills. */
+    private void encodeLine(String line) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, writeBuffer, true);
+            if (result.isOverflow()) {
+                flushBuffer();
+                continue;
+            }
+            break;
+        }
+        if (writeBuffer.remaining() < LINE_SEPARATOR.length)
+            flushBuffer();
+        writeBuffer.put(LINE_SEPARATOR);
+    }
+
+    /** Write all buffered bytes to the current channel and print batched console lines. */
+    private void flushBuffer() throws IOException {
+        if (consoleSink != null)
+            consoleSink.flush();
+        if (currentChannel == null && (currentLogPath == null || !reopenLogFile())) {
+            writeBuffer.clear();
+            return;
         }
+        writeBuffer.flip();
         try {
-            String remaining;
-            while ((remaining = writeQueue.poll()) != null)
-                writeLine(remaining);
-        } catch (Throwable t) {
-            consoleLogger.error("Flush error: {}", t.getMessage(), t);
+            while (writeBuffer.hasRemaining())
+                currentFileBytes.addAndGet(currentChannel.write(writeBuffer));
         } finally {
-            closeQuietly();
+            writeBuffer.clear();
         }
     }
 
-    private synchronized void writeLine(String line) {
+    /**
+     * Rotate on size or age. Only the rename of the live file and opening a
+     * fresh channel happen here; archiving runs on {@link LogFileArchiver}.
+     */
+    private void rotateIfNeeded() throws IOException {
+        if (currentChannel == null)
+            return;
+        long now = System.currentTimeMillis();
+        if (currentFileBytes.get() < config.maxBytesPerFile && now < nextTimedRotationMillis)
+            return;
+        if (now < nextRotationRetryMillis)
+            return;
+        if (currentFileBytes.get() == 0) {
+            // Nothing written since the last rotation; just restart the clock
+            resetRotationTimer(now);
+            return;
+        }
+        // Never leave a closed channel installed, whatever fails below
+        FileChannel rotated = currentChannel;
+        currentChannel = null;
+        rotated.close();
+        Path pending = archiver.pendingPath(now);
         try {
-            currentWriter.write(line);
-            currentWriter.newLine();
-            currentWriter.flush();
-            currentFileBytes.addAndGet(line.getBytes().length + System.lineSeparator().getBytes().length);
-            rotateIfNeeded();
+            Files.move(currentLogPath, pending, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException ex) {
-            consoleLogger.error("Write failed: {}", ex.getMessage(), ex);
+            // Locked file (Windows) or no atomic rename: keep appending to the live file
+            consoleLogger.warn("Log rotation failed, continuing in {}: {}", currentLogPath, ex.getMessage());
+            nextRotationRetryMillis = now + FILE_RETRY_MILLIS;
+            pending = null;
         }
+        reopenLogFile();
+        if (pending != null)
+            archiver.archive(pending);
     }
 
-    private void rotateIfNeeded() throws IOException {
-        if (currentFileBytes.get() < config.maxBytesPerFile)
-            return;
-        currentWriter.close();
-        for (int i = config.maxBackupFiles - 1; i >= 0; i--) {
-            Path from = config.logDirectory.resolve(config.logFileBaseName + (i == 0 ? ".log" : "." + i + ".log"));
-            Path to = config.logDirectory.resolve(config.logFileBaseName + "." + (i + 1) + ".log");
-            if (Files.exists(from))
-                Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Open the live log file again after rotation or an earlier failure. On
+     * failure lines are dropped and the open is retried on a later flush.
+     */
+    private boolean reopenLogFile() {
+        long now = System.currentTimeMillis();
+        if (now < nextReopenRetryMillis)
+            return false;
+        try {
+            openNewLogFile();
+            return true;
+        } catch (IOException ex) {
+            currentChannel = null;
+            nextReopenRetryMillis = now + FILE_RETRY_MILLIS;
+            consoleLogger.error("Failed to reopen log file {}: {}", currentLogPath, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void resetRotationTimer(long now) {
+        if (config.rotationInterval != null)
+            nextTimedRotationMillis = now + config.rotationInterval.toMillis();
+    }
+
+    private void closeChannel() {
+        try {
+            if (currentChannel != null && currentChannel.isOpen())
+                currentChannel.close();
+        } catch (IOException ignored) {
         }
-        openNewLogFile();
     }
 
     // -------------------- Telemetry --------------------
-    public void incrementCounter(String key) {
-        counters.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+    /** Messages discarded because the queue was full. */
+    public long getDroppedMessages() {
+        return writeQueue.droppedCount();
+    }
+
+    /** Console DEBUG/TRACE lines skipped by sampling. */
+    public long getConsoleSampledOut() {
+        return consoleSink != null ? consoleSink.getSampledOut() : 0;
     }
 
-    public long getCounter(String key) {
-        AtomicLong v = counters.get(key);
-        return v == null ? 0 : v.get();
+    /** Threshold above which {@link TimedOperation} logs an operation. */
+    public long getSlowOperationThresholdNanos() {
+        return slowOperationThresholdNanos;
+    }
+
+    /** Approximate number of messages waiting for the writer. */
+    public int getQueuedMessages() {
+        return writeQueue.size();
     }
 
     public void infoLazy(String tag, Supplier<String> msgSupplier, LogContext ctx) {
-        info(tag, msgSupplier.get(), ctx);
+        if (isEnabled(LogLevel.INFO, tag))
+            info(tag, msgSupplier.get(), ctx);
     }
 
     // -------------------- Shutdown --------------------
     private void closeQuietly() {
+        // Queue the last suppression summaries while the writer still runs
+        throttle.sweep();
+        // The writer drains the queue and closes the channel once it sees this
+        running = false;
+        LockSupport.unpark(writerThread);
         try {
             writerExecutor.shutdown();
-            writerExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            if (!writerExecutor.awaitTermination(5, TimeUnit.SECONDS))
+                writerExecutor.shutdownNow();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
-        try {
-            if (currentWriter != null)
-                currentWriter.close();
-        } catch (IOException ignored) {
-        }
+        archiver.close();
     }
 
     @Override
@@ -285,14 +494,24 @@ public final class LoggerManager implements Closeable {
 
     // -------------------- Configuration --------------------
     public void setUseColors(boolean val) {
-        this.useColors = val;
+        if (consoleSink != null)
+            consoleSink.setUseColors(val);
     }
 
     public void setGlobalLevel(LogLevel lvl) {
         this.globalLevel = lvl;
+        recomputeMinEnabledPriority();
     }
 
     public void setCategoryLevel(String cat, LogLevel lvl) {
         categoryLevels.put(cat, lvl);
+        recomputeMinEnabledPriority();
+    }
+
+    private synchronized void recomputeMinEnabledPriority() {
+        int min = globalLevel.getPriority();
+        for (LogLevel l : categoryLevels.values())
+            min = Math.min(min, l.getPriority());
+        minEnabledPriority = min;
     }
 }
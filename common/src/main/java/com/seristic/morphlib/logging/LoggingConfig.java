@@ -1,10 +1,36 @@
 package com.seristic.morphlib.logging;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 
 public final class LoggingConfig {
+
+    /** What producers do when the log queue is full. */
+    public enum OverflowPolicy {
+        /** Discard the message being logged. */
+        DROP_NEWEST,
+        /** Evict the oldest queued message to make room. */
+        DROP_OLDEST,
+        /** Wait for the writer to free space. */
+        BLOCK
+    }
+
+    /** Compression applied to rotated log files. */
+    public enum ArchiveCompression {
+        NONE(""),
+        GZIP(".gz");
+
+        public final String extension;
+
+        ArchiveCompression(String extension) {
+            this.extension = extension;
+        }
+    }
+
     public final Path logDirectory;
     public final String logFileBaseName;
     public final long maxBytesPerFile;
@@ -14,27 +40,233 @@ public final class LoggingConfig {
     public final DateTimeFormatter dateTimeFormatter;
     public final ZoneId zoneId;
 
+    // Group-commit file writer
+    public final long flushIntervalMillis;
+    public final int maxBatchSize;
+    public final int writeBufferBytes;
+
+    // Log queue
+    public final int queueCapacity;
+    public final OverflowPolicy overflowPolicy;
+
+    // Console sink: print 1 in N DEBUG/TRACE lines (1 = all)
+    public final int consoleDebugSampleRate;
+    public final Map<String, Integer> consoleCategorySampleRates;
+
+    // Rotation: size-based always, time-based when rotationInterval is set
+    public final Duration rotationInterval;
+    public final ArchiveCompression archiveCompression;
+
+    // Token-bucket throttling of repeated messages, keyed by (category, template)
+    public final LoggerManager.LogLevel throttleMinLevel;
+    public final int throttleBurst;
+    public final double throttleRatePerSecond;
+    public final long throttleSummaryIntervalMillis;
+
+    // TimedOperation logs only operations slower than this
+    public final long slowOperationThresholdMillis;
+
     public LoggingConfig(Path logDirectory, String logFileBaseName, long maxBytesPerFile, int maxBackupFiles,
             boolean jsonFormat, boolean consoleEnabled, DateTimeFormatter dateTimeFormatter, ZoneId zoneId) {
-        this.logDirectory = logDirectory;
-        this.logFileBaseName = logFileBaseName;
-        this.maxBytesPerFile = maxBytesPerFile;
-        this.maxBackupFiles = maxBackupFiles;
-        this.jsonFormat = jsonFormat;
-        this.consoleEnabled = consoleEnabled;
-        this.dateTimeFormatter = dateTimeFormatter;
-        this.zoneId = zoneId;
+        this(builder()
+                .logDirectory(logDirectory)
+                .logFileBaseName(logFileBaseName)
+                .maxBytesPerFile(maxBytesPerFile)
+                .maxBackupFiles(maxBackupFiles)
+                .jsonFormat(jsonFormat)
+                .consoleEnabled(consoleEnabled)
+                .dateTimeFormatter(dateTimeFormatter)
+                .zoneId(zoneId));
+    }
+
+    private LoggingConfig(Builder b) {
+        this.logDirectory = b.logDirectory;
+        this.logFileBaseName = b.logFileBaseName;
+        this.maxBytesPerFile = b.maxBytesPerFile;
+        this.maxBackupFiles = b.maxBackupFiles;
+        this.jsonFormat = b.jsonFormat;
+        this.consoleEnabled = b.consoleEnabled;
+        this.dateTimeFormatter = b.dateTimeFormatter;
+        this.zoneId = b.zoneId;
+        this.flushIntervalMillis = b.flushIntervalMillis;
+        this.maxBatchSize = b.maxBatchSize;
+        this.writeBufferBytes = b.writeBufferBytes;
+        this.queueCapacity = b.queueCapacity;
+        this.overflowPolicy = b.overflowPolicy;
+        this.consoleDebugSampleRate = b.consoleDebugSampleRate;
+        this.consoleCategorySampleRates = Map.copyOf(b.consoleCategorySampleRates);
+        this.rotationInterval = b.rotationInterval;
+        this.archiveCompression = b.archiveCompression;
+        this.throttleMinLevel = b.throttleMinLevel;
+        this.throttleBurst = b.throttleBurst;
+        this.throttleRatePerSecond = b.throttleRatePerSecond;
+        this.throttleSummaryIntervalMillis = b.throttleSummaryIntervalMillis;
+        this.slowOperationThresholdMillis = b.slowOperationThresholdMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     public static LoggingConfig defaultConfig() {
-        return new LoggingConfig(
-                Path.of("logs"),
-                "homestead",
-                5 * 1024 * 1024L, // 5 MB
-                5,
-                false,
-                true,
-                DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"),
-                ZoneId.systemDefault());
+        return builder().build();
+    }
+
+    public static final class Builder {
+        private Path logDirectory = Path.of("logs");
+        private String logFileBaseName = "morphlib";
+        private long maxBytesPerFile = 5 * 1024 * 1024L; // 5 MB
+        private int maxBackupFiles = 5;
+        private boolean jsonFormat = false;
+        private boolean consoleEnabled = true;
+        private DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+        private ZoneId zoneId = ZoneId.systemDefault();
+        private long flushIntervalMillis = 250;
+        private int maxBatchSize = 512;
+        private int writeBufferBytes = 64 * 1024;
+        private int queueCapacity = 16_384;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        private int consoleDebugSampleRate = 1;
+        private final Map<String, Integer> consoleCategorySampleRates = new HashMap<>();
+        private Duration rotationInterval = null;
+        private ArchiveCompression archiveCompression = ArchiveCompression.NONE;
+        private LoggerManager.LogLevel throttleMinLevel = LoggerManager.LogLevel.WARN;
+        private int throttleBurst = 20;
+        private double throttleRatePerSecond = 2.0;
+        private long throttleSummaryIntervalMillis = 10_000;
+        private long slowOperationThresholdMillis = 50;
+
+        public Builder logDirectory(Path logDirectory) {
+            this.logDirectory = logDirectory;
+            return this;
+        }
+
+        public Builder logFileBaseName(String logFileBaseName) {
+            this.logFileBaseName = logFileBaseName;
+            return this;
+        }
+
+        public Builder maxBytesPerFile(long maxBytesPerFile) {
+            this.maxBytesPerFile = maxBytesPerFile;
+            return this;
+        }
+
+        public Builder maxBackupFiles(int maxBackupFiles) {
+            this.maxBackupFiles = maxBackupFiles;
+            return this;
+        }
+
+        public Builder jsonFormat(boolean jsonFormat) {
+            this.jsonFormat = jsonFormat;
+            return this;
+        }
+
+        public Builder consoleEnabled(boolean consoleEnabled) {
+            this.consoleEnabled = consoleEnabled;
+            return this;
+        }
+
+        public Builder dateTimeFormatter(DateTimeFormatter dateTimeFormatter) {
+            this.dateTimeFormatter = dateTimeFormatter;
+            return this;
+        }
+
+        public Builder zoneId(ZoneId zoneId) {
+            this.zoneId = zoneId;
+            return this;
+        }
+
+        /** Longest time written lines may stay buffered during a continuous stream of logs. */
+        public Builder flushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return this;
+        }
+
+        /** Maximum number of lines drained from the queue and written per batch. */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /** Size of the reusable direct buffer lines are encoded into. */
+        public Builder writeBufferBytes(int writeBufferBytes) {
+            this.writeBufferBytes = writeBufferBytes;
+            return this;
+        }
+
+        /** Queue capacity, rounded up to a power of two. */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /** Print only 1 in N DEBUG/TRACE lines to the console (file output is unaffected). */
+        public Builder consoleDebugSampleRate(int everyN) {
+            this.consoleDebugSampleRate = everyN;
+            return this;
+        }
+
+        /** Per-category override of {@link #consoleDebugSampleRate}. */
+        public Builder consoleSampleRate(String category, int everyN) {
+            this.consoleCategorySampleRates.put(category, everyN);
+            return this;
+        }
+
+        /** Also rotate once the live file is this old (null disables time-based rotation). */
+        public Builder rotationInterval(Duration rotationInterval) {
+            this.rotationInterval = rotationInterval;
+            return this;
+        }
+
+        public Builder archiveCompression(ArchiveCompression archiveCompression) {
+            this.archiveCompression = archiveCompression;
+            return this;
+        }
+
+        /**
+         * Throttle messages at or above a level: each (category, template) may
+         * log {@code burst} messages at once, refilled at {@code perSecond}.
+         */
+        public Builder throttle(LoggerManager.LogLevel minLevel, int burst, double perSecond) {
+            this.throttleMinLevel = minLevel;
+            this.throttleBurst = burst;
+            this.throttleRatePerSecond = perSecond;
+            return this;
+        }
+
+        /** How often pending "suppressed N similar messages" summaries are written. */
+        public Builder throttleSummaryIntervalMillis(long throttleSummaryIntervalMillis) {
+            this.throttleSummaryIntervalMillis = throttleSummaryIntervalMillis;
+            return this;
+        }
+
+        /** Timed operations at least this slow are logged; all are recorded in their histogram. */
+        public Builder slowOperationThresholdMillis(long slowOperationThresholdMillis) {
+            this.slowOperationThresholdMillis = slowOperationThresholdMillis;
+            return this;
+        }
+
+        public LoggingConfig build() {
+            if (flushIntervalMillis <= 0 || maxBatchSize <= 0 || writeBufferBytes < 1024)
+                throw new IllegalArgumentException("Invalid writer settings");
+            if (queueCapacity < 2 || overflowPolicy == null)
+                throw new IllegalArgumentException("Invalid queue settings");
+            if (consoleDebugSampleRate < 1 || consoleCategorySampleRates.values().stream().anyMatch(n -> n < 1))
+                throw new IllegalArgumentException("Console sample rates must be at least 1");
+            if ((rotationInterval != null && (rotationInterval.isNegative() || rotationInterval.isZero()))
+                    || archiveCompression == null)
+                throw new IllegalArgumentException("Invalid rotation settings");
+            if (throttleMinLevel == null || throttleBurst < 1 || throttleRatePerSecond <= 0
+                    || throttleSummaryIntervalMillis <= 0)
+                throw new IllegalArgumentException("Invalid throttle settings");
+            if (slowOperationThresholdMillis < 0)
+                throw new IllegalArgumentException("Slow operation threshold must not be negative");
+            return new LoggingConfig(this);
+        }
     }
 }
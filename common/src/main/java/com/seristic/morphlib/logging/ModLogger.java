@@ -1,12 +1,23 @@
 package com.seristic.morphlib.logging;
 
+import com.seristic.morphlib.logging.LoggerManager.LogLevel;
+import com.seristic.morphlib.metrics.Histogram;
+
+import java.util.function.Supplier;
+
 /**
  * Facade logger for easy use across mods.
  * Supports categories, timed operations, and default "general" logging.
+ *
+ * Messages that need building should use the {@code Supplier} or
+ * {@code {}}-placeholder overloads (or check {@link #isEnabled}), so nothing
+ * is formatted when the level is disabled.
  */
 public final class ModLogger {
 
     private static LoggerManager LOGGER;
+    // Throttle key shared by the plain string messages of a category
+    private static final String PLAIN_MESSAGES = "(plain messages)";
 
     private ModLogger() {
     }
@@ -17,33 +28,176 @@ public final class ModLogger {
         LOGGER = LoggerManager.get();
     }
 
+    /**
+     * Fast check whether a level is enabled for a category. Disabled levels
+     * below every configured level cost a single volatile read.
+     */
+    public static boolean isEnabled(LogLevel level, String category) {
+        return LOGGER.isEnabled(level, category);
+    }
+
     // -------------------- Simple logs --------------------
     public static void trace(String category, String message) {
-        LOGGER.trace(category, message, LogContext.empty());
+        log(LogLevel.TRACE, category, message, null);
     }
 
     public static void debug(String category, String message) {
-        LOGGER.debug(category, message, LogContext.empty());
+        log(LogLevel.DEBUG, category, message, null);
     }
 
     public static void info(String category, String message) {
-        LOGGER.info(category, message, LogContext.empty());
+        log(LogLevel.INFO, category, message, null);
     }
 
     public static void warn(String category, String message) {
-        LOGGER.warn(category, message, LogContext.empty());
+        log(LogLevel.WARN, category, message, null);
     }
 
     public static void error(String category, String message) {
-        LOGGER.error(category, message, LogContext.empty());
+        log(LogLevel.ERROR, category, message, null);
     }
 
     public static void fatal(String category, String message) {
-        LOGGER.fatal(category, message, LogContext.empty());
+        log(LogLevel.FATAL, category, message, null);
     }
 
     public static void error(String category, String message, Throwable t) {
-        LOGGER.error(category, message, LogContext.empty(), t);
+        log(LogLevel.ERROR, category, message, t);
+    }
+
+    // -------------------- Lazy / parameterized logs --------------------
+    // Formatting only happens after the level and throttle checks.
+    // Placeholders are "{}"; the template is the throttle key. Plain string
+    // messages share one bucket per category (see PLAIN_MESSAGES).
+
+    public static void trace(String category, Supplier<String> message) {
+        if (admit(LogLevel.TRACE, category, message.getClass().getName()))
+            LOGGER.log(LogLevel.TRACE, category, message.get(), context(), null);
+    }
+
+    public static void trace(String category, String template, Object arg) {
+        if (admit(LogLevel.TRACE, category, template))
+            LOGGER.log(LogLevel.TRACE, category, format(template, 1, arg, null, null), context(), null);
+    }
+
+    public static void trace(String category, String template, Object arg1, Object arg2) {
+        if (admit(LogLevel.TRACE, category, template))
+            LOGGER.log(LogLevel.TRACE, category, format(template, 2, arg1, arg2, null), context(), null);
+    }
+
+    public static void trace(String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (admit(LogLevel.TRACE, category, template))
+            LOGGER.log(LogLevel.TRACE, category, format(template, 3, arg1, arg2, arg3), context(), null);
+    }
+
+    public static void debug(String category, Supplier<String> message) {
+        if (admit(LogLevel.DEBUG, category, message.getClass().getName()))
+            LOGGER.log(LogLevel.DEBUG, category, message.get(), context(), null);
+    }
+
+    public static void debug(String category, String template, Object arg) {
+        if (admit(LogLevel.DEBUG, category, template))
+            LOGGER.log(LogLevel.DEBUG, category, format(template, 1, arg, null, null), context(), null);
+    }
+
+    public static void debug(String category, String template, Object arg1, Object arg2) {
+        if (admit(LogLevel.DEBUG, category, template))
+            LOGGER.log(LogLevel.DEBUG, category, format(template, 2, arg1, arg2, null), context(), null);
+    }
+
+    public static void debug(String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (admit(LogLevel.DEBUG, category, template))
+            LOGGER.log(LogLevel.DEBUG, category, format(template, 3, arg1, arg2, arg3), context(), null);
+    }
+
+    public static void info(String category, Supplier<String> message) {
+        if (admit(LogLevel.INFO, category, message.getClass().getName()))
+            LOGGER.log(LogLevel.INFO, category, message.get(), context(), null);
+    }
+
+    public static void info(String category, String template, Object arg) {
+        if (admit(LogLevel.INFO, category, template))
+            LOGGER.log(LogLevel.INFO, category, format(template, 1, arg, null, null), context(), null);
+    }
+
+    public static void info(String category, String template, Object arg1, Object arg2) {
+        if (admit(LogLevel.INFO, category, template))
+            LOGGER.log(LogLevel.INFO, category, format(template, 2, arg1, arg2, null), context(), null);
+    }
+
+    public static void info(String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (admit(LogLevel.INFO, category, template))
+            LOGGER.log(LogLevel.INFO, category, format(template, 3, arg1, arg2, arg3), context(), null);
+    }
+
+    public static void warn(String category, Supplier<String> message) {
+        if (admit(LogLevel.WARN, category, message.getClass().getName()))
+            LOGGER.log(LogLevel.WARN, category, message.get(), context(), null);
+    }
+
+    public static void warn(String category, String template, Object arg) {
+        if (admit(LogLevel.WARN, category, template))
+            LOGGER.log(LogLevel.WARN, category, format(template, 1, arg, null, null), context(), null);
+    }
+
+    public static void warn(String category, String template, Object arg1, Object arg2) {
+        if (admit(LogLevel.WARN, category, template))
+            LOGGER.log(LogLevel.WARN, category, format(template, 2, arg1, arg2, null), context(), null);
+    }
+
+    public static void warn(String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (admit(LogLevel.WARN, category, template))
+            LOGGER.log(LogLevel.WARN, category, format(template, 3, arg1, arg2, arg3), context(), null);
+    }
+
+    public static void warn(String category, String template, Object arg, Throwable t) {
+        if (admit(LogLevel.WARN, category, template))
+            LOGGER.log(LogLevel.WARN, category, format(template, 1, arg, null, null), context(), t);
+    }
+
+    public static void error(String category, Supplier<String> message) {
+        if (admit(LogLevel.ERROR, category, message.getClass().getName()))
+            LOGGER.log(LogLevel.ERROR, category, message.get(), context(), null);
+    }
+
+    public static void error(String category, String template, Object arg) {
+        if (admit(LogLevel.ERROR, category, template))
+            LOGGER.log(LogLevel.ERROR, category, format(template, 1, arg, null, null), context(), null);
+    }
+
+    public static void error(String category, String template, Object arg1, Object arg2) {
+        if (admit(LogLevel.ERROR, category, template))
+            LOGGER.log(LogLevel.ERROR, category, format(template, 2, arg1, arg2, null), context(), null);
+    }
+
+    public static void error(String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (admit(LogLevel.ERROR, category, template))
+            LOGGER.log(LogLevel.ERROR, category, format(template, 3, arg1, arg2, arg3), context(), null);
+    }
+
+    public static void error(String category, String template, Object arg, Throwable t) {
+        if (admit(LogLevel.ERROR, category, template))
+            LOGGER.log(LogLevel.ERROR, category, format(template, 1, arg, null, null), context(), t);
+    }
+
+    public static void fatal(String category, Supplier<String> message) {
+        if (admit(LogLevel.FATAL, category, message.getClass().getName()))
+            LOGGER.log(LogLevel.FATAL, category, message.get(), context(), null);
+    }
+
+    public static void fatal(String category, String template, Object arg) {
+        if (admit(LogLevel.FATAL, category, template))
+            LOGGER.log(LogLevel.FATAL, category, format(template, 1, arg, null, null), context(), null);
+    }
+
+    public static void fatal(String category, String template, Object arg1, Object arg2) {
+        if (admit(LogLevel.FATAL, category, template))
+            LOGGER.log(LogLevel.FATAL, category, format(template, 2, arg1, arg2, null), context(), null);
+    }
+
+    public static void fatal(String category, String template, Object arg1, Object arg2, Object arg3) {
+        if (admit(LogLevel.FATAL, category, template))
+            LOGGER.log(LogLevel.FATAL, category, format(template, 3, arg1, arg2, arg3), context(), null);
     }
 
     // Convenience "general" category
@@ -84,12 +238,57 @@ public final class ModLogger {
         return TimedOperation.start(name, LOGGER, ctx);
     }
 
+    /** Time into a pre-registered histogram (no registry lookup). */
+    public static TimedOperation startTimed(Histogram histogram) {
+        return TimedOperation.start(histogram, LOGGER);
+    }
+
     // -------------------- Log level management --------------------
-    public static void setGlobalLevel(LoggerManager.LogLevel level) {
+    public static void setGlobalLevel(LogLevel level) {
         LOGGER.setGlobalLevel(level);
     }
 
-    public static void setCategoryLevel(String category, LoggerManager.LogLevel level) {
+    public static void setCategoryLevel(String category, LogLevel level) {
         LOGGER.setCategoryLevel(category, level);
     }
+
+    // -------------------- Internals --------------------
+    private static void log(LogLevel level, String category, String message, Throwable t) {
+        if (!LOGGER.isEnabled(level, category))
+            return;
+        // A pre-built message differs with every argument it embeds, so it is
+        // throttled by category alone: one map lookup, no per-message key
+        if (!LOGGER.tryAcquire(level, category, PLAIN_MESSAGES))
+            return;
+        LOGGER.log(level, category, message, context(), t);
+    }
+
+    /** Context of the active trace, so lines from one morph request share a correlation id. */
+    private static LogContext context() {
+        return TraceContext.currentLogContext();
+    }
+
+    /** Level check, then the repeated-message throttle keyed by (category, template). */
+    private static boolean admit(LogLevel level, String category, String template) {
+        return LOGGER.isEnabled(level, category) && LOGGER.tryAcquire(level, category, template);
+    }
+
+    /**
+     * Replace up to {@code argCount} "{}" placeholders in order. Extra
+     * placeholders are left as-is, extra arguments are ignored.
+     */
+    static String format(String template, int argCount, Object arg1, Object arg2, Object arg3) {
+        StringBuilder sb = new StringBuilder(template.length() + 32);
+        int from = 0;
+        for (int i = 0; i < argCount; i++) {
+            int at = template.indexOf("{}", from);
+            if (at < 0)
+                break;
+            sb.append(template, from, at);
+            sb.append(i == 0 ? arg1 : i == 1 ? arg2 : arg3);
+            from = at + 2;
+        }
+        sb.append(template, from, template.length());
+        return sb.toString();
+    }
 }
@@ -1,46 +1,96 @@
 package com.seristic.morphlib.logging;
 
+import com.seristic.morphlib.metrics.Histogram;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Helper to time operations. Use try-with-resources or manual start/stop.
+ * Times an operation with {@link System#nanoTime()} and records the result in
+ * a latency histogram. Nothing is logged unless the operation exceeds the
+ * slow threshold ({@link LoggingConfig#slowOperationThresholdMillis}), so it
+ * is cheap enough to leave around hot code permanently.
+ *
+ * Use try-with-resources or manual start/stop. Pass a pre-registered
+ * histogram (see {@code MorphMetrics}) on hot paths; the name-only factories
+ * resolve the histogram once per name and cache it.
  */
 public final class TimedOperation implements AutoCloseable {
+    // Operation name -> its histogram, so name-based timing skips the concat and registry lookup
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
     private final String name;
-    private final Instant start;
+    private final Histogram histogram;
     private final LoggerManager logger;
     private final LogContext context;
+    private final long slowThresholdNanos;
+    private final long startNanos;
 
     private boolean closed = false;
 
-    public TimedOperation(String name, LoggerManager logger, LogContext context) {
+    public TimedOperation(String name, Histogram histogram, LoggerManager logger, LogContext context,
+            long slowThresholdNanos) {
         this.name = name;
+        this.histogram = histogram;
         this.logger = logger;
-        this.context = context == null ? LogContext.empty() : context;
-        this.start = Instant.now();
-        logger.debug("timed.start", "Starting timed operation: " + name, this.context);
+        this.context = context == null ? TraceContext.currentLogContext() : context;
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.startNanos = System.nanoTime();
+    }
+
+    public TimedOperation(String name, LoggerManager logger, LogContext context) {
+        this(name, histogramFor(name), logger, context, logger.getSlowOperationThresholdNanos());
+    }
+
+    /** The "timed.&lt;name&gt;" histogram; after the first call one map lookup, no allocation. */
+    private static Histogram histogramFor(String name) {
+        Histogram histogram = HISTOGRAMS.get(name);
+        if (histogram == null)
+            histogram = HISTOGRAMS.computeIfAbsent(name,
+                    n -> MetricsRegistry.getInstance().histogram("timed." + n));
+        return histogram;
     }
 
     public static TimedOperation start(String name, LoggerManager logger) {
-        return new TimedOperation(name, logger, LogContext.empty());
+        return new TimedOperation(name, logger, null);
     }
 
     public static TimedOperation start(String name, LoggerManager logger, LogContext context) {
         return new TimedOperation(name, logger, context);
     }
 
-    public Duration stop() {
+    public static TimedOperation start(Histogram histogram, LoggerManager logger) {
+        return new TimedOperation(histogram.name(), histogram, logger, null,
+                logger.getSlowOperationThresholdNanos());
+    }
+
+    /**
+     * Stop timing and record the elapsed time. Only the first call records.
+     *
+     * @return elapsed nanoseconds, or 0 if already stopped
+     */
+    public long stopNanos() {
         if (closed)
-            return Duration.ZERO;
+            return 0;
         closed = true;
-        Duration dur = Duration.between(start, Instant.now());
-        logger.info("timed.stop", String.format("Operation %s finished in %d ms", name, dur.toMillis()), context);
-        return dur;
+        long elapsed = System.nanoTime() - startNanos;
+        histogram.recordNanos(elapsed);
+        if (elapsed >= slowThresholdNanos && logger.isEnabled(LoggerManager.LogLevel.WARN, "timed.slow")
+                && logger.tryAcquire(LoggerManager.LogLevel.WARN, "timed.slow", name)) {
+            logger.warn("timed.slow", "🐢 Slow operation " + name + " took " + elapsed / 1_000_000 + " ms",
+                    context);
+        }
+        return elapsed;
+    }
+
+    public Duration stop() {
+        return Duration.ofNanos(stopNanos());
     }
 
     @Override
     public void close() {
-        stop();
+        stopNanos();
     }
 }
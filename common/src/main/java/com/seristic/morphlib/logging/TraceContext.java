@@ -0,0 +1,103 @@
+package com.seristic.morphlib.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lightweight trace carried through one morph request: server apply, sync
+ * packet and client apply. A trace is a 64-bit id plus the wall-clock time
+ * it started, small enough to ride inside packets.
+ *
+ * The active trace is thread-local; while one is active, {@link ModLogger}
+ * tags every line with its id as the correlation id. Start times use
+ * {@link System#currentTimeMillis()} so they survive the network hop; on a
+ * dedicated server the measured latency includes any clock skew.
+ */
+public final class TraceContext {
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong NEXT_ID = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
+    private final long traceId;
+    private final long startMillis;
+    private LogContext logContext;
+
+    private TraceContext(long traceId, long startMillis) {
+        this.traceId = traceId;
+        this.startMillis = startMillis;
+    }
+
+    /** Active trace on this thread, or null. */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /** Active trace on this thread, or a fresh one (not made active). */
+    public static TraceContext currentOrNew() {
+        TraceContext current = CURRENT.get();
+        return current != null ? current : new TraceContext(NEXT_ID.getAndIncrement(), System.currentTimeMillis());
+    }
+
+    /**
+     * Start a trace on this thread, or join the active one. Close the scope
+     * to restore the previous state.
+     */
+    public static Scope begin() {
+        return activate(currentOrNew());
+    }
+
+    /** Continue a trace received from elsewhere (e.g. a packet). */
+    public static Scope resume(long traceId, long startMillis) {
+        return activate(new TraceContext(traceId, startMillis));
+    }
+
+    /** Log context of the active trace, or {@link LogContext#EMPTY}. */
+    public static LogContext currentLogContext() {
+        TraceContext current = CURRENT.get();
+        return current != null ? current.logContext() : LogContext.EMPTY;
+    }
+
+    private static Scope activate(TraceContext trace) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(trace);
+        return scope;
+    }
+
+    public long traceId() {
+        return traceId;
+    }
+
+    public long startMillis() {
+        return startMillis;
+    }
+
+    public long elapsedMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    /** Correlation context for this trace, built once. */
+    public LogContext logContext() {
+        LogContext ctx = logContext;
+        if (ctx == null) {
+            ctx = LogContext.builder().withCorrelationId(Long.toHexString(traceId)).build();
+            logContext = ctx;
+        }
+        return ctx;
+    }
+
+    /** Restores the previously active trace when closed. */
+    public static final class Scope implements AutoCloseable {
+        private final TraceContext previous;
+
+        private Scope(TraceContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.seristic.morphlib.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter backed by a {@link LongAdder}, so concurrent increments
+ * from render, network and server threads do not contend.
+ */
+public final class Counter implements Metric {
+    private final String name;
+    private final LongAdder adder = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long amount) {
+        adder.add(amount);
+    }
+
+    public long sum() {
+        return adder.sum();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void describeTo(StringBuilder sb) {
+        sb.append(sum());
+    }
+}
@@ -0,0 +1,30 @@
+package com.seristic.morphlib.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Point-in-time value read on demand (queue depth, cache size...).
+ */
+public final class Gauge implements Metric {
+    private final String name;
+    private final LongSupplier supplier;
+
+    Gauge(String name, LongSupplier supplier) {
+        this.name = name;
+        this.supplier = supplier;
+    }
+
+    public long value() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void describeTo(StringBuilder sb) {
+        sb.append(value());
+    }
+}
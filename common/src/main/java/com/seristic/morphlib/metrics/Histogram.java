@@ -0,0 +1,141 @@
+package com.seristic.morphlib.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * Values are nanoseconds. Each power of two is split into 32 linear
+ * sub-buckets, giving about 3% relative error from 1 ns up to ~1 hour in a
+ * fixed array of ~1200 counters. Recording is an index computation and one
+ * atomic increment; no allocation.
+ */
+public final class Histogram implements Metric {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values are clamped to 2^42 - 1 ns (~73 minutes)
+    private static final int MAX_VALUE_BITS = 42;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_VALUE_BITS - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /** Summary of the recorded values, all in nanoseconds. */
+    public record Snapshot(long count, long mean, long p50, long p90, long p99, long max) {
+    }
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /** Record the time elapsed since a {@link System#nanoTime()} reading. */
+    public void recordSince(long startNanos) {
+        recordNanos(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Snapshot of count, mean, percentiles and max. Not atomic with respect
+     * to concurrent recording, which is fine for monitoring.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0)
+            return new Snapshot(0, 0, 0, 0, 0, 0);
+        return new Snapshot(n, total.sum() / Math.max(1, count.sum()),
+                percentile(counts, n, 0.50), percentile(counts, n, 0.90), percentile(counts, n, 0.99), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            buckets.set(i, 0);
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void describeTo(StringBuilder sb) {
+        Snapshot s = snapshot();
+        sb.append("count=").append(s.count());
+        if (s.count() == 0)
+            return;
+        sb.append(" mean=");
+        appendMillis(sb, s.mean());
+        sb.append(" p50=");
+        appendMillis(sb, s.p50());
+        sb.append(" p90=");
+        appendMillis(sb, s.p90());
+        sb.append(" p99=");
+        appendMillis(sb, s.p99());
+        sb.append(" max=");
+        appendMillis(sb, s.max());
+    }
+
+    private static long percentile(long[] counts, long n, double p) {
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return midpointOf(i);
+        }
+        return midpointOf(counts.length - 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    static long midpointOf(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long lowest = (long) (SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+        return lowest + ((1L << shift) >>> 1);
+    }
+
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        // Three decimals: microsecond resolution is plenty for tick/frame work
+        long micros = nanos / 1_000;
+        sb.append(micros / 1_000).append('.');
+        long frac = micros % 1_000;
+        if (frac < 100)
+            sb.append('0');
+        if (frac < 10)
+            sb.append('0');
+        sb.append(frac).append("ms");
+    }
+}
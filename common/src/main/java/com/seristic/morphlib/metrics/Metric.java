@@ -0,0 +1,12 @@
+package com.seristic.morphlib.metrics;
+
+/**
+ * A named value held by the {@link MetricsRegistry}.
+ */
+public interface Metric {
+
+    String name();
+
+    /** Append a one-line, human readable summary of the current value. */
+    void describeTo(StringBuilder sb);
+}
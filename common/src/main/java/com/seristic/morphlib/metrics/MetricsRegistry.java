@@ -0,0 +1,107 @@
+package com.seristic.morphlib.metrics;
+
+import com.seristic.morphlib.logging.ModLogger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, histograms and gauges.
+ *
+ * Look a metric up once and keep the handle (see {@link MorphMetrics});
+ * recording through a handle never touches the registry map. Snapshots list
+ * metrics sorted by name and can be logged periodically.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final ConcurrentSkipListMap<String, Metric> metrics = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> periodicSnapshot;
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Counter counter(String name) {
+        return register(name, Counter.class, Counter::new);
+    }
+
+    public Histogram histogram(String name) {
+        return register(name, Histogram.class, Histogram::new);
+    }
+
+    /**
+     * Register a gauge sampled at snapshot time. Subsystems register their own
+     * gauges when they are created, so this package depends on none of them.
+     */
+    public Gauge gauge(String name, LongSupplier supplier) {
+        return register(name, Gauge.class, n -> new Gauge(n, supplier));
+    }
+
+    /** Existing metric, or a new one; lookups of existing metrics allocate nothing. */
+    private <M extends Metric> M register(String name, Class<M> type, Function<String, M> factory) {
+        Metric existing = metrics.get(name);
+        if (existing == null)
+            existing = metrics.computeIfAbsent(name, factory);
+        if (!type.isInstance(existing))
+            throw new IllegalArgumentException("Metric '" + name + "' is already registered as "
+                    + existing.getClass().getSimpleName());
+        return type.cast(existing);
+    }
+
+    /**
+     * One "name: value" line per metric, sorted by name.
+     */
+    public List<String> snapshotLines() {
+        List<String> lines = new ArrayList<>(metrics.size());
+        StringBuilder sb = new StringBuilder(128);
+        for (Metric metric : metrics.values()) {
+            sb.setLength(0);
+            sb.append(metric.name()).append(": ");
+            metric.describeTo(sb);
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    /** Write the current snapshot to the mod log. */
+    public void logSnapshot() {
+        ModLogger.info("Metrics", () -> "📊 Metrics snapshot:\n  " + String.join("\n  ", snapshotLines()));
+    }
+
+    /**
+     * Log a snapshot every {@code interval} on a daemon thread, replacing any
+     * previous schedule.
+     */
+    public synchronized void startPeriodicSnapshot(Duration interval) {
+        stopPeriodicSnapshot();
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "morphlib-metrics");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        long millis = interval.toMillis();
+        periodicSnapshot = scheduler.scheduleAtFixedRate(this::logSnapshot, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopPeriodicSnapshot() {
+        if (periodicSnapshot != null) {
+            periodicSnapshot.cancel(false);
+            periodicSnapshot = null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.seristic.morphlib.metrics;
+
+/**
+ * Pre-registered MorphLib metrics. Hot paths use these handles directly.
+ * Gauges are registered by the subsystems they sample.
+ */
+public final class MorphMetrics {
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+    // Morph lifecycle
+    public static final Counter MORPH_APPLIES = REGISTRY.counter("morph.applies");
+    public static final Counter MORPH_REMOVALS = REGISTRY.counter("morph.removals");
+
+    // Networking
+    public static final Counter SYNC_PACKETS_SENT = REGISTRY.counter("network.sync_packets_sent");
+    public static final Counter SYNC_BYTES_SENT = REGISTRY.counter("network.sync_bytes_sent");
+    // Trace start on the server to morph applied on the client
+    public static final Histogram MORPH_PROPAGATION_TIME = REGISTRY.histogram("network.morph_propagation");
+
+    // Caches
+    public static final Counter MORPH_CACHE_HITS = REGISTRY.counter("cache.morph_state.hits");
+    public static final Counter MORPH_CACHE_MISSES = REGISTRY.counter("cache.morph_state.misses");
+    public static final Counter CHEST_MESH_HITS = REGISTRY.counter("cache.chest_mesh.hits");
+    public static final Counter CHEST_MESH_MISSES = REGISTRY.counter("cache.chest_mesh.misses");
+    public static final Counter RESTRICTION_VERDICT_HITS = REGISTRY.counter("cache.restriction_verdicts.hits");
+    public static final Counter RESTRICTION_VERDICT_MISSES = REGISTRY.counter("cache.restriction_verdicts.misses");
+
+    // Rendering
+    public static final Histogram RENDER_TRANSFORM_TIME = REGISTRY.histogram("render.transform_time");
+    // Morphed entities rendered at each MorphLodPolicy level
+    public static final Counter LOD_FULL = REGISTRY.counter("render.lod.full");
+    public static final Counter LOD_REDUCED = REGISTRY.counter("render.lod.reduced");
+    public static final Counter LOD_MINIMAL = REGISTRY.counter("render.lod.minimal");
+
+    // Datapack morph definitions
+    public static final Histogram DEFINITION_RELOAD_TIME = REGISTRY.histogram("datapack.morph_reload_time");
+    public static final Counter DEFINITION_ERRORS = REGISTRY.counter("datapack.morph_definition_errors");
+
+    // Player morph history persistence
+    public static final Counter HISTORY_LOADS = REGISTRY.counter("history.loads");
+    public static final Counter HISTORY_WRITES = REGISTRY.counter("history.writes");
+    public static final Counter HISTORY_IO_ERRORS = REGISTRY.counter("history.io_errors");
+    public static final Histogram HISTORY_FLUSH_TIME = REGISTRY.histogram("history.flush_time");
+    // First unsaved change to written
+    public static final Histogram HISTORY_WRITE_LATENCY = REGISTRY.histogram("history.write_latency");
+
+    // Morph pipeline
+    public static final Counter PIPELINE_APPLIED = REGISTRY.counter("pipeline.applied");
+    // Invalid, restricted or cancelled
+    public static final Counter PIPELINE_REFUSED = REGISTRY.counter("pipeline.refused");
+    public static final Counter PIPELINE_REJECTED = REGISTRY.counter("pipeline.rejected");
+    // Submitted to processed
+    public static final Histogram PIPELINE_QUEUE_WAIT = REGISTRY.histogram("pipeline.queue_wait");
+    public static final Histogram PIPELINE_BATCH_TIME = REGISTRY.histogram("pipeline.batch_time");
+
+    // Timed operations (see TimedOperation)
+    public static final Histogram MORPH_APPLY_TIME = REGISTRY.histogram("timed.morph_apply");
+    public static final Histogram STACK_COMBINE_TIME = REGISTRY.histogram("timed.stack_combine");
+    public static final Histogram PACKET_ENCODE_TIME = REGISTRY.histogram("timed.packet_encode");
+
+    private MorphMetrics() {
+    }
+
+    /** Make sure the handles above are registered before a snapshot is taken. */
+    public static void init() {
+        // Class initialization does the work
+    }
+}
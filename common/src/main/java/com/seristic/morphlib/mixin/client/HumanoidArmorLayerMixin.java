@@ -0,0 +1,35 @@
+package com.seristic.morphlib.mixin.client;
+
+import com.seristic.morphlib.client.render.ActiveMorph;
+import com.seristic.morphlib.client.render.ArmorMorphTransformer;
+import com.seristic.morphlib.client.render.UniversalModelTransformer;
+import net.minecraft.client.model.HumanoidModel;
+import net.minecraft.client.renderer.entity.layers.HumanoidArmorLayer;
+import net.minecraft.world.entity.EquipmentSlot;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Scales armor pieces to follow the morphed body of the entity being rendered.
+ *
+ * Runs after the armor model has copied the parent model pose and set its
+ * slot visibility, right before the piece is drawn.
+ */
+@Mixin(HumanoidArmorLayer.class)
+public abstract class HumanoidArmorLayerMixin {
+
+    @Inject(method = "setPartVisibility", at = @At("TAIL"))
+    private void morphlib$applyArmorMorph(HumanoidModel<?> model, EquipmentSlot slot, CallbackInfo ci) {
+        ActiveMorph active = ActiveMorph.current();
+        if (active == null) {
+            return;
+        }
+        if (active.armor != null) {
+            ArmorMorphTransformer.apply(model, slot, active.armor);
+        } else if (active.uniformScale != 1.0f) {
+            UniversalModelTransformer.applyUniformScale(model, active.uniformScale);
+        }
+    }
+}
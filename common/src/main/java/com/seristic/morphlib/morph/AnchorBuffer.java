@@ -0,0 +1,82 @@
+package com.seristic.morphlib.morph;
+
+/**
+ * Per-entity anchor positions computed from a {@link MorphState}.
+ *
+ * The buffer is recomputed only when the morph state instance or its
+ * {@link MorphState#getVersion() version} changes, or anchors were
+ * registered or replaced since. Reads are a single array access:
+ *
+ * <pre>
+ * AnchorBuffer anchors = morphData.getAnchors();
+ * float x = anchors.x(MorphAnchors.SHOULDER_LEFT);
+ * </pre>
+ *
+ * Not thread-safe; update and read from the same thread.
+ */
+public class AnchorBuffer {
+
+    private float[] data = new float[0];
+    private int anchorCount = 0;
+
+    // State the buffer was last computed from
+    private MorphState source = null;
+    private int sourceVersion = -1;
+    private int anchorsVersion = -1;
+
+    /**
+     * Recompute anchors if the state changed since the last update.
+     *
+     * @return this buffer, for chaining
+     */
+    public AnchorBuffer update(MorphState morphState) {
+        // Read before the anchors so a concurrent register() only causes one extra recompute
+        int anchors = MorphAnchors.version();
+        if (morphState == source && morphState.getVersion() == sourceVersion && anchors == anchorsVersion) {
+            return this;
+        }
+
+        int registered = MorphAnchors.count();
+        if (data.length < registered * MorphAnchors.STRIDE) {
+            data = new float[registered * MorphAnchors.STRIDE];
+        }
+
+        MorphAnchors.computeAll(morphState, data, registered);
+        anchorCount = registered;
+        anchorsVersion = anchors;
+        source = morphState;
+        sourceVersion = morphState.getVersion();
+        return this;
+    }
+
+    public float x(int anchorId) {
+        return data[anchorId * MorphAnchors.STRIDE];
+    }
+
+    public float y(int anchorId) {
+        return data[anchorId * MorphAnchors.STRIDE + 1];
+    }
+
+    public float z(int anchorId) {
+        return data[anchorId * MorphAnchors.STRIDE + 2];
+    }
+
+    public float scale(int anchorId) {
+        return data[anchorId * MorphAnchors.STRIDE + 3];
+    }
+
+    /**
+     * Raw backing array, {@link MorphAnchors#STRIDE} floats per anchor id.
+     * Do not modify.
+     */
+    public float[] data() {
+        return data;
+    }
+
+    /**
+     * Number of anchors currently computed.
+     */
+    public int size() {
+        return anchorCount;
+    }
+}
@@ -0,0 +1,163 @@
+package com.seristic.morphlib.morph;
+
+import java.util.Arrays;
+
+import com.seristic.morphlib.logging.ModLogger;
+
+/**
+ * Registry of anchor points used to attach accessories or clothing to a
+ * morphed body.
+ *
+ * Each anchor has a dense int id. Anchor positions are computed into an
+ * {@link AnchorBuffer} (x, y, z, scale per anchor) only when the morph state
+ * changes, so a lookup is a single array read.
+ *
+ * Built-in anchors are registered first; other mods can add their own with
+ * {@link #register(String, AnchorFunction)} during initialization.
+ */
+public class MorphAnchors {
+
+    /**
+     * Computes one anchor from a morph state.
+     */
+    @FunctionalInterface
+    public interface AnchorFunction {
+        /**
+         * Write x, y, z and scale into {@code out} starting at {@code offset}.
+         */
+        void compute(MorphState morphState, float[] out, int offset);
+    }
+
+    // Floats stored per anchor: x, y, z, scale
+    public static final int STRIDE = 4;
+
+    // Registered anchors (copy-on-write, read without locking)
+    private static volatile String[] names = new String[0];
+    private static volatile AnchorFunction[] functions = new AnchorFunction[0];
+
+    // Bumped by every register(), including replacements, after the arrays
+    private static volatile int version = 0;
+
+    // Built-in anchors
+    public static final int CHEST_LEFT = register("chest_left", (state, out, i) -> {
+        out[i] = -1.5f - state.getChestSpacing();
+        out[i + 1] = 10.5f;
+        out[i + 2] = -2.0f;
+        out[i + 3] = state.getChestScale();
+    });
+
+    public static final int CHEST_RIGHT = register("chest_right", (state, out, i) -> {
+        out[i] = 1.5f + state.getChestSpacing();
+        out[i + 1] = 10.5f;
+        out[i + 2] = -2.0f;
+        out[i + 3] = state.getChestScale();
+    });
+
+    public static final int SHOULDER_LEFT = register("shoulder_left", (state, out, i) -> {
+        out[i] = -5.0f * state.getShoulderWidth();
+        out[i + 1] = 12.0f;
+        out[i + 2] = 0.0f;
+        out[i + 3] = 1.0f;
+    });
+
+    public static final int SHOULDER_RIGHT = register("shoulder_right", (state, out, i) -> {
+        out[i] = 5.0f * state.getShoulderWidth();
+        out[i + 1] = 12.0f;
+        out[i + 2] = 0.0f;
+        out[i + 3] = 1.0f;
+    });
+
+    public static final int HIP_LEFT = register("hip_left", (state, out, i) -> {
+        out[i] = -1.9f * state.getHipWidth();
+        out[i + 1] = 0.0f;
+        out[i + 2] = 0.0f;
+        out[i + 3] = state.getHipWidth();
+    });
+
+    public static final int HIP_RIGHT = register("hip_right", (state, out, i) -> {
+        out[i] = 1.9f * state.getHipWidth();
+        out[i + 1] = 0.0f;
+        out[i + 2] = 0.0f;
+        out[i + 3] = state.getHipWidth();
+    });
+
+    /**
+     * Register an anchor and return its id. Registering an existing name
+     * replaces its function and keeps the id.
+     *
+     * Should be called during mod initialization; buffers created earlier are
+     * resized on their next update.
+     */
+    public static synchronized int register(String name, AnchorFunction function) {
+        if (name == null || function == null) {
+            throw new IllegalArgumentException("Anchor name and function must not be null");
+        }
+
+        int existing = getId(name);
+        if (existing >= 0) {
+            AnchorFunction[] updated = functions.clone();
+            updated[existing] = function;
+            functions = updated;
+            version++;
+            ModLogger.warn("MorphAnchors", "Replaced anchor: " + name);
+            return existing;
+        }
+
+        int id = names.length;
+        String[] newNames = Arrays.copyOf(names, id + 1);
+        AnchorFunction[] newFunctions = Arrays.copyOf(functions, id + 1);
+        newNames[id] = name;
+        newFunctions[id] = function;
+        functions = newFunctions;
+        names = newNames;
+        version++;
+        return id;
+    }
+
+    /**
+     * Get the id of an anchor by name, or -1 if not registered.
+     * Resolve once and keep the id; this is a linear search.
+     */
+    public static int getId(String name) {
+        String[] current = names;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the name of an anchor by id.
+     */
+    public static String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * Changes whenever an anchor is added or replaced; buffers computed at an
+     * older version are stale.
+     */
+    public static int version() {
+        return version;
+    }
+
+    /**
+     * Number of registered anchors.
+     */
+    public static int count() {
+        return names.length;
+    }
+
+    /**
+     * Compute every registered anchor into {@code out}, which must hold at
+     * least {@code count() * STRIDE} floats.
+     */
+    static void computeAll(MorphState morphState, float[] out, int anchorCount) {
+        AnchorFunction[] current = functions;
+        for (int id = 0; id < anchorCount; id++) {
+            current[id].compute(morphState, out, id * STRIDE);
+        }
+    }
+}
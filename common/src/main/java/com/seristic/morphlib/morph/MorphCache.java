@@ -5,6 +5,8 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.metrics.MorphMetrics;
 
 /**
  * Client-side cache for morph states with interpolation support.
@@ -20,6 +22,7 @@ public class MorphCache {
     private static final int TRANSITION_DURATION = 20;
 
     private MorphCache() {
+        MetricsRegistry.getInstance().gauge("cache.morph_state.entities", cachedStates::size);
     }
 
     public static MorphCache getInstance() {
@@ -36,7 +39,7 @@ public class MorphCache {
         // Only start transition if the state actually changed
         if (cached.targetState.hasChanged(newState)) {
             cached.startTransition(newState);
-            ModLogger.debug("Started morph transition for entity: " + entityId);
+            ModLogger.debug("MorphCache", "Started morph transition for entity: {}", entityId);
         }
     }
 
@@ -50,9 +53,11 @@ public class MorphCache {
     public MorphState getInterpolatedState(UUID entityId, float partialTicks) {
         CachedMorphState cached = cachedStates.get(entityId);
         if (cached == null) {
+            MorphMetrics.MORPH_CACHE_MISSES.increment();
             return new MorphState(); // Default morph state
         }
 
+        MorphMetrics.MORPH_CACHE_HITS.increment();
         return cached.getInterpolated(partialTicks);
     }
 
@@ -68,7 +73,14 @@ public class MorphCache {
      */
     public void removeEntity(UUID entityId) {
         cachedStates.remove(entityId);
-        ModLogger.debug("Removed morph cache for entity: " + entityId);
+        ModLogger.debug("MorphCache", "Removed morph cache for entity: {}", entityId);
+    }
+
+    /**
+     * Number of entities with cached morph state.
+     */
+    public int size() {
+        return cachedStates.size();
     }
 
     /**
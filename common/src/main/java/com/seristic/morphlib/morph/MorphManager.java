@@ -51,7 +51,7 @@ public class MorphManager {
         // Sync to clients if this is a player or visible entity
         syncToClients(entity, morphState);
 
-        ModLogger.debug("Updated morph state for entity: " + entityId);
+        ModLogger.debug("MorphManager", "Updated morph state for entity: {}", entityId);
     }
 
     /**
@@ -72,7 +72,7 @@ public class MorphManager {
     public void removeEntity(UUID entityId) {
         entityMorphStates.remove(entityId);
         lastSyncedHashes.remove(entityId);
-        ModLogger.debug("Removed morph state for entity: " + entityId);
+        ModLogger.debug("MorphManager", "Removed morph state for entity: {}", entityId);
     }
 
     /**
@@ -88,7 +88,7 @@ public class MorphManager {
 
         // Find the entity and update
         // TODO: This would need platform-specific entity lookup
-        ModLogger.debug("Updated parameter " + parameter + " to " + value + " for entity " + entityId);
+        ModLogger.debug("MorphManager", "Updated parameter {} to {} for entity {}", parameter, value, entityId);
     }
 
     /**
@@ -117,7 +117,7 @@ public class MorphManager {
         if (nbt.contains("morphState")) {
             MorphState morphState = MorphState.readNBT(nbt.getCompound("morphState"));
             entityMorphStates.put(entity.getUUID(), morphState);
-            ModLogger.debug("Loaded morph state for entity: " + entity.getUUID());
+            ModLogger.debug("MorphManager", "Loaded morph state for entity: {}", entity.getUUID());
         }
     }
 
@@ -141,7 +141,7 @@ public class MorphManager {
 
         // TODO: Send S2CMorphStatePacket to relevant clients
         // This would be implemented in platform-specific networking code
-        ModLogger.debug("Syncing morph state to clients for entity: " + entityId);
+        ModLogger.debug("MorphManager", "Syncing morph state to clients for entity: {}", entityId);
     }
 
     /**
@@ -11,6 +11,45 @@ import net.minecraft.network.RegistryFriendlyByteBuf;
  * transformations.
  */
 public class MorphState {
+    /**
+     * Typed handle for each transformation parameter, for generic access and
+     * indexing without string switches.
+     */
+    public enum Parameter {
+        HEIGHT("height"),
+        BODY_WIDTH("bodyWidth"),
+        ARM_LENGTH("armLength"),
+        LEG_LENGTH("legLength"),
+        CHEST_SCALE("chestScale"),
+        CHEST_SPACING("chestSpacing"),
+        HIP_WIDTH("hipWidth"),
+        SHOULDER_WIDTH("shoulderWidth"),
+        NECK_LENGTH("neckLength"),
+        HEAD_SIZE("headSize"),
+        IDLE_BOUNCE("idleBounce"),
+        WALK_SWAY("walkSway");
+
+        private final String key;
+
+        Parameter(String key) {
+            this.key = key;
+        }
+
+        /** Name used by {@link #getParameter(String)} and NBT. */
+        public String getKey() {
+            return key;
+        }
+
+        /** Parameter for a key, or null if unknown. */
+        public static Parameter byKey(String key) {
+            for (Parameter parameter : values()) {
+                if (parameter.key.equals(key))
+                    return parameter;
+            }
+            return null;
+        }
+    }
+
     // Core body proportions
     private float height = 1.0f;
     private float bodyWidth = 1.0f;
@@ -32,6 +71,9 @@ public class MorphState {
     // Cached hash for change detection
     private transient int cachedHash = -1;
 
+    // Incremented on every modification, used by derived caches (anchors)
+    private transient int version = 0;
+
     public MorphState() {
     }
 
@@ -101,11 +143,20 @@ public class MorphState {
         return getContentHash() != other.getContentHash();
     }
 
+    /**
+     * Modification counter for this instance. Changes whenever any parameter
+     * is set, so derived data can be recomputed only when needed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Invalidate the cached hash (call when modifying state).
      */
     private void invalidateHash() {
         cachedHash = -1;
+        version++;
     }
 
     // Getters and setters with hash invalidation
@@ -217,6 +268,26 @@ public class MorphState {
         invalidateHash();
     }
 
+    /**
+     * Get a transformation parameter.
+     */
+    public float getParameter(Parameter parameter) {
+        return switch (parameter) {
+            case HEIGHT -> height;
+            case BODY_WIDTH -> bodyWidth;
+            case ARM_LENGTH -> armLength;
+            case LEG_LENGTH -> legLength;
+            case CHEST_SCALE -> chestScale;
+            case CHEST_SPACING -> chestSpacing;
+            case HIP_WIDTH -> hipWidth;
+            case SHOULDER_WIDTH -> shoulderWidth;
+            case NECK_LENGTH -> neckLength;
+            case HEAD_SIZE -> headSize;
+            case IDLE_BOUNCE -> idleBounce;
+            case WALK_SWAY -> walkSway;
+        };
+    }
+
     /**
      * Get a transformation parameter by name (for generic access).
      */
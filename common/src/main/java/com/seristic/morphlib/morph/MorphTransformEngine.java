@@ -3,6 +3,9 @@ package com.seristic.morphlib.morph;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.client.render.ModelPoseSnapshot;
+
 import net.minecraft.client.model.geom.ModelPart;
 
 /**
@@ -31,43 +34,39 @@ public class MorphTransformEngine {
             float ageInTicks) {
 
         // Apply head transformations
-        if (head != null) {
-            head.xScale = morphState.getHeadSize();
-            head.yScale = morphState.getHeadSize();
-            head.zScale = morphState.getHeadSize();
-        }
+        float headSize = morphState.getHeadSize();
+        ModelPoseSnapshot.setScale(head, headSize, headSize, headSize);
 
         // Apply body transformations
         if (body != null) {
-            body.xScale = morphState.getBodyWidth();
-            body.yScale = morphState.getHeight();
-            body.zScale = morphState.getBodyWidth();
+            ModelPoseSnapshot.setScale(body, morphState.getBodyWidth(), morphState.getHeight(),
+                    morphState.getBodyWidth());
 
-            // Add subtle idle animation
+            // Add subtle idle animation (offset from the base pose, never accumulated)
             float bounce = (float) Math.sin(ageInTicks * 0.1f) * morphState.getIdleBounce();
-            body.y += bounce;
+            ModelPoseSnapshot.offsetBaseY(body, bounce);
         }
 
         // Apply arm transformations
         float armScale = morphState.getArmLength();
         if (leftArm != null) {
-            leftArm.yScale = armScale;
-            leftArm.x = -5.0f * morphState.getShoulderWidth(); // Adjust shoulder position
+            ModelPoseSnapshot.setYScale(leftArm, armScale);
+            ModelPoseSnapshot.setX(leftArm, -5.0f * morphState.getShoulderWidth()); // Adjust shoulder position
         }
         if (rightArm != null) {
-            rightArm.yScale = armScale;
-            rightArm.x = 5.0f * morphState.getShoulderWidth(); // Adjust shoulder position
+            ModelPoseSnapshot.setYScale(rightArm, armScale);
+            ModelPoseSnapshot.setX(rightArm, 5.0f * morphState.getShoulderWidth()); // Adjust shoulder position
         }
 
         // Apply leg transformations
         float legScale = morphState.getLegLength();
         if (leftLeg != null) {
-            leftLeg.yScale = legScale;
-            leftLeg.x = -1.9f * morphState.getHipWidth(); // Adjust hip position
+            ModelPoseSnapshot.setYScale(leftLeg, legScale);
+            ModelPoseSnapshot.setX(leftLeg, -1.9f * morphState.getHipWidth()); // Adjust hip position
         }
         if (rightLeg != null) {
-            rightLeg.yScale = legScale;
-            rightLeg.x = 1.9f * morphState.getHipWidth(); // Adjust hip position
+            ModelPoseSnapshot.setYScale(rightLeg, legScale);
+            ModelPoseSnapshot.setX(rightLeg, 1.9f * morphState.getHipWidth()); // Adjust hip position
         }
     }
 
@@ -94,42 +93,35 @@ public class MorphTransformEngine {
             float chestSpacing = morphState.getChestSpacing();
 
             // Scale chest parts
-            chestLeft.xScale = chestScale;
-            chestLeft.yScale = chestScale;
-            chestLeft.zScale = chestScale;
-
-            chestRight.xScale = chestScale;
-            chestRight.yScale = chestScale;
-            chestRight.zScale = chestScale;
+            ModelPoseSnapshot.setScale(chestLeft, chestScale, chestScale, chestScale);
+            ModelPoseSnapshot.setScale(chestRight, chestScale, chestScale, chestScale);
 
             // Position chest parts with spacing
-            chestLeft.x = -1.5f - chestSpacing;
-            chestRight.x = 1.5f + chestSpacing;
+            ModelPoseSnapshot.setX(chestLeft, -1.5f - chestSpacing);
+            ModelPoseSnapshot.setX(chestRight, 1.5f + chestSpacing);
 
-            // Add subtle bounce animation
+            // Add subtle bounce animation (offset from the base pose, never accumulated)
             float bounce = (float) Math.sin(ageInTicks * 0.1f) * morphState.getIdleBounce() * 0.5f;
-            chestLeft.y += bounce;
-            chestRight.y += bounce;
+            ModelPoseSnapshot.offsetBaseY(chestLeft, bounce);
+            ModelPoseSnapshot.offsetBaseY(chestRight, bounce);
 
             // Make chest parts visible
-            chestLeft.visible = chestScale > 0.1f;
-            chestRight.visible = chestScale > 0.1f;
+            ModelPoseSnapshot.setVisible(chestLeft, chestScale > 0.1f);
+            ModelPoseSnapshot.setVisible(chestRight, chestScale > 0.1f);
         }
 
         // Apply hip transformations
         ModelPart hips = customParts.get("hips");
         if (hips != null) {
-            hips.xScale = morphState.getHipWidth();
-            hips.yScale = 1.0f;
-            hips.zScale = morphState.getHipWidth();
-            hips.visible = morphState.getHipWidth() > 1.05f; // Only show if significantly wider
+            ModelPoseSnapshot.setScale(hips, morphState.getHipWidth(), 1.0f, morphState.getHipWidth());
+            ModelPoseSnapshot.setVisible(hips, morphState.getHipWidth() > 1.05f); // Only show if significantly wider
         }
 
         // Apply neck transformations
         ModelPart neck = customParts.get("neck");
         if (neck != null) {
-            neck.yScale = morphState.getNeckLength();
-            neck.visible = morphState.getNeckLength() > 1.1f; // Only show if elongated
+            ModelPoseSnapshot.setYScale(neck, morphState.getNeckLength());
+            ModelPoseSnapshot.setVisible(neck, morphState.getNeckLength() > 1.1f); // Only show if elongated
         }
     }
 
@@ -138,7 +130,10 @@ public class MorphTransformEngine {
      * 
      * @param morphState The morph state
      * @param armorParts Map of armor ModelParts
+     * @deprecated Armor layers are scaled automatically through
+     *             {@link com.seristic.morphlib.client.render.ArmorMorphTransformer}.
      */
+    @Deprecated
     public static void applyArmorTransforms(MorphState morphState, Map<String, ModelPart> armorParts) {
         // Scale armor to match body proportions
         for (Map.Entry<String, ModelPart> entry : armorParts.entrySet()) {
@@ -150,45 +145,34 @@ public class MorphTransformEngine {
 
             switch (partName) {
                 case "helmet":
-                    armorPart.xScale = morphState.getHeadSize();
-                    armorPart.yScale = morphState.getHeadSize();
-                    armorPart.zScale = morphState.getHeadSize();
+                    ModelPoseSnapshot.setScale(armorPart, morphState.getHeadSize(), morphState.getHeadSize(),
+                            morphState.getHeadSize());
                     break;
 
                 case "chestplate":
-                    armorPart.xScale = morphState.getBodyWidth();
-                    armorPart.yScale = morphState.getHeight();
-                    armorPart.zScale = morphState.getBodyWidth();
+                    ModelPoseSnapshot.setScale(armorPart, morphState.getBodyWidth(), morphState.getHeight(),
+                            morphState.getBodyWidth());
                     break;
 
                 case "leggings":
-                    armorPart.xScale = morphState.getHipWidth();
-                    armorPart.yScale = morphState.getLegLength();
-                    armorPart.zScale = morphState.getHipWidth();
+                    ModelPoseSnapshot.setScale(armorPart, morphState.getHipWidth(), morphState.getLegLength(),
+                            morphState.getHipWidth());
                     break;
 
                 case "boots":
-                    armorPart.yScale = morphState.getLegLength();
+                    ModelPoseSnapshot.setYScale(armorPart, morphState.getLegLength());
                     break;
             }
         }
     }
 
     /**
-     * Reset all transformations to default values.
-     * Call this before applying new transforms to ensure clean state.
+     * Reset the given parts to the base pose recorded before the first morph
+     * touched them. Parts that were never transformed are left alone.
      */
     public static void resetTransforms(ModelPart... parts) {
         for (ModelPart part : parts) {
-            if (part != null) {
-                part.xScale = 1.0f;
-                part.yScale = 1.0f;
-                part.zScale = 1.0f;
-                part.x = part.x; // Keep original position
-                part.y = part.y; // Keep original position
-                part.z = part.z; // Keep original position
-                part.visible = true;
-            }
+            ModelPoseSnapshot.restore(part);
         }
     }
 
@@ -197,55 +181,26 @@ public class MorphTransformEngine {
      * 
      * @param morphState The current morph state
      * @return Map of anchor points with their transform data
+     * @deprecated Allocates on every call. Use {@link MorphData#getAnchors()} or
+     *             an {@link AnchorBuffer} with the ids in {@link MorphAnchors}.
      */
+    @Deprecated
     public static Map<String, AnchorTransform> getAnchorTransforms(MorphState morphState) {
+        AnchorBuffer buffer = new AnchorBuffer().update(morphState);
         Map<String, AnchorTransform> anchors = new HashMap<>();
-
-        // Chest anchor points
-        anchors.put("chest_left", new AnchorTransform(
-                -1.5f - morphState.getChestSpacing(),
-                10.5f,
-                -2.0f,
-                morphState.getChestScale()));
-
-        anchors.put("chest_right", new AnchorTransform(
-                1.5f + morphState.getChestSpacing(),
-                10.5f,
-                -2.0f,
-                morphState.getChestScale()));
-
-        // Shoulder anchor points
-        anchors.put("shoulder_left", new AnchorTransform(
-                -5.0f * morphState.getShoulderWidth(),
-                12.0f,
-                0.0f,
-                1.0f));
-
-        anchors.put("shoulder_right", new AnchorTransform(
-                5.0f * morphState.getShoulderWidth(),
-                12.0f,
-                0.0f,
-                1.0f));
-
-        // Hip anchor points
-        anchors.put("hip_left", new AnchorTransform(
-                -1.9f * morphState.getHipWidth(),
-                0.0f,
-                0.0f,
-                morphState.getHipWidth()));
-
-        anchors.put("hip_right", new AnchorTransform(
-                1.9f * morphState.getHipWidth(),
-                0.0f,
-                0.0f,
-                morphState.getHipWidth()));
-
+        for (int id = 0; id < buffer.size(); id++) {
+            anchors.put(MorphAnchors.getName(id),
+                    new AnchorTransform(buffer.x(id), buffer.y(id), buffer.z(id), buffer.scale(id)));
+        }
         return anchors;
     }
 
     /**
      * Data class for anchor transform information.
+     *
+     * @deprecated See {@link AnchorBuffer}.
      */
+    @Deprecated
     public static class AnchorTransform {
         public final float x, y, z, scale;
 
@@ -0,0 +1,166 @@
+package com.seristic.morphlib.network;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.seristic.morphlib.Morphlib;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import com.seristic.morphlib.restrictions.MorphEligibility;
+import com.seristic.morphlib.restrictions.RestrictionReason;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Packet sent from server to client with the player's eligibility for every
+ * registered morph, by position in registry order.
+ *
+ * Layout: the registry version and morph count, then the morph UUIDs only if
+ * the client does not hold them for this version yet, then the eligible
+ * positions as a bitset, a table of the reason keys used, and one varint
+ * index into that table per refused position. Reasons travel as keys because
+ * addon reasons may be registered in a different order on each side.
+ *
+ * @param morphIds Morph at each position, or null when the client already
+ *                 has the id table for {@code registryVersion}.
+ * @param reasons  Refusal at each position, null where eligible.
+ */
+public record S2CMorphEligibilityPacket(int registryVersion, UUID[] morphIds, RestrictionReason[] reasons)
+        implements CustomPacketPayload {
+
+    public static final Type<S2CMorphEligibilityPacket> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(Morphlib.MOD_ID, "morph_eligibility"));
+
+    // Decoding limits, far above anything a real server sends
+    private static final int MAX_REASONS = 256;
+    private static final int MAX_REASON_KEY_LENGTH = 256;
+    private static final int MAX_MORPHS = 65_536;
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, S2CMorphEligibilityPacket> CODEC = StreamCodec
+            .of(S2CMorphEligibilityPacket::write, S2CMorphEligibilityPacket::read);
+
+    /**
+     * @param includeIds Whether to send the id table; needed whenever the
+     *                   client last received a different registry version.
+     */
+    public static S2CMorphEligibilityPacket of(MorphEligibility eligibility, boolean includeIds) {
+        UUID[] morphIds = null;
+        if (includeIds) {
+            morphIds = new UUID[eligibility.size()];
+            for (int i = 0; i < morphIds.length; i++)
+                morphIds[i] = eligibility.morphId(i);
+        }
+        RestrictionReason[] reasons = new RestrictionReason[eligibility.size()];
+        for (int i = 0; i < reasons.length; i++)
+            reasons[i] = eligibility.reason(i);
+        return new S2CMorphEligibilityPacket(eligibility.registryVersion(), morphIds, reasons);
+    }
+
+    /**
+     * Rebuild the eligibility, taking the id table from {@code previous} if
+     * this packet carries none.
+     *
+     * @return null if the ids are missing and {@code previous} is for another
+     *         registry version or size
+     */
+    public MorphEligibility resolve(MorphEligibility previous) {
+        UUID[] ids = morphIds;
+        if (ids == null) {
+            if (previous.registryVersion() != registryVersion || previous.size() != reasons.length)
+                return null;
+            ids = new UUID[reasons.length];
+            for (int i = 0; i < ids.length; i++)
+                ids[i] = previous.morphId(i);
+        }
+        return new MorphEligibility(registryVersion, ids, reasons);
+    }
+
+    private static void write(RegistryFriendlyByteBuf buf, S2CMorphEligibilityPacket packet) {
+        RestrictionReason[] refusals = packet.reasons;
+        int start = buf.writerIndex();
+
+        buf.writeVarInt(packet.registryVersion);
+        buf.writeVarInt(refusals.length);
+        buf.writeBoolean(packet.morphIds != null);
+        if (packet.morphIds != null) {
+            for (UUID morphId : packet.morphIds) {
+                buf.writeLong(morphId.getMostSignificantBits());
+                buf.writeLong(morphId.getLeastSignificantBits());
+            }
+        }
+
+        BitSet eligible = new BitSet(refusals.length);
+        Map<RestrictionReason, Integer> table = new HashMap<>();
+        List<RestrictionReason> reasons = new ArrayList<>();
+        for (int i = 0; i < refusals.length; i++) {
+            RestrictionReason reason = refusals[i];
+            if (reason == null)
+                eligible.set(i);
+            else if (table.putIfAbsent(reason, reasons.size()) == null)
+                reasons.add(reason);
+        }
+        buf.writeBitSet(eligible);
+        buf.writeVarInt(reasons.size());
+        for (RestrictionReason reason : reasons)
+            buf.writeUtf(reason.key());
+        for (RestrictionReason reason : refusals) {
+            if (reason != null)
+                buf.writeVarInt(table.get(reason));
+        }
+        MorphMetrics.SYNC_BYTES_SENT.add(buf.writerIndex() - start);
+    }
+
+    private static S2CMorphEligibilityPacket read(RegistryFriendlyByteBuf buf) {
+        int registryVersion = buf.readVarInt();
+        int size = buf.readVarInt();
+        if (size < 0 || size > MAX_MORPHS)
+            throw new DecoderException("Invalid morph count: " + size);
+
+        UUID[] morphIds = null;
+        if (buf.readBoolean()) {
+            // Each id takes 16 bytes, so a bogus count fails before allocating
+            if (size > buf.readableBytes() / 16)
+                throw new DecoderException("Morph count exceeds packet: " + size);
+            morphIds = new UUID[size];
+            for (int i = 0; i < size; i++)
+                morphIds[i] = new UUID(buf.readLong(), buf.readLong());
+        }
+
+        BitSet eligible = buf.readBitSet();
+        if (eligible.length() > size)
+            throw new DecoderException("Eligible position " + (eligible.length() - 1) + " beyond " + size + " morphs");
+
+        int reasonCount = buf.readVarInt();
+        if (reasonCount < 0 || reasonCount > MAX_REASONS)
+            throw new DecoderException("Too many restriction reasons: " + reasonCount);
+        RestrictionReason[] table = new RestrictionReason[reasonCount];
+        for (int r = 0; r < reasonCount; r++) {
+            RestrictionReason reason = RestrictionReason.byKey(buf.readUtf(MAX_REASON_KEY_LENGTH));
+            // Unknown on this side (server-only addon): shown as the generic refusal
+            table[r] = reason != null ? reason : RestrictionReason.CUSTOM;
+        }
+
+        // One varint, at least a byte, per refused position
+        if (size - eligible.cardinality() > buf.readableBytes())
+            throw new DecoderException("Refusal count exceeds packet: " + (size - eligible.cardinality()));
+        RestrictionReason[] reasons = new RestrictionReason[size];
+        for (int i = eligible.nextClearBit(0); i < size; i = eligible.nextClearBit(i + 1)) {
+            int index = buf.readVarInt();
+            if (index < 0 || index >= reasonCount)
+                throw new DecoderException("Invalid restriction reason index: " + index);
+            reasons[i] = table[index];
+        }
+        return new S2CMorphEligibilityPacket(registryVersion, morphIds, reasons);
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,51 @@
+package com.seristic.morphlib.registry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps morph UUIDs to dense int ids (0, 1, 2...) for compact per-player
+ * storage such as bitsets. Ids are never reused or released and are only
+ * valid for the lifetime of the process; persist the UUIDs.
+ */
+final class MorphIdInterner {
+    private final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+    // Reverse lookup, replaced (copy-on-grow) under the lock
+    private volatile UUID[] uuids = new UUID[64];
+    private int count;
+
+    int intern(UUID uuid) {
+        Integer id = ids.get(uuid);
+        if (id != null)
+            return id;
+        synchronized (this) {
+            id = ids.get(uuid);
+            if (id != null)
+                return id;
+            int next = count;
+            UUID[] current = uuids;
+            if (next == current.length)
+                current = Arrays.copyOf(current, next * 2);
+            current[next] = uuid;
+            uuids = current;
+            count = next + 1;
+            // Publish the reverse entry before the forward one
+            ids.put(uuid, next);
+            return next;
+        }
+    }
+
+    /** Dense id of an already interned UUID, or -1. */
+    int find(UUID uuid) {
+        Integer id = ids.get(uuid);
+        return id != null ? id : -1;
+    }
+
+    /** UUID for a dense id, or null if unknown. */
+    UUID uuidOf(int id) {
+        UUID[] current = uuids;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+}
@@ -0,0 +1,209 @@
+package com.seristic.morphlib.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.morph.MorphState;
+
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Secondary indexes over one {@link RegistrySnapshot}, addressed by each
+ * morph's position in {@code snapshot.all}.
+ *
+ * - Entity type, gender, body type and skin presence: one bitset per value,
+ * intersected with {@link BitSet#and}.
+ * - Each {@link MorphState.Parameter}: values sorted ascending with the
+ * matching positions, so a range is two binary searches. Only the narrowest
+ * range is expanded into a bitset; the other ranges are checked per
+ * surviving candidate against column arrays.
+ *
+ * Built once per snapshot and immutable afterwards. Values are captured at
+ * build time; re-register a morph after changing its state to reindex it.
+ */
+final class MorphIndex {
+    private static final MorphState.Parameter[] PARAMETERS = MorphState.Parameter.values();
+
+    private final List<MorphData> morphs;
+    private final int size;
+
+    private final Map<EntityType<?>, BitSet> byEntityType = new HashMap<>();
+    private final BitSet[] byGender = newBitSets(MorphData.Gender.values().length);
+    private final BitSet[] byBodyType = newBitSets(MorphData.BodyType.values().length);
+    private final BitSet withCustomSkin = new BitSet();
+
+    // [parameter][position]
+    private final float[][] columns = new float[PARAMETERS.length][];
+    // [parameter][rank], ascending, and the position holding each value
+    private final float[][] sortedValues = new float[PARAMETERS.length][];
+    private final int[][] sortedPositions = new int[PARAMETERS.length][];
+
+    MorphIndex(List<MorphData> morphs) {
+        this.morphs = morphs;
+        this.size = morphs.size();
+
+        for (int p = 0; p < PARAMETERS.length; p++)
+            columns[p] = new float[size];
+
+        for (int i = 0; i < size; i++) {
+            MorphData morph = morphs.get(i);
+            if (morph.getEntityType() != null)
+                byEntityType.computeIfAbsent(morph.getEntityType(), k -> new BitSet(size)).set(i);
+            if (morph.getGender() != null)
+                byGender[morph.getGender().ordinal()].set(i);
+            if (morph.getBodyType() != null)
+                byBodyType[morph.getBodyType().ordinal()].set(i);
+            if (morph.getCustomSkin() != null)
+                withCustomSkin.set(i);
+
+            MorphState state = morph.getMorphState();
+            for (int p = 0; p < PARAMETERS.length; p++)
+                columns[p][i] = state.getParameter(PARAMETERS[p]);
+        }
+
+        for (int p = 0; p < PARAMETERS.length; p++)
+            sortColumn(p);
+    }
+
+    /** Positions of the morphs matching {@code query}. */
+    BitSet select(MorphQuery query) {
+        BitSet result = null;
+
+        if (query.entityType() != null) {
+            BitSet bits = byEntityType.get(query.entityType());
+            if (bits == null)
+                return new BitSet();
+            result = intersect(result, bits);
+        }
+        if (query.gender() != null)
+            result = intersect(result, byGender[query.gender().ordinal()]);
+        if (query.bodyType() != null)
+            result = intersect(result, byBodyType[query.bodyType().ordinal()]);
+        if (query.hasCustomSkin() != null) {
+            if (query.hasCustomSkin()) {
+                result = intersect(result, withCustomSkin);
+            } else {
+                BitSet withoutSkin = (BitSet) withCustomSkin.clone();
+                withoutSkin.flip(0, size);
+                result = intersect(result, withoutSkin);
+            }
+        }
+
+        if (!query.ranges().isEmpty())
+            result = selectRanges(query.ranges(), result);
+
+        if (result == null) {
+            result = new BitSet(size);
+            result.set(0, size);
+        }
+        return result;
+    }
+
+    List<MorphData> toList(BitSet positions) {
+        List<MorphData> list = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1))
+            list.add(morphs.get(i));
+        return list;
+    }
+
+    private BitSet selectRanges(Map<MorphState.Parameter, MorphQuery.Range> ranges, BitSet candidates) {
+        // Expand only the range with the fewest values into a bitset
+        MorphState.Parameter narrowest = null;
+        int narrowestFrom = 0;
+        int narrowestTo = 0;
+        for (Map.Entry<MorphState.Parameter, MorphQuery.Range> entry : ranges.entrySet()) {
+            float[] values = sortedValues[entry.getKey().ordinal()];
+            int from = lowerBound(values, entry.getValue().min());
+            int to = upperBound(values, entry.getValue().max());
+            if (narrowest == null || to - from < narrowestTo - narrowestFrom) {
+                narrowest = entry.getKey();
+                narrowestFrom = from;
+                narrowestTo = to;
+            }
+        }
+
+        int[] positions = sortedPositions[narrowest.ordinal()];
+        BitSet inRange = new BitSet(size);
+        for (int r = narrowestFrom; r < narrowestTo; r++)
+            inRange.set(positions[r]);
+        BitSet result = intersect(candidates, inRange);
+
+        // Remaining ranges: check the survivors against their columns
+        for (Map.Entry<MorphState.Parameter, MorphQuery.Range> entry : ranges.entrySet()) {
+            if (entry.getKey() == narrowest)
+                continue;
+            float[] column = columns[entry.getKey().ordinal()];
+            MorphQuery.Range range = entry.getValue();
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                if (!range.contains(column[i]))
+                    result.clear(i);
+            }
+        }
+        return result;
+    }
+
+    private void sortColumn(int p) {
+        float[] column = columns[p];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Float.compare(column[a], column[b]));
+
+        float[] values = new float[size];
+        int[] positions = new int[size];
+        for (int r = 0; r < size; r++) {
+            positions[r] = order[r];
+            values[r] = column[order[r]];
+        }
+        sortedValues[p] = values;
+        sortedPositions[p] = positions;
+    }
+
+    /** First index with value >= key. */
+    private static int lowerBound(float[] values, float key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index with value > key. */
+    private static int upperBound(float[] values, float key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /** {@code current AND bits}; {@code current == null} means "everything". Never mutates {@code bits}. */
+    private static BitSet intersect(BitSet current, BitSet bits) {
+        if (current == null)
+            return (BitSet) bits.clone();
+        current.and(bits);
+        return current;
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] sets = new BitSet[count];
+        for (int i = 0; i < count; i++)
+            sets[i] = new BitSet();
+        return sets;
+    }
+}
@@ -0,0 +1,133 @@
+package com.seristic.morphlib.registry;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.morph.MorphState;
+
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Filter over registered morphs. Unset criteria match everything; set
+ * criteria are combined with AND. Parameter ranges are inclusive.
+ *
+ * <pre>
+ * MorphQuery query = MorphQuery.builder()
+ *         .entityType(EntityType.VILLAGER)
+ *         .gender(MorphData.Gender.FEMALE)
+ *         .range(MorphState.Parameter.HEIGHT, 0.8f, 1.1f)
+ *         .build();
+ * List&lt;MorphData&gt; morphs = MorphRegistery.getInstance().query(query);
+ * </pre>
+ */
+public final class MorphQuery {
+    /** Matches every morph. */
+    public static final MorphQuery ALL = builder().build();
+
+    /** Inclusive bounds for one parameter. */
+    public record Range(float min, float max) {
+        public boolean contains(float value) {
+            return value >= min && value <= max;
+        }
+    }
+
+    private final EntityType<?> entityType;
+    private final MorphData.Gender gender;
+    private final MorphData.BodyType bodyType;
+    private final Boolean hasCustomSkin;
+    private final Map<MorphState.Parameter, Range> ranges;
+
+    private MorphQuery(Builder b) {
+        this.entityType = b.entityType;
+        this.gender = b.gender;
+        this.bodyType = b.bodyType;
+        this.hasCustomSkin = b.hasCustomSkin;
+        this.ranges = b.ranges.isEmpty() ? Map.of() : new EnumMap<>(b.ranges);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public EntityType<?> entityType() {
+        return entityType;
+    }
+
+    public MorphData.Gender gender() {
+        return gender;
+    }
+
+    public MorphData.BodyType bodyType() {
+        return bodyType;
+    }
+
+    /** Required skin presence, or null for either. */
+    public Boolean hasCustomSkin() {
+        return hasCustomSkin;
+    }
+
+    public Map<MorphState.Parameter, Range> ranges() {
+        return ranges;
+    }
+
+    /**
+     * Check a single morph. This is the linear-scan path; the registry
+     * answers queries from its indexes instead.
+     */
+    public boolean matches(MorphData morph) {
+        if (entityType != null && morph.getEntityType() != entityType)
+            return false;
+        if (gender != null && morph.getGender() != gender)
+            return false;
+        if (bodyType != null && morph.getBodyType() != bodyType)
+            return false;
+        if (hasCustomSkin != null && (morph.getCustomSkin() != null) != hasCustomSkin)
+            return false;
+        for (Map.Entry<MorphState.Parameter, Range> range : ranges.entrySet()) {
+            if (!range.getValue().contains(morph.getMorphState().getParameter(range.getKey())))
+                return false;
+        }
+        return true;
+    }
+
+    public static final class Builder {
+        private EntityType<?> entityType;
+        private MorphData.Gender gender;
+        private MorphData.BodyType bodyType;
+        private Boolean hasCustomSkin;
+        private final Map<MorphState.Parameter, Range> ranges = new EnumMap<>(MorphState.Parameter.class);
+
+        public Builder entityType(EntityType<?> entityType) {
+            this.entityType = entityType;
+            return this;
+        }
+
+        public Builder gender(MorphData.Gender gender) {
+            this.gender = gender;
+            return this;
+        }
+
+        public Builder bodyType(MorphData.BodyType bodyType) {
+            this.bodyType = bodyType;
+            return this;
+        }
+
+        public Builder hasCustomSkin(boolean hasCustomSkin) {
+            this.hasCustomSkin = hasCustomSkin;
+            return this;
+        }
+
+        /** Require {@code min <= parameter <= max}. */
+        public Builder range(MorphState.Parameter parameter, float min, float max) {
+            if (min > max)
+                throw new IllegalArgumentException("Empty range for " + parameter + ": " + min + " > " + max);
+            ranges.put(parameter, new Range(min, max));
+            return this;
+        }
+
+        public MorphQuery build() {
+            return new MorphQuery(this);
+        }
+    }
+}
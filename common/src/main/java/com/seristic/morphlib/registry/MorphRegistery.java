@@ -1,10 +1,6 @@
 package com.seristic.morphlib.registry;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +8,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MetricsRegistry;
 import com.seristic.morphlib.MorphData;
 
 import net.minecraft.world.entity.EntityType;
@@ -19,17 +16,23 @@ import net.minecraft.world.entity.EntityType;
 /**
  * Registry for managing available morphs and active morph instances.
  * Tracks morphs by their unique IDs and provides lookup by entity type.
+ *
+ * Registered morphs are published as immutable snapshots through a volatile
+ * reference: reads are lock-free and return shared, unmodifiable views, while
+ * writers (code or async datapack loading) serialize on a lock and swap in a
+ * new snapshot. Use {@link #registerMorphs} to publish a batch in one swap.
  */
 public class MorphRegistery {
     private static final MorphRegistery INSTANCE = new MorphRegistery();
 
-    private final Map<UUID, MorphData> availableMorphs = new HashMap<>();
-
-    private final Map<EntityType<?>, List<MorphData>> morphsByEntityType = new ConcurrentHashMap<>();
+    private volatile RegistrySnapshot snapshot = RegistrySnapshot.EMPTY;
+    private final MorphIdInterner interner = new MorphIdInterner();
+    private final Object writeLock = new Object();
 
     private final Map<UUID, UUID> activeMorphs = new ConcurrentHashMap<>();
 
     private MorphRegistery() {
+        MetricsRegistry.getInstance().gauge("registry.morphs", () -> snapshot.all.size());
     }
 
     public static MorphRegistery getInstance() {
@@ -37,15 +40,54 @@ public class MorphRegistery {
     }
 
     /**
-     * Register a new morph, making it available for use.
+     * Register a new morph, making it available for use. Each call still
+     * publishes a new snapshot, so registering many morphs in a loop is
+     * quadratic: use {@link #registerMorphs} for those.
      *
      * @param morphData The morph data to register.
      */
     public void registerMorph(MorphData morphData) {
-        UUID morphId = morphData.getMorphId();
-        availableMorphs.put(morphId, morphData);
-        morphsByEntityType.computeIfAbsent(morphData.getEntityType(), k -> new ArrayList<>()).add(morphData);
-        ModLogger.info("Registered new morph: " + morphId + " for entity type: " + morphData.getEntityType());
+        interner.intern(morphData.getMorphId());
+        synchronized (writeLock) {
+            snapshot = snapshot.with(morphData);
+        }
+        ModLogger.debug("MorphRegistery", "Registered new morph: {} for entity type: {}", morphData.getMorphId(),
+                morphData.getEntityType());
+    }
+
+    /**
+     * Register several morphs at once. Readers see either none or all of them,
+     * and the snapshot is rebuilt once for the whole batch.
+     *
+     * @param morphs The morphs to register; existing ids are replaced.
+     */
+    public void registerMorphs(Collection<MorphData> morphs) {
+        if (morphs.isEmpty())
+            return;
+        internAll(morphs);
+        synchronized (writeLock) {
+            snapshot = snapshot.with(morphs);
+        }
+    }
+
+    /**
+     * Remove one set of morphs and register another in a single swap, e.g.
+     * the previous and new datapack definitions on reload.
+     *
+     * @param removed Ids to unregister; unknown ids are ignored.
+     * @param added   The morphs to register.
+     */
+    public void replaceMorphs(Collection<UUID> removed, Collection<MorphData> added) {
+        internAll(added);
+        synchronized (writeLock) {
+            snapshot = snapshot.replacing(removed, added);
+        }
+    }
+
+    // Before publishing, so readers that see a morph can find its id
+    private void internAll(Collection<MorphData> morphs) {
+        for (MorphData morph : morphs)
+            interner.intern(morph.getMorphId());
     }
 
     /**
@@ -54,23 +96,48 @@ public class MorphRegistery {
      * @param morphId The unique ID of the morph to unregister.
      */
     public void unregisterMorph(UUID morphId) {
-        MorphData morphData = availableMorphs.remove(morphId);
-        if (morphData != null) {
-            List<MorphData> morphs = morphsByEntityType.get(morphData.getEntityType());
-            if (morphs != null) {
-                morphs.removeIf(m -> m.getMorphId().equals(morphId));
-            }
-            ModLogger.info("Unregistered morph: " + morphId);
+        boolean removed;
+        synchronized (writeLock) {
+            removed = snapshot.byId.containsKey(morphId);
+            if (removed)
+                snapshot = snapshot.without(List.of(morphId));
+        }
+        if (removed) {
+            ModLogger.info("MorphRegistery", "Unregistered morph: {}", morphId);
         }
     }
 
     /**
      * Gets all available morphs
-     * 
-     * @return A collection of all registered MorphData instances.
+     *
+     * @return An unmodifiable view of all registered MorphData instances.
      */
     public Collection<MorphData> getAvailableMorphs() {
-        return new ArrayList<>(availableMorphs.values());
+        return snapshot.all;
+    }
+
+    /**
+     * Registered morphs in registration order together with the version they
+     * were read from.
+     */
+    public record VersionedMorphs(int version, List<MorphData> morphs) {
+    }
+
+    /**
+     * Gets all available morphs and the registry version they belong to, read
+     * from one snapshot so the two always agree.
+     */
+    public VersionedMorphs getVersionedMorphs() {
+        RegistrySnapshot current = snapshot;
+        return new VersionedMorphs(current.version, current.all);
+    }
+
+    /**
+     * Changes whenever morphs are registered, replaced or removed. Positions
+     * in {@link #getAvailableMorphs()} are only comparable at one version.
+     */
+    public int getVersion() {
+        return snapshot.version;
     }
 
     /**
@@ -80,17 +147,77 @@ public class MorphRegistery {
      * @return The MorphData if found, null otherwise.
      */
     public MorphData getMorphById(UUID morphId) {
-        return availableMorphs.get(morphId);
+        return snapshot.byId.get(morphId);
     }
 
     /**
      * Gets all morphs for a specific entity type.
      * 
      * @param entityType The entity type to look up.
-     * @return A list of MorphData instances for the given entity type.
+     * @return An unmodifiable list of MorphData instances for the given entity type.
      */
     public List<MorphData> getMorphsForEntityType(EntityType<?> entityType) {
-        return new ArrayList<>(morphsByEntityType.getOrDefault(entityType, Collections.emptyList()));
+        return snapshot.forEntityType(entityType);
+    }
+
+    /**
+     * Find the morphs matching a query, using the snapshot's secondary
+     * indexes rather than scanning every morph.
+     *
+     * @param query The filter to apply.
+     * @return Matching morphs in registration order.
+     */
+    public List<MorphData> query(MorphQuery query) {
+        RegistrySnapshot current = snapshot;
+        if (query == MorphQuery.ALL)
+            return current.all;
+        MorphIndex index = current.index();
+        return index.toList(index.select(query));
+    }
+
+    /**
+     * Count the morphs matching a query without building a result list.
+     *
+     * @param query The filter to apply.
+     * @return The number of matching morphs.
+     */
+    public int count(MorphQuery query) {
+        RegistrySnapshot current = snapshot;
+        if (query == MorphQuery.ALL)
+            return current.all.size();
+        return current.index().select(query).cardinality();
+    }
+
+    /**
+     * Dense int id for a morph UUID, assigned on first use. Registered morphs
+     * are interned when they are registered. Stable for the lifetime of the
+     * process only; persist UUIDs, not these ids.
+     *
+     * @param morphId The unique ID of the morph.
+     * @return The dense id (0, 1, 2...).
+     */
+    public int internId(UUID morphId) {
+        return interner.intern(morphId);
+    }
+
+    /**
+     * Dense id of a morph UUID without assigning one.
+     *
+     * @param morphId The unique ID of the morph.
+     * @return The dense id, or -1 if the UUID was never interned.
+     */
+    public int findInternedId(UUID morphId) {
+        return interner.find(morphId);
+    }
+
+    /**
+     * Morph UUID for a dense id from {@link #internId}.
+     *
+     * @param internedId The dense id.
+     * @return The morph UUID, or null if the id is unknown.
+     */
+    public UUID getMorphIdForInterned(int internedId) {
+        return interner.uuidOf(internedId);
     }
 
     /**
@@ -100,11 +227,11 @@ public class MorphRegistery {
      * @param morphId  The unique ID of the morph to set as active.
      */
     public void setActiveMorph(UUID playerId, UUID morphId) {
-        if (availableMorphs.containsKey(morphId)) {
+        if (snapshot.byId.containsKey(morphId)) {
             activeMorphs.put(playerId, morphId);
-            ModLogger.debug("Set active morph: " + morphId + " for player: " + playerId, "MorphRegistery");
+            ModLogger.debug("MorphRegistery", "Set active morph: {} for player: {}", morphId, playerId);
         } else {
-            ModLogger.warn("Attempted to set unknown morph as active: " + morphId, "MorphRegistery");
+            ModLogger.warn("MorphRegistery", "Attempted to set unknown morph as active: {}", morphId);
         }
     }
 
@@ -126,7 +253,7 @@ public class MorphRegistery {
      */
     public MorphData getActiveMorph(UUID playerId) {
         UUID morphId = activeMorphs.get(playerId);
-        return morphId != null ? availableMorphs.get(morphId) : null;
+        return morphId != null ? snapshot.byId.get(morphId) : null;
     }
 
     /**
@@ -138,7 +265,7 @@ public class MorphRegistery {
     public void clearActiveMorph(UUID playerId) {
         UUID removed = activeMorphs.remove(playerId);
         if (removed != null) {
-            ModLogger.debug("Cleared active morph: " + removed + " for player: " + playerId, "MorphRegistery");
+            ModLogger.debug("MorphRegistery", "Cleared active morph: {} for player: {}", removed, playerId);
         }
     }
 
@@ -149,16 +276,16 @@ public class MorphRegistery {
      * @return True if the morph is available, false otherwise.
      */
     public boolean isMorphAvailable(UUID morphId) {
-        return availableMorphs.containsKey(morphId);
+        return snapshot.byId.containsKey(morphId);
     }
 
     /**
      * Gets all entity types that have registered morphs.
-     * 
-     * @return A set of entity types with registered morphs.
+     *
+     * @return An unmodifiable set of entity types with registered morphs.
      */
     public Set<EntityType<?>> getRegisteredEntityTypes() {
-        return new HashSet<>(morphsByEntityType.keySet());
+        return snapshot.entityTypes;
     }
 
     /**
@@ -168,9 +295,10 @@ public class MorphRegistery {
      */
     @Deprecated
     public void clearAll() {
-        availableMorphs.clear();
-        morphsByEntityType.clear();
+        synchronized (writeLock) {
+            snapshot = snapshot.cleared();
+        }
         activeMorphs.clear();
-        ModLogger.info("Cleared all registered morphs and active morphs", "MorphRegistery");
+        ModLogger.info("MorphRegistery", "Cleared all registered morphs and active morphs");
     }
 }
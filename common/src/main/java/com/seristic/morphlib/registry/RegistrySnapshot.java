@@ -0,0 +1,131 @@
+package com.seristic.morphlib.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.seristic.morphlib.MorphData;
+
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Immutable, fully indexed view of the registered morphs. The registry
+ * publishes a new snapshot for every change; readers use whichever snapshot
+ * they loaded without locking or copying.
+ */
+final class RegistrySnapshot {
+    static final RegistrySnapshot EMPTY = new RegistrySnapshot(0, Map.of());
+
+    // One higher than the snapshot this one replaced
+    final int version;
+
+    // Registration order is kept so listings are stable
+    final Map<UUID, MorphData> byId;
+    final List<MorphData> all;
+    final Map<EntityType<?>, List<MorphData>> byEntityType;
+    final Set<EntityType<?>> entityTypes;
+
+    // Secondary indexes, built on the first query against this snapshot
+    private volatile MorphIndex index;
+
+    private RegistrySnapshot(int version, Map<UUID, MorphData> morphs) {
+        this.version = version;
+        this.byId = Collections.unmodifiableMap(morphs);
+        this.all = List.copyOf(morphs.values());
+
+        Map<EntityType<?>, List<MorphData>> grouped = new HashMap<>();
+        for (MorphData morph : all) {
+            if (morph.getEntityType() == null)
+                continue;
+            grouped.computeIfAbsent(morph.getEntityType(), k -> new ArrayList<>()).add(morph);
+        }
+        grouped.replaceAll((type, list) -> List.copyOf(list));
+        this.byEntityType = Map.copyOf(grouped);
+        this.entityTypes = byEntityType.keySet();
+    }
+
+    private RegistrySnapshot(int version, Map<UUID, MorphData> byId, List<MorphData> all,
+            Map<EntityType<?>, List<MorphData>> byEntityType) {
+        this.version = version;
+        this.byId = Collections.unmodifiableMap(byId);
+        this.all = all;
+        this.byEntityType = byEntityType;
+        this.entityTypes = byEntityType.keySet();
+    }
+
+    /** New snapshot with {@code added} registered (replacing equal ids). */
+    RegistrySnapshot with(Collection<MorphData> added) {
+        Map<UUID, MorphData> next = new LinkedHashMap<>(byId);
+        for (MorphData morph : added)
+            next.put(morph.getMorphId(), morph);
+        return new RegistrySnapshot(version + 1, next);
+    }
+
+    /**
+     * New snapshot with one morph registered. A new id is appended: only its
+     * entity type's list is copied and every other list is shared with this
+     * snapshot. Still a copy per call, so batches belong in {@link #with}.
+     */
+    RegistrySnapshot with(MorphData added) {
+        if (byId.containsKey(added.getMorphId()))
+            return with(List.of(added));
+
+        Map<UUID, MorphData> nextById = new LinkedHashMap<>(byId);
+        nextById.put(added.getMorphId(), added);
+
+        MorphData[] nextAll = all.toArray(new MorphData[all.size() + 1]);
+        nextAll[all.size()] = added;
+
+        Map<EntityType<?>, List<MorphData>> nextByType = byEntityType;
+        EntityType<?> type = added.getEntityType();
+        if (type != null) {
+            List<MorphData> current = byEntityType.getOrDefault(type, List.of());
+            MorphData[] grown = current.toArray(new MorphData[current.size() + 1]);
+            grown[current.size()] = added;
+            Map<EntityType<?>, List<MorphData>> copy = new HashMap<>(byEntityType);
+            copy.put(type, List.of(grown));
+            nextByType = Map.copyOf(copy);
+        }
+        return new RegistrySnapshot(version + 1, nextById, List.of(nextAll), nextByType);
+    }
+
+    /** New snapshot without the given ids. */
+    RegistrySnapshot without(Collection<UUID> removed) {
+        return replacing(removed, List.of());
+    }
+
+    /** New snapshot with {@code removed} dropped, then {@code added} registered. */
+    RegistrySnapshot replacing(Collection<UUID> removed, Collection<MorphData> added) {
+        Map<UUID, MorphData> next = new LinkedHashMap<>(byId);
+        for (UUID id : removed)
+            next.remove(id);
+        for (MorphData morph : added)
+            next.put(morph.getMorphId(), morph);
+        return new RegistrySnapshot(version + 1, next);
+    }
+
+    /** Empty snapshot that still counts as a change from this one. */
+    RegistrySnapshot cleared() {
+        return new RegistrySnapshot(version + 1, Map.of());
+    }
+
+    MorphIndex index() {
+        MorphIndex current = index;
+        if (current == null) {
+            // Racing builders produce equal indexes; keeping either is fine
+            current = new MorphIndex(all);
+            index = current;
+        }
+        return current;
+    }
+
+    List<MorphData> forEntityType(EntityType<?> entityType) {
+        return entityType == null ? List.of() : byEntityType.getOrDefault(entityType, List.of());
+    }
+}
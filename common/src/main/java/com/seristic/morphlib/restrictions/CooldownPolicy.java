@@ -0,0 +1,145 @@
+package com.seristic.morphlib.restrictions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.seristic.morphlib.MorphData;
+
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Decides which cooldown a morph uses and how long it lasts, in game ticks.
+ *
+ * Every cooldown has a bucket: morphing starts the bucket's cooldown and
+ * blocks every morph sharing that bucket until it expires.
+ * - A per-morph cooldown has its own bucket.
+ * - A group's morphs (listed by id or by entity type) share the group's bucket.
+ * - Everything else shares the default bucket.
+ *
+ * <pre>
+ * CooldownPolicy policy = CooldownPolicy.builder()
+ *         .defaultTicks(600)
+ *         .group("undead", 1200)
+ *         .addToGroup("undead", EntityType.ZOMBIE)
+ *         .morph(dragonMorphId, 6000)
+ *         .build();
+ * </pre>
+ *
+ * Resolution is a hash lookup or two, and the policy is immutable.
+ */
+public final class CooldownPolicy {
+    /** Bucket shared by morphs without a more specific cooldown. */
+    public static final int DEFAULT_BUCKET = 0;
+
+    /** 30 seconds, the cooldown MorphLib has always used. */
+    public static final CooldownPolicy DEFAULT = builder().defaultTicks(600).build();
+
+    /** Resolved cooldown for one morph. */
+    public record Cooldown(int bucket, int ticks) {
+    }
+
+    private final Cooldown defaultCooldown;
+    private final Map<UUID, Cooldown> byMorph;
+    private final Map<EntityType<?>, Cooldown> byEntityType;
+    private final int bucketCount;
+
+    private CooldownPolicy(Builder b) {
+        this.defaultCooldown = new Cooldown(DEFAULT_BUCKET, b.defaultTicks);
+
+        Map<String, Cooldown> groups = new HashMap<>();
+        int nextBucket = DEFAULT_BUCKET + 1;
+        for (Map.Entry<String, Integer> group : b.groupTicks.entrySet())
+            groups.put(group.getKey(), new Cooldown(nextBucket++, group.getValue()));
+
+        Map<UUID, Cooldown> morphs = new HashMap<>();
+        for (Map.Entry<UUID, String> member : b.morphGroups.entrySet())
+            morphs.put(member.getKey(), groups.get(member.getValue()));
+        // Per-morph cooldowns win over group membership
+        for (Map.Entry<UUID, Integer> morph : b.morphTicks.entrySet())
+            morphs.put(morph.getKey(), new Cooldown(nextBucket++, morph.getValue()));
+
+        Map<EntityType<?>, Cooldown> entityTypes = new HashMap<>();
+        for (Map.Entry<EntityType<?>, String> member : b.entityTypeGroups.entrySet())
+            entityTypes.put(member.getKey(), groups.get(member.getValue()));
+
+        this.byMorph = Map.copyOf(morphs);
+        this.byEntityType = Map.copyOf(entityTypes);
+        this.bucketCount = nextBucket;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Cooldown for a morph: its own, then its group's (by id, then by entity
+     * type), then the default.
+     */
+    public Cooldown resolve(MorphData morph) {
+        Cooldown cooldown = byMorph.get(morph.getMorphId());
+        if (cooldown == null && morph.getEntityType() != null)
+            cooldown = byEntityType.get(morph.getEntityType());
+        return cooldown != null ? cooldown : defaultCooldown;
+    }
+
+    public Cooldown defaultCooldown() {
+        return defaultCooldown;
+    }
+
+    /** Buckets are numbered {@code 0 .. bucketCount() - 1}. */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    public static final class Builder {
+        private int defaultTicks;
+        private final Map<String, Integer> groupTicks = new HashMap<>();
+        private final Map<UUID, String> morphGroups = new HashMap<>();
+        private final Map<EntityType<?>, String> entityTypeGroups = new HashMap<>();
+        private final Map<UUID, Integer> morphTicks = new HashMap<>();
+
+        public Builder defaultTicks(int ticks) {
+            this.defaultTicks = checkTicks(ticks);
+            return this;
+        }
+
+        /** Declare a group whose morphs share one cooldown. */
+        public Builder group(String name, int ticks) {
+            groupTicks.put(name, checkTicks(ticks));
+            return this;
+        }
+
+        public Builder addToGroup(String group, UUID morphId) {
+            morphGroups.put(morphId, checkGroup(group));
+            return this;
+        }
+
+        public Builder addToGroup(String group, EntityType<?> entityType) {
+            entityTypeGroups.put(entityType, checkGroup(group));
+            return this;
+        }
+
+        /** Give one morph its own cooldown. */
+        public Builder morph(UUID morphId, int ticks) {
+            morphTicks.put(morphId, checkTicks(ticks));
+            return this;
+        }
+
+        public CooldownPolicy build() {
+            return new CooldownPolicy(this);
+        }
+
+        private String checkGroup(String group) {
+            if (!groupTicks.containsKey(group))
+                throw new IllegalArgumentException("Unknown cooldown group: " + group);
+            return group;
+        }
+
+        private static int checkTicks(int ticks) {
+            if (ticks < 0)
+                throw new IllegalArgumentException("Negative cooldown: " + ticks);
+            return ticks;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.seristic.morphlib.restrictions;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cooldown expiry ticks per player and bucket, safe to use from any thread
+ * without locks.
+ *
+ * Each player has one {@link AtomicLongArray}: one slot per bucket, plus a
+ * final slot with the latest expiry of all. Players whose cooldowns have
+ * all expired are purged lazily, at most once per {@link #PURGE_INTERVAL_TICKS}.
+ *
+ * Starting a cooldown and purging a player both run inside the map's
+ * per-key compute, so a purge can never drop a cooldown started while it
+ * was deciding.
+ */
+final class CooldownTracker {
+    // One minute
+    private static final long PURGE_INTERVAL_TICKS = 1200;
+
+    private final Map<UUID, AtomicLongArray> expiries = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeTick = new AtomicLong();
+
+    /** Ticks until {@code bucket} is off cooldown, 0 if it already is. */
+    long remaining(UUID playerId, int bucket, long now) {
+        purgeIfDue(now);
+        AtomicLongArray player = expiries.get(playerId);
+        if (player == null || bucket >= player.length() - 1)
+            return 0;
+        return Math.max(0, player.get(bucket) - now);
+    }
+
+    /**
+     * Remaining ticks for every bucket at once, for batch checks; null if the
+     * player has no cooldowns.
+     */
+    long[] remainingAll(UUID playerId, int bucketCount, long now) {
+        purgeIfDue(now);
+        AtomicLongArray player = expiries.get(playerId);
+        if (player == null || player.get(player.length() - 1) <= now)
+            return null;
+        long[] remaining = new long[bucketCount];
+        int tracked = Math.min(bucketCount, player.length() - 1);
+        for (int i = 0; i < tracked; i++)
+            remaining[i] = Math.max(0, player.get(i) - now);
+        return remaining;
+    }
+
+    /** Start {@code bucket}'s cooldown; never shortens a running one. */
+    void start(UUID playerId, int bucket, int ticks, int bucketCount, long now) {
+        if (ticks <= 0)
+            return;
+        long expiry = now + ticks;
+        expiries.compute(playerId, (id, current) -> {
+            AtomicLongArray player = grow(current, bucketCount + 1);
+            player.accumulateAndGet(bucket, expiry, Math::max);
+            player.accumulateAndGet(player.length() - 1, expiry, Math::max);
+            return player;
+        });
+    }
+
+    void clear(UUID playerId) {
+        expiries.remove(playerId);
+    }
+
+    void clearAll() {
+        expiries.clear();
+    }
+
+    int size() {
+        return expiries.size();
+    }
+
+    private void purgeIfDue(long now) {
+        long due = nextPurgeTick.get();
+        if (now < due || !nextPurgeTick.compareAndSet(due, now + PURGE_INTERVAL_TICKS))
+            return;
+        // Check and remove per key, atomically with start() for that player
+        for (UUID playerId : expiries.keySet())
+            expiries.computeIfPresent(playerId,
+                    (id, player) -> player.get(player.length() - 1) <= now ? null : player);
+    }
+
+    private static AtomicLongArray grow(AtomicLongArray current, int length) {
+        if (current != null && current.length() >= length)
+            return current;
+        AtomicLongArray grown = new AtomicLongArray(length);
+        if (current != null) {
+            for (int i = 0; i < current.length() - 1; i++)
+                grown.set(i, current.get(i));
+            grown.set(length - 1, current.get(current.length() - 1));
+        }
+        return grown;
+    }
+}
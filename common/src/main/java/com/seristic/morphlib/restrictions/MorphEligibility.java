@@ -0,0 +1,84 @@
+package com.seristic.morphlib.restrictions;
+
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Which morphs one player may use right now, from a single batch evaluation.
+ *
+ * Morphs are addressed by position {@code 0 .. size() - 1}; {@link #morphId}
+ * maps a position back to the morph. Eligible positions form a bitset, and
+ * every other position carries the {@link RestrictionReason} that refused it.
+ *
+ * When evaluated over the whole registry, positions follow registry order at
+ * {@link #registryVersion()}, so two results with the same version share the
+ * same morph at each position.
+ */
+public final class MorphEligibility {
+    /** Registry version of a result not built from the registry's listing. */
+    public static final int UNVERSIONED = -1;
+
+    public static final MorphEligibility EMPTY = new MorphEligibility(new UUID[0], new RestrictionReason[0]);
+
+    private final int registryVersion;
+    private final UUID[] morphIds;
+    private final RestrictionReason[] reasons;
+    private final BitSet eligible;
+
+    /**
+     * @param morphIds Morph at each position.
+     * @param reasons  Refusal at each position, null where eligible.
+     */
+    public MorphEligibility(UUID[] morphIds, RestrictionReason[] reasons) {
+        this(UNVERSIONED, morphIds, reasons);
+    }
+
+    /**
+     * @param registryVersion Registry version the positions follow, or {@link #UNVERSIONED}.
+     * @param morphIds        Morph at each position.
+     * @param reasons         Refusal at each position, null where eligible.
+     */
+    public MorphEligibility(int registryVersion, UUID[] morphIds, RestrictionReason[] reasons) {
+        if (morphIds.length != reasons.length)
+            throw new IllegalArgumentException("Length mismatch: " + morphIds.length + " ids, " + reasons.length
+                    + " reasons");
+        this.registryVersion = registryVersion;
+        this.morphIds = morphIds;
+        this.reasons = reasons;
+        this.eligible = new BitSet(morphIds.length);
+        for (int i = 0; i < reasons.length; i++) {
+            if (reasons[i] == null)
+                eligible.set(i);
+        }
+    }
+
+    public int registryVersion() {
+        return registryVersion;
+    }
+
+    public int size() {
+        return morphIds.length;
+    }
+
+    public UUID morphId(int position) {
+        return morphIds[position];
+    }
+
+    public boolean isEligible(int position) {
+        return eligible.get(position);
+    }
+
+    /** Why the morph at {@code position} is refused, or null if eligible. */
+    public RestrictionReason reason(int position) {
+        return reasons[position];
+    }
+
+    /** Copy of the eligible positions. */
+    public BitSet eligible() {
+        return (BitSet) eligible.clone();
+    }
+
+    public int eligibleCount() {
+        return eligible.cardinality();
+    }
+}
@@ -1,34 +1,139 @@
 package com.seristic.morphlib.restrictions;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.data.PlayerMorphHistory;
+import com.seristic.morphlib.data.PlayerMorphHistoryManager;
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import com.seristic.morphlib.registry.MorphRegistery;
 
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 
 /**
  * Manages morph restrictions including cooldowns, mana costs, and other
  * limitations.
+ *
+ * Cooldowns are measured in game ticks ({@code level().getGameTime()}), and
+ * which cooldown a morph uses comes from the {@link CooldownPolicy}.
+ *
+ * Checks are {@link MorphRestrictionRule}s run cheapest first until one
+ * refuses. Verdicts of cacheable rules are memoized per (player, morph,
+ * dimension), so checking a whole morph menu stays cheap. Only registered
+ * morphs are memoized; ad-hoc morphs are checked every time, so they cannot
+ * grow the cache.
  */
 public class MorphRestrictionManager {
     private static final MorphRestrictionManager INSTANCE = new MorphRestrictionManager();
 
-    // Player UUID -> Last morph time
-    private final Map<UUID, Long> playerCooldowns = new HashMap<>();
+    private static final long TICKS_PER_SECOND = 20;
+    private static final long MILLIS_PER_TICK = 1000 / TICKS_PER_SECOND;
 
-    // Default cooldown in milliseconds (30 seconds)
-    private static final long DEFAULT_COOLDOWN = 30000;
+    private final CooldownTracker cooldowns = new CooldownTracker();
+    private volatile CooldownPolicy cooldownPolicy = CooldownPolicy.DEFAULT;
+
+    // Sorted by cost; replaced on registration
+    private volatile NamedRule[] rules = new NamedRule[0];
+    private final VerdictCache verdicts = new VerdictCache();
+
+    // Game ticks at which running cooldowns end, soonest first
+    private final PriorityQueue<CooldownExpiry> cooldownExpiries = new PriorityQueue<>();
+    private volatile EligibilityListener eligibilityListener;
+
+    private record NamedRule(String name, MorphRestrictionRule rule) {
+    }
+
+    private record CooldownExpiry(long tick, UUID playerId) implements Comparable<CooldownExpiry> {
+        @Override
+        public int compareTo(CooldownExpiry other) {
+            return Long.compare(tick, other.tick);
+        }
+    }
+
+    /**
+     * Told when a player's morph eligibility may have changed, so the platform
+     * can re-send it; implemented per platform.
+     */
+    public interface EligibilityListener {
+        /** One player's eligibility may have changed (cooldown started, ended or cleared). */
+        void eligibilityChanged(UUID playerId);
+
+        /** Every player's eligibility may have changed (rules or morphs changed). */
+        void eligibilityChangedForAll();
+    }
 
     private MorphRestrictionManager() {
+        MetricsRegistry.getInstance().gauge("restrictions.cooldown_players", cooldowns::size);
+        registerRule("cooldown", new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                return getRemainingCooldownTicks(player, morph) > 0 ? RestrictionReason.COOLDOWN : null;
+            }
+
+            @Override
+            public PreparedCheck prepare(Player player) {
+                CooldownPolicy policy = cooldownPolicy;
+                long[] remaining = cooldowns.remainingAll(player.getUUID(), policy.bucketCount(), now(player));
+                if (remaining == null)
+                    return morph -> null;
+                return morph -> remaining[policy.resolve(morph).bucket()] > 0 ? RestrictionReason.COOLDOWN : null;
+            }
+
+            @Override
+            public int cost() {
+                return COST_TRIVIAL;
+            }
+        });
+        registerRule("mana", (player, morph) -> hasEnoughMana(player, morph) ? null : RestrictionReason.NOT_ENOUGH_MANA);
+        registerRule("dimension", new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                return isDimensionAllowed(player, morph) ? null : RestrictionReason.DIMENSION_NOT_ALLOWED;
+            }
+
+            @Override
+            public boolean isCacheable() {
+                return true;
+            }
+        });
     }
 
     public static MorphRestrictionManager getInstance() {
         return INSTANCE;
     }
 
+    public CooldownPolicy getCooldownPolicy() {
+        return cooldownPolicy;
+    }
+
+    /**
+     * Replace the cooldown policy. Running cooldowns are cleared, since their
+     * buckets may mean something else under the new policy.
+     */
+    public void setCooldownPolicy(CooldownPolicy policy) {
+        this.cooldownPolicy = policy;
+        cooldowns.clearAll();
+        synchronized (cooldownExpiries) {
+            cooldownExpiries.clear();
+        }
+        notifyAllChanged();
+    }
+
+    public void setEligibilityListener(EligibilityListener eligibilityListener) {
+        this.eligibilityListener = eligibilityListener;
+    }
+
     /**
      * Check if a player can morph into the specified form.
      * 
@@ -37,42 +142,229 @@ public class MorphRestrictionManager {
      * @return A result indicating success or the reason for failure
      */
     public MorphRestrictionResult canMorph(Player player, MorphData morphData) {
+        RestrictionReason reason = evaluate(player, morphData);
+        return reason == null ? MorphRestrictionResult.success() : reason.result();
+    }
+
+    /**
+     * Run the rule pipeline.
+     *
+     * @return null if allowed, otherwise the first refusal
+     */
+    public RestrictionReason evaluate(Player player, MorphData morphData) {
+        NamedRule[] current = rules;
+        boolean cacheableChecked = false;
+        for (NamedRule named : current) {
+            RestrictionReason reason;
+            if (named.rule().isCacheable()) {
+                // All cacheable rules are answered together, at the first one's cost slot
+                if (cacheableChecked)
+                    continue;
+                cacheableChecked = true;
+                reason = evaluateCacheable(current, player, morphData);
+            } else {
+                reason = named.rule().check(player, morphData);
+            }
+            if (reason != null)
+                return reason;
+        }
+        return null;
+    }
+
+    private RestrictionReason evaluateCacheable(NamedRule[] current, Player player, MorphData morphData) {
+        int morphId = MorphRegistery.getInstance().findInternedId(morphData.getMorphId());
+        if (morphId < 0)
+            return checkCacheable(current, player, morphData);
+
         UUID playerId = player.getUUID();
-        long currentTime = System.currentTimeMillis();
+        ResourceKey<Level> dimension = player.level().dimension();
+        long stamp = verdicts.stamp();
+        int cached = verdicts.lookup(playerId, dimension, morphId);
+        if (cached != VerdictCache.MISS) {
+            MorphMetrics.RESTRICTION_VERDICT_HITS.increment();
+            return VerdictCache.decode(cached);
+        }
+        MorphMetrics.RESTRICTION_VERDICT_MISSES.increment();
 
-        // Check cooldown
-        if (playerCooldowns.containsKey(playerId)) {
-            long lastMorphTime = playerCooldowns.get(playerId);
-            long timeSinceLastMorph = currentTime - lastMorphTime;
+        RestrictionReason reason = checkCacheable(current, player, morphData);
+        verdicts.store(playerId, dimension, stamp, morphId, reason);
+        return reason;
+    }
 
-            if (timeSinceLastMorph < DEFAULT_COOLDOWN) {
-                long remainingCooldown = DEFAULT_COOLDOWN - timeSinceLastMorph;
-                return MorphRestrictionResult
-                        .failure("Morph on cooldown for " + (remainingCooldown / 1000) + " seconds");
+    private static RestrictionReason checkCacheable(NamedRule[] current, Player player, MorphData morphData) {
+        for (NamedRule named : current) {
+            if (named.rule().isCacheable()) {
+                RestrictionReason reason = named.rule().check(player, morphData);
+                if (reason != null)
+                    return reason;
             }
         }
+        return null;
+    }
 
-        // Check mana/energy (placeholder for future implementation)
-        if (!hasEnoughMana(player, morphData)) {
-            return MorphRestrictionResult.failure("Not enough mana to morph");
+    /**
+     * Run the rule pipeline for many morphs at once. Each rule is
+     * {@link MorphRestrictionRule#prepare prepared} once for the player, and
+     * cached verdicts are read from the player's cache array directly.
+     */
+    public MorphEligibility evaluateAll(Player player, Collection<MorphData> morphs) {
+        return evaluateAll(player, MorphEligibility.UNVERSIONED, morphs);
+    }
+
+    /**
+     * {@link #evaluateAll(Player, Collection)} over the registry's listing at
+     * {@code registryVersion}, recorded on the result.
+     */
+    public MorphEligibility evaluateAll(Player player, int registryVersion, Collection<MorphData> morphs) {
+        NamedRule[] current = rules;
+        MorphRestrictionRule.PreparedCheck[] checks = new MorphRestrictionRule.PreparedCheck[current.length];
+        for (int r = 0; r < current.length; r++)
+            checks[r] = current[r].rule().prepare(player);
+
+        UUID playerId = player.getUUID();
+        ResourceKey<Level> dimension = player.level().dimension();
+        long stamp = verdicts.stamp();
+        AtomicIntegerArray cached = verdicts.verdictsFor(playerId, dimension);
+        MorphRegistery registry = MorphRegistery.getInstance();
+
+        UUID[] ids = new UUID[morphs.size()];
+        RestrictionReason[] reasons = new RestrictionReason[ids.length];
+        int i = 0;
+        for (MorphData morph : morphs) {
+            ids[i] = morph.getMorphId();
+            boolean cacheableChecked = false;
+            for (int r = 0; r < current.length && reasons[i] == null; r++) {
+                if (!current[r].rule().isCacheable()) {
+                    reasons[i] = checks[r].check(morph);
+                } else if (!cacheableChecked) {
+                    cacheableChecked = true;
+                    int morphId = registry.findInternedId(morph.getMorphId());
+                    int verdict = morphId < 0 ? VerdictCache.MISS : VerdictCache.lookup(cached, morphId);
+                    if (verdict != VerdictCache.MISS) {
+                        MorphMetrics.RESTRICTION_VERDICT_HITS.increment();
+                        reasons[i] = VerdictCache.decode(verdict);
+                    } else {
+                        for (int c = r; c < current.length && reasons[i] == null; c++) {
+                            if (current[c].rule().isCacheable())
+                                reasons[i] = checks[c].check(morph);
+                        }
+                        // Ad-hoc morphs have no interned id and are not cached
+                        if (morphId >= 0) {
+                            MorphMetrics.RESTRICTION_VERDICT_MISSES.increment();
+                            verdicts.store(playerId, dimension, stamp, morphId, reasons[i]);
+                        }
+                    }
+                }
+            }
+            i++;
         }
+        return new MorphEligibility(registryVersion, ids, reasons);
+    }
 
-        // Check dimension restrictions (placeholder)
-        if (!isDimensionAllowed(player, morphData)) {
-            return MorphRestrictionResult.failure("Cannot morph in this dimension");
+    /**
+     * Require morphs to be unlocked in the player's {@link PlayerMorphHistory}.
+     * Off by default.
+     */
+    public void setRequireUnlocks(boolean requireUnlocks) {
+        if (!requireUnlocks) {
+            unregisterRule("unlocked");
+            return;
         }
+        registerRule("unlocked", new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                return PlayerMorphHistoryManager.getInstance().getHistory(player.getUUID())
+                        .isMorphUnlocked(morph.getMorphId()) ? null : RestrictionReason.NOT_UNLOCKED;
+            }
 
-        return MorphRestrictionResult.success();
+            @Override
+            public PreparedCheck prepare(Player player) {
+                PlayerMorphHistory history = PlayerMorphHistoryManager.getInstance().getHistory(player.getUUID());
+                return morph -> history.isMorphUnlocked(morph.getMorphId()) ? null : RestrictionReason.NOT_UNLOCKED;
+            }
+        });
+    }
+
+    /**
+     * Add a rule, replacing any rule with the same name. Cached verdicts are
+     * dropped.
+     */
+    public synchronized void registerRule(String name, MorphRestrictionRule rule) {
+        List<NamedRule> updated = new ArrayList<>(Arrays.asList(rules));
+        updated.removeIf(named -> named.name().equals(name));
+        updated.add(new NamedRule(name, rule));
+        // Stable: equal costs keep registration order
+        updated.sort(Comparator.comparingInt(named -> named.rule().cost()));
+        rules = updated.toArray(NamedRule[]::new);
+        verdicts.invalidateAll();
+        notifyAllChanged();
+    }
+
+    public synchronized void unregisterRule(String name) {
+        rules = Arrays.stream(rules).filter(named -> !named.name().equals(name)).toArray(NamedRule[]::new);
+        verdicts.invalidateAll();
+        notifyAllChanged();
+    }
+
+    /**
+     * Forget a player's cached verdicts (logout, or their inputs changed).
+     */
+    public void invalidate(UUID playerId) {
+        verdicts.invalidate(playerId);
+    }
+
+    /**
+     * Forget every cached verdict (morphs reloaded, rule config changed).
+     */
+    public void invalidateAll() {
+        verdicts.invalidateAll();
+        notifyAllChanged();
     }
 
     /**
      * Record that a player has successfully morphed (for cooldown tracking).
      */
+    public void recordMorph(Player player, MorphData morphData) {
+        CooldownPolicy policy = cooldownPolicy;
+        CooldownPolicy.Cooldown cooldown = policy.resolve(morphData);
+        startCooldown(player, cooldown, policy);
+        ModLogger.debug("MorphRestrictions", "Recorded {}-tick morph cooldown for player: {}", cooldown.ticks(),
+                player.getName().getString());
+    }
+
+    /**
+     * Record a morph against the default cooldown.
+     */
     public void recordMorph(Player player) {
-        UUID playerId = player.getUUID();
-        long currentTime = System.currentTimeMillis();
-        playerCooldowns.put(playerId, currentTime);
-        ModLogger.debug("Recorded morph cooldown for player: " + player.getName().getString());
+        CooldownPolicy policy = cooldownPolicy;
+        startCooldown(player, policy.defaultCooldown(), policy);
+    }
+
+    private void startCooldown(Player player, CooldownPolicy.Cooldown cooldown, CooldownPolicy policy) {
+        if (cooldown.ticks() <= 0)
+            return;
+        long now = now(player);
+        cooldowns.start(player.getUUID(), cooldown.bucket(), cooldown.ticks(), policy.bucketCount(), now);
+        synchronized (cooldownExpiries) {
+            cooldownExpiries.add(new CooldownExpiry(now + cooldown.ticks(), player.getUUID()));
+        }
+        notifyChanged(player.getUUID());
+    }
+
+    /**
+     * Tell the {@link EligibilityListener} about every cooldown that has ended
+     * by {@code now}. Call once per server tick with the overworld game time.
+     */
+    public void tickCooldownExpiries(long now) {
+        EligibilityListener listener = eligibilityListener;
+        synchronized (cooldownExpiries) {
+            CooldownExpiry next;
+            while ((next = cooldownExpiries.peek()) != null && next.tick() <= now) {
+                cooldownExpiries.poll();
+                if (listener != null)
+                    listener.eligibilityChanged(next.playerId());
+            }
+        }
     }
 
     /**
@@ -80,24 +372,56 @@ public class MorphRestrictionManager {
      */
     public void clearCooldown(Player player) {
         UUID playerId = player.getUUID();
-        playerCooldowns.remove(playerId);
+        cooldowns.clear(playerId);
+        notifyChanged(playerId);
         ModLogger.info("Cleared morph cooldown for player: " + player.getName().getString());
     }
 
     /**
-     * Get remaining cooldown time in milliseconds.
+     * Remaining ticks before the player can morph into {@code morphData}.
+     */
+    public long getRemainingCooldownTicks(Player player, MorphData morphData) {
+        return cooldowns.remaining(player.getUUID(), cooldownPolicy.resolve(morphData).bucket(), now(player));
+    }
+
+    /**
+     * Remaining ticks on the default cooldown.
+     */
+    public long getRemainingCooldownTicks(Player player) {
+        return cooldowns.remaining(player.getUUID(), CooldownPolicy.DEFAULT_BUCKET, now(player));
+    }
+
+    /**
+     * Get remaining default cooldown time in milliseconds.
      */
     public long getRemainingCooldown(Player player) {
-        UUID playerId = player.getUUID();
-        if (!playerCooldowns.containsKey(playerId)) {
-            return 0;
-        }
+        return getRemainingCooldownTicks(player) * MILLIS_PER_TICK;
+    }
 
-        long lastMorphTime = playerCooldowns.get(playerId);
-        long timeSinceLastMorph = System.currentTimeMillis() - lastMorphTime;
-        long remaining = DEFAULT_COOLDOWN - timeSinceLastMorph;
+    /** Players with a cooldown entry that has not been purged yet. */
+    public int getTrackedCooldownCount() {
+        return cooldowns.size();
+    }
 
-        return Math.max(0, remaining);
+    /** Whole seconds, rounded up so "0 seconds" is never shown. */
+    public static long ticksToSeconds(long ticks) {
+        return (ticks + TICKS_PER_SECOND - 1) / TICKS_PER_SECOND;
+    }
+
+    private static long now(Player player) {
+        return player.level().getGameTime();
+    }
+
+    private void notifyChanged(UUID playerId) {
+        EligibilityListener listener = eligibilityListener;
+        if (listener != null)
+            listener.eligibilityChanged(playerId);
+    }
+
+    private void notifyAllChanged() {
+        EligibilityListener listener = eligibilityListener;
+        if (listener != null)
+            listener.eligibilityChangedForAll();
     }
 
     // Placeholder methods for future features
@@ -115,26 +439,44 @@ public class MorphRestrictionManager {
      * Result class for morph restriction checks.
      */
     public static class MorphRestrictionResult {
+        private static final MorphRestrictionResult SUCCESS = new MorphRestrictionResult(true, null, null);
+
         private final boolean allowed;
+        private final RestrictionReason reasonCode;
         private final String reason;
 
-        private MorphRestrictionResult(boolean allowed, String reason) {
+        private MorphRestrictionResult(boolean allowed, RestrictionReason reasonCode, String reason) {
             this.allowed = allowed;
+            this.reasonCode = reasonCode;
             this.reason = reason;
         }
 
         public static MorphRestrictionResult success() {
-            return new MorphRestrictionResult(true, null);
+            return SUCCESS;
+        }
+
+        public static MorphRestrictionResult failure(RestrictionReason reason) {
+            return reason.result();
         }
 
         public static MorphRestrictionResult failure(String reason) {
-            return new MorphRestrictionResult(false, reason);
+            return new MorphRestrictionResult(false, RestrictionReason.CUSTOM, reason);
+        }
+
+        /** Builds the shared result held by each reason. */
+        static MorphRestrictionResult forReason(RestrictionReason reason) {
+            return new MorphRestrictionResult(false, reason, reason.message());
         }
 
         public boolean isAllowed() {
             return allowed;
         }
 
+        /** Null when allowed. */
+        public RestrictionReason getReasonCode() {
+            return reasonCode;
+        }
+
         public String getReason() {
             return reason;
         }
@@ -0,0 +1,54 @@
+package com.seristic.morphlib.restrictions;
+
+import com.seristic.morphlib.MorphData;
+
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * One check in the restriction pipeline. Rules run cheapest first
+ * ({@link #cost()}) and the first refusal wins.
+ *
+ * A rule whose verdict depends only on the player, the morph and the
+ * player's dimension may declare itself {@link #isCacheable() cacheable}; its
+ * verdict is then memoized until {@link MorphRestrictionManager#invalidate}
+ * or {@link MorphRestrictionManager#invalidateAll} is called.
+ *
+ * For batch checks the rule is first {@link #prepare prepared} for the
+ * player, so per-player work (lookups, clocks) runs once per batch.
+ */
+@FunctionalInterface
+public interface MorphRestrictionRule {
+    /** Map or field lookups. */
+    int COST_TRIVIAL = 0;
+    /** A little computation, e.g. reading player attachments. */
+    int COST_CHEAP = 10;
+    /** Anything that searches, scans or calls into other mods. */
+    int COST_EXPENSIVE = 100;
+
+    /**
+     * @return null if allowed, otherwise why not.
+     */
+    RestrictionReason check(Player player, MorphData morph);
+
+    /**
+     * Bind this rule to one player for checking many morphs. The default
+     * simply calls {@link #check} for each.
+     */
+    default PreparedCheck prepare(Player player) {
+        return morph -> check(player, morph);
+    }
+
+    default int cost() {
+        return COST_CHEAP;
+    }
+
+    default boolean isCacheable() {
+        return false;
+    }
+
+    /** A rule bound to one player. */
+    @FunctionalInterface
+    interface PreparedCheck {
+        RestrictionReason check(MorphData morph);
+    }
+}
@@ -0,0 +1,93 @@
+package com.seristic.morphlib.restrictions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Why a morph was refused. Reasons are registered once and compared by
+ * identity; each carries a pre-built failure result, so refusing a morph
+ * allocates nothing.
+ *
+ * Addons register their own with {@link #register}; the key also forms the
+ * translation key ({@code morphlib.restriction.<key>}).
+ */
+public final class RestrictionReason {
+    private static final Map<String, RestrictionReason> BY_KEY = new ConcurrentHashMap<>();
+    private static final List<RestrictionReason> BY_ID = new CopyOnWriteArrayList<>();
+
+    public static final RestrictionReason COOLDOWN = register("cooldown", "Morph is on cooldown");
+    public static final RestrictionReason NOT_ENOUGH_MANA = register("not_enough_mana", "Not enough mana to morph");
+    public static final RestrictionReason DIMENSION_NOT_ALLOWED = register("dimension_not_allowed",
+            "Cannot morph in this dimension");
+    public static final RestrictionReason NOT_UNLOCKED = register("not_unlocked", "Morph not unlocked");
+    /** Failures built from a free-form message. */
+    public static final RestrictionReason CUSTOM = register("custom", "Morph not allowed");
+
+    private final int id;
+    private final String key;
+    private final String message;
+    private final MorphRestrictionManager.MorphRestrictionResult result;
+
+    private RestrictionReason(int id, String key, String message) {
+        this.id = id;
+        this.key = key;
+        this.message = message;
+        this.result = MorphRestrictionManager.MorphRestrictionResult.forReason(this);
+    }
+
+    /**
+     * Register a reason, or return the existing one with the same key.
+     */
+    public static RestrictionReason register(String key, String message) {
+        return BY_KEY.computeIfAbsent(key, k -> {
+            synchronized (BY_ID) {
+                RestrictionReason reason = new RestrictionReason(BY_ID.size(), k, message);
+                BY_ID.add(reason);
+                return reason;
+            }
+        });
+    }
+
+    /**
+     * The reason registered under {@code key}, or null. Unlike
+     * {@link #register} this never adds one, so it is safe for keys read from
+     * the network.
+     */
+    public static RestrictionReason byKey(String key) {
+        return BY_KEY.get(key);
+    }
+
+    /** Reason for a dense id from {@link #id()}. */
+    static RestrictionReason byId(int id) {
+        return BY_ID.get(id);
+    }
+
+    /** Dense id, 0, 1, 2... in registration order. */
+    public int id() {
+        return id;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public String translationKey() {
+        return "morphlib.restriction." + key;
+    }
+
+    /** The shared failure result for this reason. */
+    public MorphRestrictionManager.MorphRestrictionResult result() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,116 @@
+package com.seristic.morphlib.restrictions;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+/**
+ * Memoized verdicts of the cacheable restriction rules per (player, morph,
+ * dimension).
+ *
+ * Each player has one array indexed by interned morph id, valid for a single
+ * dimension and cache generation. Changing dimension or bumping the
+ * generation ({@link #invalidateAll}) makes the old array miss, so
+ * invalidation is O(1).
+ *
+ * Verdicts are stored with the {@link #stamp} taken before they were
+ * computed. Any invalidation since then, for any player, makes the store a
+ * no-op, so a verdict computed from old inputs is never written back after
+ * the invalidation that should have dropped it.
+ */
+final class VerdictCache {
+    static final int MISS = 0;
+    private static final int ALLOWED = 1;
+    // Refusals are stored as reason id + REASON_OFFSET
+    private static final int REASON_OFFSET = 2;
+    private static final int MIN_LENGTH = 64;
+
+    private final Map<UUID, Entry> byPlayer = new ConcurrentHashMap<>();
+    private volatile int generation;
+    // Bumped by every per-player invalidation
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    private record Entry(ResourceKey<Level> dimension, int generation, AtomicIntegerArray verdicts) {
+    }
+
+    /** Take before computing verdicts and pass to {@link #store}. */
+    long stamp() {
+        return ((long) generation << 32) | (evictions.get() & 0xFFFFFFFFL);
+    }
+
+    /** Encoded verdict, or {@link #MISS}; decode with {@link #decode}. */
+    int lookup(UUID playerId, ResourceKey<Level> dimension, int morphId) {
+        Entry entry = byPlayer.get(playerId);
+        if (entry == null || entry.generation() != generation || !entry.dimension().equals(dimension)
+                || morphId >= entry.verdicts().length())
+            return MISS;
+        return entry.verdicts().get(morphId);
+    }
+
+    /**
+     * The player's verdict array for batch lookups, or null if it holds
+     * nothing valid for this dimension and generation. Read entries with
+     * {@link #lookup(AtomicIntegerArray, int)}.
+     */
+    AtomicIntegerArray verdictsFor(UUID playerId, ResourceKey<Level> dimension) {
+        Entry entry = byPlayer.get(playerId);
+        if (entry == null || entry.generation() != generation || !entry.dimension().equals(dimension))
+            return null;
+        return entry.verdicts();
+    }
+
+    static int lookup(AtomicIntegerArray verdicts, int morphId) {
+        return verdicts != null && morphId < verdicts.length() ? verdicts.get(morphId) : MISS;
+    }
+
+    /**
+     * Store a verdict computed after {@code stamp} was taken; dropped if the
+     * cache was invalidated in the meantime.
+     */
+    void store(UUID playerId, ResourceKey<Level> dimension, long stamp, int morphId, RestrictionReason reason) {
+        int generation = (int) (stamp >>> 32);
+        int verdict = reason == null ? ALLOWED : reason.id() + REASON_OFFSET;
+        // Checked and written inside compute(): invalidate() bumps evictions
+        // and then removes the same key, so it either makes this a no-op or
+        // removes the entry after it was written
+        byPlayer.compute(playerId, (id, current) -> {
+            if (stamp != stamp())
+                return current;
+            Entry entry = ensure(current, dimension, generation, morphId);
+            entry.verdicts().set(morphId, verdict);
+            return entry;
+        });
+    }
+
+    static RestrictionReason decode(int verdict) {
+        return verdict == ALLOWED ? null : RestrictionReason.byId(verdict - REASON_OFFSET);
+    }
+
+    void invalidate(UUID playerId) {
+        evictions.incrementAndGet();
+        byPlayer.remove(playerId);
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        byPlayer.clear();
+    }
+
+    private static Entry ensure(Entry current, ResourceKey<Level> dimension, int generation, int morphId) {
+        if (current == null || current.generation() != generation || !current.dimension().equals(dimension))
+            return new Entry(dimension, generation, new AtomicIntegerArray(Math.max(MIN_LENGTH, morphId + 1)));
+
+        AtomicIntegerArray verdicts = current.verdicts();
+        if (morphId < verdicts.length())
+            return current;
+        AtomicIntegerArray grown = new AtomicIntegerArray(Math.max(verdicts.length() * 2, morphId + 1));
+        for (int i = 0; i < verdicts.length(); i++)
+            grown.set(i, verdicts.get(i));
+        return new Entry(dimension, generation, grown);
+    }
+}
@@ -0,0 +1,301 @@
+package com.seristic.morphlib.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.MorphManager;
+import com.seristic.morphlib.events.MorphEvents;
+import com.seristic.morphlib.events.PreMorphEvent;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TraceContext;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import com.seristic.morphlib.registry.MorphRegistery;
+import com.seristic.morphlib.restrictions.MorphRestrictionManager;
+import com.seristic.morphlib.restrictions.RestrictionReason;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * The one path by which the server morphs or reverts an entity.
+ *
+ * Requests may be submitted from any thread; they are queued and processed on
+ * the server thread by {@link #tick()}, at most {@link #getMaxRequestsPerTick()}
+ * per call. Each request runs the stages validate, restrict, pre-event, apply,
+ * schedule sync and post-event. Syncs are coalesced per entity and sent once
+ * at the end of the batch through the platform's {@link SyncSink}.
+ */
+public class MorphPipeline {
+    private static final MorphPipeline INSTANCE = new MorphPipeline();
+
+    public static final int DEFAULT_MAX_REQUESTS_PER_TICK = 32;
+    public static final int DEFAULT_MAX_QUEUED = 4096;
+
+    private final MorphRegistery registry = MorphRegistery.getInstance();
+    private final MorphRestrictionManager restrictions = MorphRestrictionManager.getInstance();
+
+    private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // Server thread only; the last state per entity wins
+    private final Map<Entity, PendingSync> pendingSyncs = new LinkedHashMap<>();
+
+    private volatile SyncSink syncSink;
+    private volatile int maxRequestsPerTick = DEFAULT_MAX_REQUESTS_PER_TICK;
+    private volatile int maxQueued = DEFAULT_MAX_QUEUED;
+
+    /**
+     * Sends morph state to clients; implemented per platform.
+     */
+    public interface SyncSink {
+        void syncMorph(Entity entity, MorphData morphData);
+
+        void syncRemoval(Entity entity);
+    }
+
+    public enum Status {
+        APPLIED,
+        /** Entity gone or morph unusable. */
+        INVALID,
+        /** Refused by a restriction rule; see {@link Result#reason()}. */
+        RESTRICTED,
+        /** Cancelled by a pre-morph listener. */
+        CANCELLED,
+        /** Not queued: the pipeline was full or shut down. */
+        REJECTED
+    }
+
+    /**
+     * Outcome of one request.
+     *
+     * @param reason  Restriction that refused it, only for {@link Status#RESTRICTED}.
+     * @param message Human readable detail, may be null.
+     */
+    public record Result(Status status, RestrictionReason reason, String message) {
+        public static final Result APPLIED = new Result(Status.APPLIED, null, null);
+        public static final Result REJECTED = new Result(Status.REJECTED, null, "Morph queue is full or shut down");
+
+        public static Result invalid(String message) {
+            return new Result(Status.INVALID, null, message);
+        }
+
+        public static Result restricted(RestrictionReason reason) {
+            return new Result(Status.RESTRICTED, reason, reason.message());
+        }
+
+        public static Result cancelled(String message) {
+            return new Result(Status.CANCELLED, null, message);
+        }
+
+        public boolean isApplied() {
+            return status == Status.APPLIED;
+        }
+    }
+
+    private record Request(Entity entity, MorphData morph, boolean bypassRestrictions, long traceId,
+            long traceStartMillis, long submittedNanos, CompletableFuture<Result> result) {
+    }
+
+    private record PendingSync(MorphData morph, long traceId, long traceStartMillis) {
+    }
+
+    private MorphPipeline() {
+        MetricsRegistry.getInstance().gauge("pipeline.queued", queued::get);
+    }
+
+    public static MorphPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    public void setSyncSink(SyncSink syncSink) {
+        this.syncSink = syncSink;
+    }
+
+    public int getMaxRequestsPerTick() {
+        return maxRequestsPerTick;
+    }
+
+    /** How many queued requests one {@link #tick()} may process. */
+    public void setMaxRequestsPerTick(int maxRequestsPerTick) {
+        if (maxRequestsPerTick < 1)
+            throw new IllegalArgumentException("maxRequestsPerTick must be positive: " + maxRequestsPerTick);
+        this.maxRequestsPerTick = maxRequestsPerTick;
+    }
+
+    /** Queue capacity; requests beyond it complete as {@link Status#REJECTED}. */
+    public void setMaxQueued(int maxQueued) {
+        if (maxQueued < 1)
+            throw new IllegalArgumentException("maxQueued must be positive: " + maxQueued);
+        this.maxQueued = maxQueued;
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Queue a morph for the next server tick. The current trace (or a new one)
+     * follows the request through every stage.
+     *
+     * @param morph              Target morph, or null to revert to the
+     *                           entity's own form.
+     * @param bypassRestrictions Skip the restriction stage and start no
+     *                           cooldown, e.g. for operator commands.
+     * @return Completed on the server thread once the request was processed.
+     */
+    public CompletableFuture<Result> submit(Entity entity, MorphData morph, boolean bypassRestrictions) {
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            MorphMetrics.PIPELINE_REJECTED.increment();
+            ModLogger.warn("MorphPipeline", "⚠️ Morph queue full, rejected request for entity {}", entity.getUUID());
+            result.complete(Result.REJECTED);
+            return result;
+        }
+        TraceContext trace = TraceContext.currentOrNew();
+        queue.add(new Request(entity, morph, bypassRestrictions, trace.traceId(), trace.startMillis(),
+                System.nanoTime(), result));
+        return result;
+    }
+
+    /** Queue a revert to the entity's own form. */
+    public CompletableFuture<Result> submitRevert(Entity entity, boolean bypassRestrictions) {
+        return submit(entity, null, bypassRestrictions);
+    }
+
+    /**
+     * Process up to {@link #getMaxRequestsPerTick()} queued requests and send
+     * the resulting syncs. Call once per server tick, on the server thread.
+     */
+    public void tick() {
+        if (queued.get() == 0)
+            return;
+
+        long start = System.nanoTime();
+        int budget = maxRequestsPerTick;
+        Request request;
+        while (budget-- > 0 && (request = queue.poll()) != null) {
+            queued.decrementAndGet();
+            MorphMetrics.PIPELINE_QUEUE_WAIT.recordSince(request.submittedNanos());
+
+            Result result;
+            try (TraceContext.Scope trace = TraceContext.resume(request.traceId(), request.traceStartMillis())) {
+                result = process(request);
+            } catch (RuntimeException e) {
+                ModLogger.error("MorphPipeline", "💥 Morph request failed for entity {}", request.entity().getUUID(),
+                        e);
+                result = Result.invalid(e.getMessage());
+            }
+
+            if (result.isApplied())
+                MorphMetrics.PIPELINE_APPLIED.increment();
+            else
+                MorphMetrics.PIPELINE_REFUSED.increment();
+            request.result().complete(result);
+        }
+
+        flushSyncs();
+        MorphMetrics.PIPELINE_BATCH_TIME.recordSince(start);
+    }
+
+    /**
+     * Drop every queued request, completing them as {@link Status#REJECTED};
+     * for server shutdown.
+     */
+    public void clear() {
+        Request request;
+        while ((request = queue.poll()) != null) {
+            queued.decrementAndGet();
+            request.result().complete(Result.REJECTED);
+        }
+        pendingSyncs.clear();
+    }
+
+    private Result process(Request request) {
+        Entity entity = request.entity();
+        MorphData target = request.morph();
+
+        // 1. Validate
+        if (entity.isRemoved())
+            return Result.invalid("Entity is no longer in the world");
+        if (target != null && target.getEntityType() == null)
+            return Result.invalid("Morph has no entity type");
+        MorphData current = MorphManager.getMorph(entity);
+        if (target == null && current == null) {
+            ModLogger.debug("MorphPipeline", "Entity {} is already in its own form", entity.getUUID());
+            return Result.APPLIED;
+        }
+
+        // 2. Restrict
+        if (target != null && !request.bypassRestrictions() && entity instanceof Player player) {
+            RestrictionReason reason = restrictions.evaluate(player, target);
+            if (reason != null) {
+                ModLogger.info("MorphPipeline", "Morph blocked for entity {}: {}", entity.getUUID(), reason);
+                return Result.restricted(reason);
+            }
+        }
+
+        // 3. Pre-event
+        PreMorphEvent preEvent = MorphEvents.firePreMorph(entity, current, target);
+        if (preEvent != null && preEvent.isCancelled()) {
+            ModLogger.info("MorphPipeline", "Morph for entity {} cancelled: {}", entity.getUUID(),
+                    preEvent.getCancelReason());
+            return Result.cancelled(preEvent.getCancelReason());
+        }
+
+        // 4. Apply
+        if (target != null) {
+            if (!MorphManager.tryApplyMorph(entity, target, false))
+                return Result.invalid("Morph could not be applied");
+            if (registry.isMorphAvailable(target.getMorphId()))
+                registry.setActiveMorph(entity.getUUID(), target.getMorphId());
+            else
+                registry.clearActiveMorph(entity.getUUID());
+            if (!request.bypassRestrictions() && entity instanceof Player player)
+                restrictions.recordMorph(player, target);
+        } else {
+            if (!MorphManager.tryRemoveMorph(entity, false))
+                return Result.invalid("Morph could not be removed");
+            registry.clearActiveMorph(entity.getUUID());
+        }
+
+        // 5. Schedule sync
+        pendingSyncs.put(entity, new PendingSync(target, request.traceId(), request.traceStartMillis()));
+
+        // 6. Post-event
+        MorphEvents.firePostMorph(entity, current, target);
+
+        ModLogger.info("MorphPipeline", "Entity {} morphed from {} to {}", entity.getUUID(),
+                current != null ? current.getEntityType() : "own form",
+                target != null ? target.getEntityType() : "own form");
+        return Result.APPLIED;
+    }
+
+    private void flushSyncs() {
+        if (pendingSyncs.isEmpty())
+            return;
+        SyncSink sink = syncSink;
+        if (sink != null) {
+            for (Map.Entry<Entity, PendingSync> entry : pendingSyncs.entrySet()) {
+                Entity entity = entry.getKey();
+                PendingSync sync = entry.getValue();
+                if (entity.isRemoved())
+                    continue;
+                try (TraceContext.Scope trace = TraceContext.resume(sync.traceId(), sync.traceStartMillis())) {
+                    if (sync.morph() != null)
+                        sink.syncMorph(entity, sync.morph());
+                    else
+                        sink.syncRemoval(entity);
+                } catch (RuntimeException e) {
+                    ModLogger.error("MorphPipeline", "💥 Morph sync failed for entity {}", entity.getUUID(), e);
+                }
+            }
+        }
+        pendingSyncs.clear();
+    }
+}
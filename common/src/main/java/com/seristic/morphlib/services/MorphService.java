@@ -2,12 +2,14 @@ package com.seristic.morphlib.services;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import com.seristic.morphlib.MorphData;
-import com.seristic.morphlib.events.PostMorphEvent;
-import com.seristic.morphlib.events.PreMorphEvent;
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TraceContext;
+import com.seristic.morphlib.registry.MorphQuery;
 import com.seristic.morphlib.registry.MorphRegistery;
+import com.seristic.morphlib.restrictions.MorphEligibility;
 import com.seristic.morphlib.restrictions.MorphRestrictionManager;
 
 import net.minecraft.world.entity.player.Player;
@@ -21,6 +23,7 @@ public class MorphService {
 
     private final MorphRegistery registry = MorphRegistery.getInstance();
     private final MorphRestrictionManager restrictions = MorphRestrictionManager.getInstance();
+    private final MorphPipeline pipeline = MorphPipeline.getInstance();
 
     private MorphService() {
     }
@@ -30,87 +33,33 @@ public class MorphService {
     }
 
     /**
-     * Attempt to morph a player into the specified form.
+     * Queue a player's morph into the specified form through the
+     * {@link MorphPipeline}, restrictions included.
      * 
      * @param player        The player to morph
      * @param targetMorphId The UUID of the morph to transform into
-     * @return true if the morph was successful, false otherwise
+     * @return Completed on the server thread with the outcome
      */
-    public boolean morphPlayer(Player player, UUID targetMorphId) {
-        // Get current and target morph data
-        MorphData currentMorph = registry.getActiveMorph(player.getUUID());
-        MorphData targetMorph = registry.getMorphById(targetMorphId);
-
-        if (targetMorph == null) {
-            ModLogger.warn("Attempted to morph player " + player.getName().getString() + " into non-existent morph: "
-                    + targetMorphId);
-            return false;
-        }
-
-        // Check restrictions
-        var restrictionResult = restrictions.canMorph(player, targetMorph);
-        if (!restrictionResult.isAllowed()) {
-            ModLogger.info(
-                    "Morph blocked for player " + player.getName().getString() + ": " + restrictionResult.getReason());
-            // TODO: Send message to player about restriction
-            return false;
+    public CompletableFuture<MorphPipeline.Result> morphPlayer(Player player, UUID targetMorphId) {
+        // Everything logged or synced for this request shares one trace id
+        try (TraceContext.Scope trace = TraceContext.begin()) {
+            MorphData targetMorph = registry.getMorphById(targetMorphId);
+            if (targetMorph == null) {
+                ModLogger.warn("MorphService", "Attempted to morph player {} into non-existent morph: {}",
+                        player.getName().getString(), targetMorphId);
+                return CompletableFuture.completedFuture(MorphPipeline.Result.invalid("Unknown morph"));
+            }
+            return pipeline.submit(player, targetMorph, false);
         }
-
-        // Fire pre-morph event
-        PreMorphEvent preEvent = new PreMorphEvent(player, currentMorph, targetMorph);
-        // TODO: Fire event through platform-specific event bus
-
-        if (preEvent.isCancelled()) {
-            ModLogger.info("Morph cancelled by event for player " + player.getName().getString() +
-                    (preEvent.getCancelReason() != null ? ": " + preEvent.getCancelReason() : ""));
-            return false;
-        }
-
-        // Perform the morph
-        registry.setActiveMorph(player.getUUID(), targetMorphId);
-        restrictions.recordMorph(player);
-
-        // Fire post-morph event
-        PostMorphEvent postEvent = new PostMorphEvent(player, currentMorph, targetMorph);
-        // TODO: Fire event through platform-specific event bus
-
-        ModLogger.info("Player " + player.getName().getString() + " morphed from " +
-                (currentMorph != null ? currentMorph.getEntityType() : "human") +
-                " to " + targetMorph.getEntityType());
-
-        return true;
     }
 
     /**
-     * Revert a player back to their human form.
+     * Queue a player's revert to their human form.
      */
-    public boolean revertPlayer(Player player) {
-        MorphData currentMorph = registry.getActiveMorph(player.getUUID());
-
-        if (currentMorph == null) {
-            ModLogger.debug("Player " + player.getName().getString() + " is already in human form");
-            return true; // Already human
-        }
-
-        // Create human morph data (null represents human form)
-        PreMorphEvent preEvent = new PreMorphEvent(player, currentMorph, null);
-        // TODO: Fire event through platform-specific event bus
-
-        if (preEvent.isCancelled()) {
-            ModLogger.info("Morph reversion cancelled by event for player " + player.getName().getString());
-            return false;
+    public CompletableFuture<MorphPipeline.Result> revertPlayer(Player player) {
+        try (TraceContext.Scope trace = TraceContext.begin()) {
+            return pipeline.submitRevert(player, false);
         }
-
-        // Revert to human
-        registry.clearActiveMorph(player.getUUID());
-
-        PostMorphEvent postEvent = new PostMorphEvent(player, currentMorph, null);
-        // TODO: Fire event through platform-specific event bus
-
-        ModLogger.info("Player " + player.getName().getString() + " reverted from " + currentMorph.getEntityType()
-                + " to human");
-
-        return true;
     }
 
     /**
@@ -118,8 +67,26 @@ public class MorphService {
      * etc.).
      */
     public List<MorphData> getAvailableMorphs(Player player) {
+        return getAvailableMorphs(player, MorphQuery.ALL);
+    }
+
+    /**
+     * Get the available morphs for a player that match a query (entity type,
+     * gender, body type, skin, parameter ranges).
+     */
+    public List<MorphData> getAvailableMorphs(Player player, MorphQuery query) {
         // TODO: Filter based on player's unlocked morphs, current restrictions, etc.
-        return registry.getAvailableMorphs().stream().toList();
+        return registry.query(query);
+    }
+
+    /**
+     * Eligibility of every registered morph for a player, evaluated in one
+     * pass: per-player state (cooldowns, unlocks, cached verdicts) is looked
+     * up once rather than once per morph.
+     */
+    public MorphEligibility evaluateAll(Player player) {
+        MorphRegistery.VersionedMorphs listing = registry.getVersionedMorphs();
+        return restrictions.evaluateAll(player, listing.version(), listing.morphs());
     }
 
     /**
@@ -127,14 +94,13 @@ public class MorphService {
      * morph).
      */
     public boolean canPlayerMorph(Player player) {
-        long remainingCooldown = restrictions.getRemainingCooldown(player);
-        return remainingCooldown <= 0;
+        return restrictions.getRemainingCooldownTicks(player) <= 0;
     }
 
     /**
      * Get remaining cooldown time for a player in seconds.
      */
     public long getPlayerCooldownSeconds(Player player) {
-        return restrictions.getRemainingCooldown(player) / 1000;
+        return MorphRestrictionManager.ticksToSeconds(restrictions.getRemainingCooldownTicks(player));
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.seristic.morphlib;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Minimal timing harness for the tests tagged {@value #TAG}, run with
+ * {@code ./gradlew :common:benchmark}. Not JMH: the numbers are for
+ * comparing alternatives on one machine, not for absolute claims.
+ */
+public final class BenchmarkSupport {
+    public static final String TAG = "benchmark";
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Time per operation and bytes allocated per operation on the calling
+     * thread.
+     */
+    public record Measurement(String name, long operations, long nanos, long allocatedBytes) {
+        public double nanosPerOp() {
+            return (double) nanos / operations;
+        }
+
+        public double bytesPerOp() {
+            return (double) allocatedBytes / operations;
+        }
+
+        public double opsPerSecond() {
+            return operations * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %10.1f ns/op %8.1f B/op %,14.0f ops/s", name, nanosPerOp(), bytesPerOp(),
+                    opsPerSecond());
+        }
+    }
+
+    /**
+     * Run {@code operation} {@code operations} times after {@code warmupRounds}
+     * untimed rounds of the same size, and print the result.
+     */
+    public static Measurement measure(String name, int warmupRounds, long operations, Runnable operation) {
+        for (int round = 0; round < warmupRounds; round++) {
+            for (long i = 0; i < operations; i++)
+                operation.run();
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (long i = 0; i < operations; i++)
+            operation.run();
+        long nanos = System.nanoTime() - start;
+        Measurement measurement = new Measurement(name, operations, nanos, allocatedBytes() - allocatedBefore);
+        report(measurement);
+        return measurement;
+    }
+
+    public static void report(Object result) {
+        System.out.println("[benchmark] " + result);
+    }
+
+    /** Bytes allocated so far by the calling thread. */
+    public static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,96 @@
+package com.seristic.morphlib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.morph.MorphAnchors;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Caching of {@link MorphStack#combine()} and of the anchors derived from it.
+ */
+class MorphStackTest {
+    @TempDir
+    static Path logDirectory;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        ModLogger.init("morphlib-test", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @Test
+    void combineIsCachedUntilTheLayersChange() {
+        MorphStack stack = new MorphStack();
+        stack.addLayer("base", 0, morph(EntityType.VILLAGER, MorphData.Gender.MALE));
+        MorphData first = stack.combine();
+
+        assertSame(first, stack.combine());
+        // The same morph state means the anchor buffer is not rebuilt
+        assertSame(first.getAnchors(), stack.combine().getAnchors());
+
+        stack.addLayer("override", 10, morph(EntityType.ZOMBIE, MorphData.Gender.FEMALE));
+        MorphData second = stack.combine();
+        assertNotSame(first, second);
+        assertEquals(EntityType.ZOMBIE, second.getEntityType());
+        assertEquals(MorphData.Gender.FEMALE, second.getGender());
+
+        stack.removeLayer("missing");
+        assertSame(second, stack.combine());
+
+        stack.removeLayer("override");
+        assertEquals(EntityType.VILLAGER, stack.combine().getEntityType());
+    }
+
+    @Test
+    void invalidatePicksUpInPlaceLayerEdits() {
+        MorphData base = morph(EntityType.VILLAGER, MorphData.Gender.MALE);
+        MorphStack stack = new MorphStack();
+        stack.addLayer("base", 0, base);
+        stack.combine();
+
+        base.setEntityType(EntityType.PIG);
+        stack.invalidate();
+
+        assertEquals(EntityType.PIG, stack.combine().getEntityType());
+    }
+
+    @Test
+    void replacingAnAnchorRecomputesBuffers() {
+        int id = MorphAnchors.register("test_replaced", (state, out, i) -> out[i] = 1.0f);
+        MorphData data = new MorphData();
+        assertEquals(1.0f, data.getAnchors().x(id));
+
+        // Same state and anchor count: only the registry version tells the buffer
+        MorphAnchors.register("test_replaced", (state, out, i) -> out[i] = 2.0f);
+
+        assertEquals(2.0f, data.getAnchors().x(id));
+    }
+
+    private static MorphData morph(EntityType<?> type, MorphData.Gender gender) {
+        return MorphData.create(type, gender, MorphData.BodyType.NORMAL, null);
+    }
+}
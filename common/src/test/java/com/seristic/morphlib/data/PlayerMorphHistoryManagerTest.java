@@ -0,0 +1,196 @@
+package com.seristic.morphlib.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MorphMetrics;
+
+/**
+ * Durability and write-behind behaviour of {@link PlayerMorphHistoryManager}.
+ */
+class PlayerMorphHistoryManagerTest {
+    // Long enough that only stop() or an explicit wait flushes
+    private static final Duration NO_PERIODIC_FLUSH = Duration.ofHours(1);
+    // Run game-thread work inline
+    private static final Executor GAME_THREAD = Runnable::run;
+
+    @TempDir
+    static Path logDirectory;
+
+    @TempDir
+    Path saveDirectory;
+
+    private final PlayerMorphHistoryManager manager = PlayerMorphHistoryManager.getInstance();
+
+    @BeforeAll
+    static void initLogger() {
+        ModLogger.init("morphlib-test", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @BeforeEach
+    void start() {
+        manager.start(saveDirectory, GAME_THREAD, NO_PERIODIC_FLUSH);
+    }
+
+    @AfterEach
+    void stop() {
+        manager.stop();
+        manager.clearAll();
+    }
+
+    @Test
+    void historySurvivesStopAndStart() {
+        UUID player = UUID.randomUUID();
+        UUID morph = UUID.randomUUID();
+        UUID favorite = UUID.randomUUID();
+
+        manager.onPlayerLogin(player);
+        PlayerMorphHistory history = manager.getHistory(player);
+        history.unlockMorph(morph);
+        // Only unlocked morphs can be favorites
+        history.unlockMorph(favorite);
+        history.addToFavorites(favorite);
+        history.addToRecentHistory(morph);
+
+        restart();
+
+        PlayerMorphHistory loaded = manager.getHistory(player);
+        assertTrue(loaded.isMorphUnlocked(morph));
+        assertTrue(loaded.isMorphFavorite(favorite));
+        assertEquals(List.of(morph), loaded.getRecentMorphs());
+        assertFalse(loaded.isDirty());
+    }
+
+    @Test
+    void logoutQueuesUnsavedChanges() {
+        UUID player = UUID.randomUUID();
+        UUID morph = UUID.randomUUID();
+
+        manager.onPlayerLogin(player);
+        manager.getHistory(player).unlockMorph(morph);
+        manager.onPlayerLogout(player);
+
+        assertEquals(1, manager.getPendingWriteCount());
+        restart();
+        assertTrue(manager.getHistory(player).isMorphUnlocked(morph));
+    }
+
+    @Test
+    void cleanLogoutQueuesNothing() {
+        UUID player = UUID.randomUUID();
+
+        manager.onPlayerLogin(player);
+        manager.onPlayerLogout(player);
+
+        assertEquals(0, manager.getPendingWriteCount());
+    }
+
+    @Test
+    void evictionFromOfflineCacheQueuesUnsavedChanges() {
+        UUID morph = UUID.randomUUID();
+        List<UUID> players = new ArrayList<>();
+        // Offline histories changed without a login; only eviction snapshots them
+        for (int i = 0; i <= PlayerMorphHistoryManager.MAX_OFFLINE_CACHED; i++) {
+            UUID player = UUID.randomUUID();
+            players.add(player);
+            manager.getHistory(player).unlockMorph(morph);
+        }
+
+        assertEquals(PlayerMorphHistoryManager.MAX_OFFLINE_CACHED, manager.getCachedCount());
+        assertEquals(1, manager.getPendingWriteCount());
+
+        restart();
+        for (UUID player : players)
+            assertTrue(manager.getHistory(player).isMorphUnlocked(morph), "lost history of " + player);
+    }
+
+    @Test
+    void evictedHistoryIsReadBackBeforeItIsWritten() {
+        UUID morph = UUID.randomUUID();
+        UUID evicted = UUID.randomUUID();
+        manager.getHistory(evicted).unlockMorph(morph);
+        for (int i = 0; i < PlayerMorphHistoryManager.MAX_OFFLINE_CACHED; i++)
+            manager.getHistory(UUID.randomUUID());
+
+        // Still only queued; the pending snapshot is newer than the (missing) file
+        assertEquals(1, manager.getPendingWriteCount());
+        assertTrue(manager.getHistory(evicted).isMorphUnlocked(morph));
+    }
+
+    @Test
+    void changesBetweenFlushesCoalesceIntoOneWrite() {
+        UUID player = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        long writesBefore = MorphMetrics.HISTORY_WRITES.sum();
+
+        manager.onPlayerLogin(player);
+        for (int i = 0; i < 10; i++)
+            manager.getHistory(player).addToRecentHistory(UUID.randomUUID());
+        manager.getHistory(player).unlockMorph(first);
+        manager.onPlayerLogout(player);
+
+        // Back from the offline cache; the new snapshot replaces the queued one
+        manager.onPlayerLogin(player);
+        manager.getHistory(player).unlockMorph(second);
+        manager.onPlayerLogout(player);
+        assertEquals(1, manager.getPendingWriteCount());
+
+        restart();
+        assertEquals(1, MorphMetrics.HISTORY_WRITES.sum() - writesBefore);
+        PlayerMorphHistory loaded = manager.getHistory(player);
+        assertTrue(loaded.isMorphUnlocked(first));
+        assertTrue(loaded.isMorphUnlocked(second));
+    }
+
+    @Test
+    void periodicFlushWritesWithinTheInterval() throws InterruptedException {
+        manager.start(saveDirectory, GAME_THREAD, Duration.ofMillis(50));
+        UUID player = UUID.randomUUID();
+        UUID morph = UUID.randomUUID();
+        long writesBefore = MorphMetrics.HISTORY_WRITES.sum();
+
+        manager.onPlayerLogin(player);
+        manager.getHistory(player).unlockMorph(morph);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (MorphMetrics.HISTORY_WRITES.sum() == writesBefore && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        assertEquals(1, MorphMetrics.HISTORY_WRITES.sum() - writesBefore);
+        assertFalse(manager.getHistory(player).isDirty());
+        assertEquals(0, manager.getPendingWriteCount());
+    }
+
+    /** Stop (flushing everything) and start again with empty caches. */
+    private void restart() {
+        manager.stop();
+        manager.start(saveDirectory, GAME_THREAD, NO_PERIODIC_FLUSH);
+    }
+}
@@ -0,0 +1,72 @@
+package com.seristic.morphlib.events;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.seristic.morphlib.BenchmarkSupport;
+import com.seristic.morphlib.BenchmarkSupport.Measurement;
+
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Cost of {@link MorphEvents#firePreMorph} with 0, 1 and 10 listeners, and
+ * with a forwarder whose platform bus has no subscribers.
+ */
+@Tag(BenchmarkSupport.TAG)
+class MorphEventDispatchBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final long OPERATIONS = 10_000_000;
+
+    // Keeps the listeners from being optimised away
+    private static volatile int sink;
+
+    private static final Consumer<PreMorphEvent> LISTENER = event -> sink++;
+
+    @AfterEach
+    void removeListeners() {
+        // Drops every registration of the listener at once
+        MorphEvents.PRE_MORPH.unregister(LISTENER);
+    }
+
+    @Test
+    void noListenersAllocateNothing() {
+        Measurement none = fire("0 listeners");
+        assertTrue(none.bytesPerOp() < 1, "firing with no listeners allocated " + none.bytesPerOp() + " B/op");
+    }
+
+    @Test
+    void idleForwarderAllocatesNothing() {
+        Consumer<PreMorphEvent> forwarder = event -> sink++;
+        MorphEvents.PRE_MORPH.registerForwarder(forwarder, () -> false);
+        try {
+            Measurement idle = fire("forwarder, no subscribers");
+            assertTrue(idle.bytesPerOp() < 1, "an idle forwarder allocated " + idle.bytesPerOp() + " B/op");
+        } finally {
+            MorphEvents.PRE_MORPH.unregister(forwarder);
+        }
+    }
+
+    @Test
+    void oneListener() {
+        MorphEvents.PRE_MORPH.register(LISTENER);
+        fire("1 listener");
+    }
+
+    @Test
+    void tenListeners() {
+        for (int i = 0; i < 10; i++)
+            MorphEvents.PRE_MORPH.register(LISTENER);
+        fire("10 listeners");
+    }
+
+    private static Measurement fire(String name) {
+        Entity entity = null;
+        return BenchmarkSupport.measure(name, WARMUP_ROUNDS, OPERATIONS,
+                () -> MorphEvents.firePreMorph(entity, null, null));
+    }
+}
@@ -0,0 +1,111 @@
+package com.seristic.morphlib.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Ordering, cancellation and forwarder gating of {@link MorphEventType}.
+ */
+class MorphEventTypeTest {
+    @TempDir
+    static Path logDirectory;
+
+    private final MorphEventType<PreMorphEvent> type = new MorphEventType<>("test", true);
+    private final List<String> calls = new ArrayList<>();
+
+    @BeforeAll
+    static void initLogger() {
+        ModLogger.init("morphlib-test", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @Test
+    void listenersRunByPriorityThenRegistrationOrder() {
+        type.register(EventPriority.LOW, event -> calls.add("low"));
+        type.register(event -> calls.add("normal 1"));
+        type.register(EventPriority.HIGHEST, event -> calls.add("highest"));
+        type.register(event -> calls.add("normal 2"));
+
+        type.post(event());
+
+        assertEquals(List.of("highest", "normal 1", "normal 2", "low"), calls);
+    }
+
+    @Test
+    void cancelledEventOnlyReachesListenersThatAskForIt() {
+        type.register(EventPriority.HIGH, event -> event.setCancelled(true, "No"));
+        type.register(event -> calls.add("skipped"));
+        type.register(EventPriority.LOW, true, event -> calls.add("saw " + event.getCancelReason()));
+
+        PreMorphEvent event = type.post(event());
+
+        assertTrue(event.isCancelled());
+        assertEquals(List.of("saw No"), calls);
+    }
+
+    @Test
+    void throwingListenerIsSkipped() {
+        type.register(EventPriority.HIGH, event -> {
+            throw new IllegalStateException("boom");
+        });
+        type.register(event -> calls.add("after"));
+
+        type.post(event());
+
+        assertEquals(List.of("after"), calls);
+    }
+
+    @Test
+    void unregisterRemovesTheListener() {
+        Consumer<PreMorphEvent> listener = event -> calls.add("called");
+        type.register(listener);
+
+        assertTrue(type.unregister(listener));
+        assertFalse(type.hasListeners());
+        assertFalse(type.unregister(listener));
+    }
+
+    @Test
+    void forwarderOnlyCountsWhileItHasSubscribers() {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        type.registerForwarder(event -> calls.add("forwarded"), subscribed::get);
+
+        assertFalse(type.hasListeners());
+        type.post(event());
+        assertTrue(calls.isEmpty());
+
+        subscribed.set(true);
+        assertTrue(type.hasListeners());
+        type.post(event());
+        assertEquals(List.of("forwarded"), calls);
+    }
+
+    private static PreMorphEvent event() {
+        return new PreMorphEvent((Entity) null, null, null);
+    }
+}
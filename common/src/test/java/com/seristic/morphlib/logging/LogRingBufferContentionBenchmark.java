@@ -0,0 +1,145 @@
+package com.seristic.morphlib.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.seristic.morphlib.BenchmarkSupport;
+
+/**
+ * Multi-producer, single-consumer throughput of {@link LogRingBuffer}
+ * against the JDK blocking queues, with 4 and 8 producers. Producers spin
+ * on a full queue so every element is delivered; the consumer checks that
+ * each producer's elements arrive in order.
+ */
+@Tag(BenchmarkSupport.TAG)
+class LogRingBufferContentionBenchmark {
+    private static final int CAPACITY = 16_384;
+    private static final int ELEMENTS_PER_PRODUCER = 1_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    /** The operations the benchmark needs from each queue. */
+    private interface Queue {
+        boolean offer(long[] element);
+
+        long[] poll();
+    }
+
+    @Test
+    void fourProducers() throws Exception {
+        compare(4);
+    }
+
+    @Test
+    void eightProducers() throws Exception {
+        compare(8);
+    }
+
+    private static void compare(int producers) throws Exception {
+        run("LogRingBuffer", producers, () -> {
+            LogRingBuffer<long[]> ring = new LogRingBuffer<>(CAPACITY);
+            return new Queue() {
+                @Override
+                public boolean offer(long[] element) {
+                    return ring.offer(element);
+                }
+
+                @Override
+                public long[] poll() {
+                    return ring.poll();
+                }
+            };
+        });
+        run("ArrayBlockingQueue", producers, () -> wrap(new ArrayBlockingQueue<>(CAPACITY)));
+        run("LinkedBlockingQueue", producers, () -> wrap(new LinkedBlockingQueue<>(CAPACITY)));
+    }
+
+    private static Queue wrap(BlockingQueue<long[]> queue) {
+        return new Queue() {
+            @Override
+            public boolean offer(long[] element) {
+                return queue.offer(element);
+            }
+
+            @Override
+            public long[] poll() {
+                return queue.poll();
+            }
+        };
+    }
+
+    private interface QueueFactory {
+        Queue create();
+    }
+
+    private static void run(String name, int producers, QueueFactory factory) throws Exception {
+        for (int round = 0; round < WARMUP_ROUNDS; round++)
+            runOnce(factory.create(), producers);
+        long nanos = runOnce(factory.create(), producers);
+        long total = (long) producers * ELEMENTS_PER_PRODUCER;
+        BenchmarkSupport.report(String.format("%-20s %d producers: %,.0f elements/s", name, producers,
+                total * 1e9 / nanos));
+    }
+
+    /** @return Nanoseconds from release of the producers until the consumer saw everything. */
+    private static long runOnce(Queue queue, int producers) throws Exception {
+        // Preallocated so the queues, not the elements, are measured
+        long[][][] elements = new long[producers][ELEMENTS_PER_PRODUCER][];
+        for (int p = 0; p < producers; p++) {
+            for (int i = 0; i < ELEMENTS_PER_PRODUCER; i++)
+                elements[p][i] = new long[] { p, i };
+        }
+
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long[][] mine = elements[p];
+            Thread thread = new Thread(() -> {
+                awaitQuietly(go);
+                for (long[] element : mine) {
+                    while (!queue.offer(element))
+                        Thread.onSpinWait();
+                }
+            }, "ring-producer-" + p);
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] next = new long[producers];
+        long remaining = (long) producers * ELEMENTS_PER_PRODUCER;
+        long start = System.nanoTime();
+        go.countDown();
+        while (remaining > 0) {
+            long[] element = queue.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = (int) element[0];
+            assertEquals(next[producer]++, element[1], "out of order from producer " + producer);
+            remaining--;
+        }
+        long nanos = System.nanoTime() - start;
+        for (Thread thread : threads)
+            thread.join();
+        for (int p = 0; p < producers; p++)
+            assertEquals(ELEMENTS_PER_PRODUCER, next[p]);
+        return nanos;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
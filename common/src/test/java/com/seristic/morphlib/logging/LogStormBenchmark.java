@@ -0,0 +1,119 @@
+package com.seristic.morphlib.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.BenchmarkSupport;
+
+/**
+ * Log storm through the whole async path: producer threads log as fast as
+ * they can while the writer batches lines into the file. Reports producer
+ * throughput and the time until every line is on disk, and checks that every
+ * message is either written or counted as dropped.
+ */
+@Tag(BenchmarkSupport.TAG)
+class LogStormBenchmark {
+    private static final int PRODUCERS = 4;
+    private static final int MESSAGES_PER_PRODUCER = 250_000;
+    private static final String MARKER = "storm-line";
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void dropOldest() throws Exception {
+        Result result = storm(LoggingConfig.OverflowPolicy.DROP_OLDEST);
+        assertEquals(result.total(), result.written() + result.dropped(), "lost messages: " + result);
+    }
+
+    @Test
+    void block() throws Exception {
+        Result result = storm(LoggingConfig.OverflowPolicy.BLOCK);
+        assertEquals(0, result.dropped(), "BLOCK dropped messages: " + result);
+        assertEquals(result.total(), result.written(), "lost messages: " + result);
+    }
+
+    private record Result(LoggingConfig.OverflowPolicy policy, long total, long written, long dropped,
+            long produceNanos, long drainedNanos) {
+        @Override
+        public String toString() {
+            return String.format("%-12s %,d lines: produced at %,.0f lines/s, on disk after %,d ms"
+                    + " (%,d written, %,d dropped)", policy, total, total * 1e9 / produceNanos,
+                    drainedNanos / 1_000_000, written, dropped);
+        }
+    }
+
+    private Result storm(LoggingConfig.OverflowPolicy policy) throws Exception {
+        ModLogger.init("morphlib-bench", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .logFileBaseName("storm")
+                .maxBytesPerFile(Long.MAX_VALUE)
+                .consoleEnabled(false)
+                .overflowPolicy(policy)
+                .build());
+        long dropped;
+        long start;
+        long produced;
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                Thread thread = new Thread(() -> {
+                    awaitQuietly(go);
+                    for (int i = 0; i < MESSAGES_PER_PRODUCER; i++)
+                        ModLogger.info("Benchmark", MARKER + " {} {}", producer, i);
+                }, "log-storm-" + p);
+                thread.start();
+                producers.add(thread);
+            }
+
+            start = System.nanoTime();
+            go.countDown();
+            for (Thread thread : producers)
+                thread.join();
+            produced = System.nanoTime() - start;
+            dropped = LoggerManager.get().getDroppedMessages();
+        } finally {
+            // Drains the queue and closes the file
+            LoggerManager.shutdown();
+        }
+        long drained = System.nanoTime() - start;
+
+        Result result = new Result(policy, (long) PRODUCERS * MESSAGES_PER_PRODUCER, countWritten(), dropped,
+                produced, drained);
+        BenchmarkSupport.report(result);
+        return result;
+    }
+
+    private long countWritten() throws IOException {
+        long written = 0;
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            for (Path file : files.toList()) {
+                try (Stream<String> lines = Files.lines(file)) {
+                    written += lines.filter(line -> line.contains(MARKER)).count();
+                }
+            }
+        }
+        return written;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.seristic.morphlib.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.seristic.morphlib.restrictions.MorphEligibility;
+import com.seristic.morphlib.restrictions.RestrictionReason;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+
+/**
+ * Encode/decode round trips of {@link S2CMorphEligibilityPacket}, with and
+ * without the id table.
+ */
+class S2CMorphEligibilityPacketTest {
+    private static final int VERSION = 7;
+
+    private final UUID[] ids = { UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            UUID.randomUUID() };
+    private final RestrictionReason[] reasons = { RestrictionReason.COOLDOWN, null, RestrictionReason.NOT_UNLOCKED,
+            RestrictionReason.COOLDOWN, null };
+    private final MorphEligibility eligibility = new MorphEligibility(VERSION, ids, reasons);
+
+    @Test
+    void roundTripWithIdTable() {
+        MorphEligibility decoded = roundTrip(S2CMorphEligibilityPacket.of(eligibility, true))
+                .resolve(MorphEligibility.EMPTY);
+
+        assertSameEligibility(eligibility, decoded);
+    }
+
+    @Test
+    void roundTripWithoutIdTableReusesThePreviousOne() {
+        RestrictionReason[] changed = { null, null, RestrictionReason.NOT_UNLOCKED, null, RestrictionReason.COOLDOWN };
+        MorphEligibility next = new MorphEligibility(VERSION, ids, changed);
+
+        MorphEligibility decoded = roundTrip(S2CMorphEligibilityPacket.of(next, false)).resolve(eligibility);
+
+        assertSameEligibility(next, decoded);
+    }
+
+    @Test
+    void withoutIdTableAnotherVersionDoesNotResolve() {
+        S2CMorphEligibilityPacket packet = roundTrip(S2CMorphEligibilityPacket.of(eligibility, false));
+
+        assertNull(packet.resolve(new MorphEligibility(VERSION - 1, ids, reasons)));
+        assertNull(packet.resolve(MorphEligibility.EMPTY));
+    }
+
+    @Test
+    void omittingTheIdTableSavesSixteenBytesPerMorph() {
+        int withIds = encode(S2CMorphEligibilityPacket.of(eligibility, true)).readableBytes();
+        int withoutIds = encode(S2CMorphEligibilityPacket.of(eligibility, false)).readableBytes();
+
+        assertEquals(16 * ids.length, withIds - withoutIds);
+    }
+
+    @Test
+    void everyEligibleMorphCostsNoReasonBytes() {
+        RestrictionReason[] none = new RestrictionReason[1000];
+        MorphEligibility allEligible = new MorphEligibility(VERSION, new UUID[none.length], none);
+
+        // version, count, flag, bitset (length + 16 longs), empty reason table
+        assertTrue(encode(S2CMorphEligibilityPacket.of(allEligible, false)).readableBytes() <= 1 + 2 + 1 + 1
+                + 16 * 8 + 1);
+    }
+
+    @Test
+    void eligibleBitBeyondTheCountIsRejected() {
+        RegistryFriendlyByteBuf buf = buffer();
+        buf.writeVarInt(VERSION);
+        buf.writeVarInt(2);
+        buf.writeBoolean(false);
+        BitSet eligible = new BitSet();
+        eligible.set(5);
+        buf.writeBitSet(eligible);
+        buf.writeVarInt(0);
+
+        assertThrows(DecoderException.class, () -> S2CMorphEligibilityPacket.CODEC.decode(buf));
+    }
+
+    @Test
+    void reasonIndexOutsideTheTableIsRejected() {
+        RegistryFriendlyByteBuf buf = buffer();
+        buf.writeVarInt(VERSION);
+        buf.writeVarInt(1);
+        buf.writeBoolean(false);
+        buf.writeBitSet(new BitSet());
+        buf.writeVarInt(1);
+        buf.writeUtf(RestrictionReason.COOLDOWN.key());
+        buf.writeVarInt(1);
+
+        assertThrows(DecoderException.class, () -> S2CMorphEligibilityPacket.CODEC.decode(buf));
+    }
+
+    private static void assertSameEligibility(MorphEligibility expected, MorphEligibility actual) {
+        assertEquals(expected.registryVersion(), actual.registryVersion());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.morphId(i), actual.morphId(i));
+            assertEquals(expected.reason(i), actual.reason(i));
+        }
+        assertEquals(expected.eligible(), actual.eligible());
+    }
+
+    private static S2CMorphEligibilityPacket roundTrip(S2CMorphEligibilityPacket packet) {
+        RegistryFriendlyByteBuf buf = encode(packet);
+        S2CMorphEligibilityPacket decoded = S2CMorphEligibilityPacket.CODEC.decode(buf);
+        assertEquals(0, buf.readableBytes(), "trailing bytes");
+        return decoded;
+    }
+
+    private static RegistryFriendlyByteBuf encode(S2CMorphEligibilityPacket packet) {
+        RegistryFriendlyByteBuf buf = buffer();
+        S2CMorphEligibilityPacket.CODEC.encode(buf, packet);
+        return buf;
+    }
+
+    private static RegistryFriendlyByteBuf buffer() {
+        return new RegistryFriendlyByteBuf(Unpooled.buffer(), RegistryAccess.EMPTY);
+    }
+}
@@ -0,0 +1,96 @@
+package com.seristic.morphlib.registry;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.BenchmarkSupport;
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.morph.MorphState;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * {@link MorphRegistery#query} through the index against a linear scan with
+ * {@link MorphQuery#matches}, for a selective and a broad query at 1k and
+ * 10k registered morphs.
+ */
+@Tag(BenchmarkSupport.TAG)
+class MorphIndexBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final long OPERATIONS = 20_000;
+
+    @TempDir
+    static Path logDirectory;
+
+    // Keeps the results from being optimised away
+    private static volatile int sink;
+
+    private final MorphRegistery registry = MorphRegistery.getInstance();
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        ModLogger.init("morphlib-bench", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @AfterEach
+    void clearRegistry() {
+        registry.clearAll();
+    }
+
+    @Test
+    void thousandMorphs() {
+        compare(1_000);
+    }
+
+    @Test
+    void tenThousandMorphs() {
+        compare(10_000);
+    }
+
+    private void compare(int morphs) {
+        registry.registerMorphs(MorphIndexTest.population(new Random(42), morphs));
+
+        MorphQuery selective = MorphQuery.builder()
+                .entityType(EntityType.VILLAGER)
+                .gender(MorphData.Gender.FEMALE)
+                .bodyType(MorphData.BodyType.SLIM)
+                .hasCustomSkin(true)
+                .build();
+        MorphQuery broad = MorphQuery.builder()
+                .gender(MorphData.Gender.MALE)
+                .range(MorphState.Parameter.HEIGHT, 0.8f, 1.6f)
+                .build();
+
+        run(morphs, "selective", selective);
+        run(morphs, "broad", broad);
+    }
+
+    private void run(int morphs, String name, MorphQuery query) {
+        BenchmarkSupport.measure(String.format("%,d morphs, %s, indexed", morphs, name), WARMUP_ROUNDS, OPERATIONS,
+                () -> sink += registry.query(query).size());
+        BenchmarkSupport.measure(String.format("%,d morphs, %s, linear scan", morphs, name), WARMUP_ROUNDS,
+                OPERATIONS, () -> sink += MorphIndexTest.linearScan(registry, query).size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.seristic.morphlib.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.morph.MorphState;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * {@link MorphRegistery#query} through the index must return exactly what a
+ * linear scan with {@link MorphQuery#matches} returns, in the same order.
+ */
+class MorphIndexTest {
+    @TempDir
+    static Path logDirectory;
+
+    static final EntityType<?>[] ENTITY_TYPES = { EntityType.PLAYER, EntityType.VILLAGER, EntityType.ZOMBIE,
+            EntityType.PIG, EntityType.COW };
+
+    private final MorphRegistery registry = MorphRegistery.getInstance();
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        ModLogger.init("morphlib-test", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @AfterEach
+    void clearRegistry() {
+        registry.clearAll();
+    }
+
+    @Test
+    void indexedQueriesMatchALinearScan() {
+        registry.registerMorphs(population(new Random(42), 2_000));
+
+        for (MorphQuery query : queries())
+            assertMatchesScan(query);
+    }
+
+    @Test
+    void indexFollowsRegistryChanges() {
+        List<MorphData> morphs = population(new Random(7), 500);
+        registry.registerMorphs(morphs);
+        assertMatchesScan(MorphQuery.builder().entityType(EntityType.PIG).build());
+
+        List<UUID> removed = new ArrayList<>();
+        for (int i = 0; i < morphs.size(); i += 3)
+            removed.add(morphs.get(i).getMorphId());
+        registry.replaceMorphs(removed, population(new Random(8), 200));
+        registry.unregisterMorph(morphs.get(1).getMorphId());
+
+        for (MorphQuery query : queries())
+            assertMatchesScan(query);
+    }
+
+    @Test
+    void singleRegistrationsMatchTheBatchPath() {
+        List<MorphData> morphs = population(new Random(9), 300);
+        for (MorphData morph : morphs)
+            registry.registerMorph(morph);
+        // Re-registering an id replaces it in place
+        registry.registerMorph(morphs.get(10));
+
+        assertEquals(morphs, List.copyOf(registry.getAvailableMorphs()));
+        for (EntityType<?> type : ENTITY_TYPES) {
+            assertEquals(morphs.stream().filter(morph -> morph.getEntityType() == type).toList(),
+                    registry.getMorphsForEntityType(type));
+        }
+        for (MorphQuery query : queries())
+            assertMatchesScan(query);
+    }
+
+    private void assertMatchesScan(MorphQuery query) {
+        assertEquals(linearScan(registry, query), registry.query(query), "query " + describe(query));
+        assertEquals(linearScan(registry, query).size(), registry.count(query), "count " + describe(query));
+    }
+
+    static List<MorphData> linearScan(MorphRegistery registry, MorphQuery query) {
+        List<MorphData> result = new ArrayList<>();
+        for (MorphData morph : registry.getAvailableMorphs()) {
+            if (query.matches(morph))
+                result.add(morph);
+        }
+        return result;
+    }
+
+    /** Morphs spread over every indexed attribute, with random parameters. */
+    static List<MorphData> population(Random random, int size) {
+        MorphData.Gender[] genders = MorphData.Gender.values();
+        MorphData.BodyType[] bodyTypes = MorphData.BodyType.values();
+        MorphState.Parameter[] parameters = MorphState.Parameter.values();
+        List<MorphData> morphs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MorphState state = new MorphState();
+            for (MorphState.Parameter parameter : parameters) {
+                if (random.nextBoolean())
+                    state.setParameter(parameter.getKey(), 0.5f + random.nextFloat() * 1.5f);
+            }
+            ResourceLocation skin = random.nextInt(4) == 0
+                    ? ResourceLocation.fromNamespaceAndPath("morphlib", "skin_" + i)
+                    : null;
+            morphs.add(MorphData.create(ENTITY_TYPES[random.nextInt(ENTITY_TYPES.length)],
+                    genders[random.nextInt(genders.length)], bodyTypes[random.nextInt(bodyTypes.length)], skin,
+                    state));
+        }
+        return morphs;
+    }
+
+    /** Single-attribute, combined and range queries, including ones matching nothing. */
+    static List<MorphQuery> queries() {
+        List<MorphQuery> queries = new ArrayList<>();
+        queries.add(MorphQuery.ALL);
+        for (EntityType<?> type : ENTITY_TYPES)
+            queries.add(MorphQuery.builder().entityType(type).build());
+        for (MorphData.Gender gender : MorphData.Gender.values())
+            queries.add(MorphQuery.builder().gender(gender).build());
+        for (MorphData.BodyType bodyType : MorphData.BodyType.values())
+            queries.add(MorphQuery.builder().bodyType(bodyType).build());
+        queries.add(MorphQuery.builder().hasCustomSkin(true).build());
+        queries.add(MorphQuery.builder().hasCustomSkin(false).build());
+        queries.add(MorphQuery.builder()
+                .entityType(EntityType.VILLAGER)
+                .gender(MorphData.Gender.FEMALE)
+                .bodyType(MorphData.BodyType.SLIM)
+                .build());
+        queries.add(MorphQuery.builder()
+                .entityType(EntityType.PLAYER)
+                .hasCustomSkin(true)
+                .range(MorphState.Parameter.HEIGHT, 1.2f, 1.8f)
+                .build());
+        queries.add(MorphQuery.builder().range(MorphState.Parameter.HEAD_SIZE, 0.9f, 1.1f).build());
+        queries.add(MorphQuery.builder()
+                .range(MorphState.Parameter.ARM_LENGTH, 1.0f, 1.5f)
+                .range(MorphState.Parameter.LEG_LENGTH, 0.5f, 1.0f)
+                .build());
+        queries.add(MorphQuery.builder().range(MorphState.Parameter.HEIGHT, 5.0f, 6.0f).build());
+        return queries;
+    }
+
+    private static String describe(MorphQuery query) {
+        return query.entityType() + "/" + query.gender() + "/" + query.bodyType() + "/" + query.hasCustomSkin() + "/"
+                + query.ranges();
+    }
+}
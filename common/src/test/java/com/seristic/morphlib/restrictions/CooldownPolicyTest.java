@@ -0,0 +1,93 @@
+package com.seristic.morphlib.restrictions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.seristic.morphlib.MorphData;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Which cooldown {@link CooldownPolicy#resolve} picks for a morph.
+ */
+class CooldownPolicyTest {
+    private final MorphData boss = morph(EntityType.ZOMBIE);
+    private final MorphData listedZombie = morph(EntityType.ZOMBIE);
+    private final MorphData zombie = morph(EntityType.ZOMBIE);
+    private final MorphData pig = morph(EntityType.PIG);
+
+    private final CooldownPolicy policy = CooldownPolicy.builder()
+            .defaultTicks(600)
+            .group("undead", 1200)
+            .group("farm", 300)
+            .addToGroup("undead", EntityType.ZOMBIE)
+            .addToGroup("farm", listedZombie.getMorphId())
+            .addToGroup("undead", boss.getMorphId())
+            .morph(boss.getMorphId(), 6000)
+            .build();
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    void unlistedMorphsUseTheDefault() {
+        assertSame(policy.defaultCooldown(), policy.resolve(pig));
+        assertEquals(CooldownPolicy.DEFAULT_BUCKET, policy.resolve(pig).bucket());
+        assertEquals(600, policy.resolve(pig).ticks());
+    }
+
+    @Test
+    void entityTypeGroupAppliesToEveryMorphOfThatType() {
+        CooldownPolicy.Cooldown cooldown = policy.resolve(zombie);
+
+        assertEquals(1200, cooldown.ticks());
+        assertNotEquals(CooldownPolicy.DEFAULT_BUCKET, cooldown.bucket());
+        assertEquals(cooldown, policy.resolve(morph(EntityType.ZOMBIE)));
+    }
+
+    @Test
+    void groupByIdWinsOverGroupByEntityType() {
+        assertEquals(300, policy.resolve(listedZombie).ticks());
+        assertNotEquals(policy.resolve(zombie).bucket(), policy.resolve(listedZombie).bucket());
+    }
+
+    @Test
+    void ownCooldownWinsOverEveryGroup() {
+        CooldownPolicy.Cooldown cooldown = policy.resolve(boss);
+
+        assertEquals(6000, cooldown.ticks());
+        assertNotEquals(policy.resolve(zombie).bucket(), cooldown.bucket());
+    }
+
+    @Test
+    void bucketsAreDenseAndCounted() {
+        // Default, two groups and one per-morph cooldown
+        assertEquals(4, policy.bucketCount());
+        for (MorphData morph : new MorphData[] { boss, listedZombie, zombie, pig }) {
+            int bucket = policy.resolve(morph).bucket();
+            assertTrue(bucket >= 0 && bucket < policy.bucketCount(), "bucket " + bucket);
+        }
+    }
+
+    @Test
+    void invalidDefinitionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CooldownPolicy.builder().defaultTicks(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> CooldownPolicy.builder().addToGroup("missing", EntityType.PIG));
+    }
+
+    private static MorphData morph(EntityType<?> type) {
+        return MorphData.create(type, MorphData.Gender.MALE, MorphData.BodyType.NORMAL, null);
+    }
+}
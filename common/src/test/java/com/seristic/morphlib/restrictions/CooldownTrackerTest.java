@@ -0,0 +1,121 @@
+package com.seristic.morphlib.restrictions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Expiry, batch reads and purging of {@link CooldownTracker}.
+ */
+class CooldownTrackerTest {
+    // Matches CooldownTracker.PURGE_INTERVAL_TICKS
+    private static final long PURGE_INTERVAL = 1200;
+
+    private final CooldownTracker tracker = new CooldownTracker();
+    private final UUID playerId = UUID.randomUUID();
+
+    @Test
+    void cooldownCountsDownAndExpires() {
+        tracker.start(playerId, 0, 100, 1, 1000);
+
+        assertEquals(100, tracker.remaining(playerId, 0, 1000));
+        assertEquals(40, tracker.remaining(playerId, 0, 1060));
+        assertEquals(0, tracker.remaining(playerId, 0, 1100));
+        assertEquals(0, tracker.remaining(playerId, 0, 5000));
+    }
+
+    @Test
+    void bucketsAreIndependentAndNeverShortened() {
+        tracker.start(playerId, 2, 300, 3, 0);
+        tracker.start(playerId, 2, 100, 3, 0);
+        tracker.start(playerId, 1, 50, 3, 0);
+
+        assertEquals(0, tracker.remaining(playerId, 0, 0));
+        assertEquals(50, tracker.remaining(playerId, 1, 0));
+        assertEquals(300, tracker.remaining(playerId, 2, 0));
+    }
+
+    @Test
+    void remainingAllReportsEveryBucket() {
+        assertNull(tracker.remainingAll(playerId, 3, 0));
+
+        tracker.start(playerId, 1, 80, 3, 0);
+        assertArrayEquals(new long[] { 0, 60, 0 }, tracker.remainingAll(playerId, 3, 20));
+
+        // A policy with more buckets than the player has seen
+        assertArrayEquals(new long[] { 0, 60, 0, 0, 0 }, tracker.remainingAll(playerId, 5, 20));
+
+        assertNull(tracker.remainingAll(playerId, 3, 80));
+    }
+
+    @Test
+    void bucketCountGrowsWithoutLosingRunningCooldowns() {
+        tracker.start(playerId, 0, 100, 1, 0);
+        tracker.start(playerId, 4, 200, 5, 0);
+
+        assertEquals(100, tracker.remaining(playerId, 0, 0));
+        assertEquals(200, tracker.remaining(playerId, 4, 0));
+    }
+
+    @Test
+    void expiredPlayersArePurgedOncePerInterval() {
+        UUID other = UUID.randomUUID();
+        // The first read schedules the first purge
+        tracker.remaining(playerId, 0, 0);
+        tracker.start(playerId, 0, 10, 1, 0);
+        tracker.start(other, 0, 5000, 1, 0);
+
+        // Expired, but the next purge is not due yet
+        tracker.remaining(playerId, 0, 100);
+        assertEquals(2, tracker.size());
+
+        tracker.remaining(playerId, 0, PURGE_INTERVAL);
+        assertEquals(1, tracker.size());
+        assertEquals(5000 - PURGE_INTERVAL, tracker.remaining(other, 0, PURGE_INTERVAL));
+    }
+
+    @Test
+    void purgeNeverDropsACooldownStartedConcurrently() throws Exception {
+        int rounds = 2_000;
+        for (int round = 0; round < rounds; round++) {
+            CooldownTracker tracker = new CooldownTracker();
+            List<UUID> players = new ArrayList<>();
+            long now = round * PURGE_INTERVAL;
+            for (int p = 0; p < 16; p++) {
+                UUID player = UUID.randomUUID();
+                players.add(player);
+                // Already expired, so a purge would drop it
+                tracker.start(player, 0, 1, 1, now - PURGE_INTERVAL);
+            }
+
+            CountDownLatch go = new CountDownLatch(1);
+            Thread starter = new Thread(() -> {
+                awaitQuietly(go);
+                for (UUID player : players)
+                    tracker.start(player, 0, 100, 1, now);
+            });
+            starter.start();
+            go.countDown();
+            tracker.remaining(players.get(0), 0, now);
+            starter.join();
+
+            for (UUID player : players)
+                assertEquals(100, tracker.remaining(player, 0, now), "round " + round);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
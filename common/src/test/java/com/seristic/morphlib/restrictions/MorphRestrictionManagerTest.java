@@ -0,0 +1,270 @@
+package com.seristic.morphlib.restrictions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import com.seristic.morphlib.registry.MorphRegistery;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+/**
+ * Rule ordering, short-circuiting, verdict caching and batch evaluation of
+ * {@link MorphRestrictionManager}.
+ */
+class MorphRestrictionManagerTest {
+    @TempDir
+    static Path logDirectory;
+
+    private static final RestrictionReason CHEAP_REFUSAL = RestrictionReason.register("test_cheap", "Cheap");
+    private static final RestrictionReason EXPENSIVE_REFUSAL = RestrictionReason.register("test_expensive",
+            "Expensive");
+
+    private final MorphRestrictionManager manager = MorphRestrictionManager.getInstance();
+    private final List<String> calls = new ArrayList<>();
+    private final List<String> rules = new ArrayList<>();
+    private final AtomicInteger cachedChecks = new AtomicInteger();
+    private final UUID playerId = UUID.randomUUID();
+    private Player player;
+    private Level level;
+    private MorphData morph;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        ModLogger.init("morphlib-test", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        player = mock(Player.class);
+        level = mock(Level.class);
+        when(player.getUUID()).thenReturn(playerId);
+        when(player.level()).thenReturn(level);
+        when(level.dimension()).thenReturn(Level.OVERWORLD);
+        when(level.getGameTime()).thenReturn(0L);
+
+        morph = MorphData.create(EntityType.PIG, MorphData.Gender.MALE, MorphData.BodyType.NORMAL, null);
+        MorphRegistery.getInstance().registerMorph(morph);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String name : rules)
+            manager.unregisterRule(name);
+        MorphRegistery.getInstance().clearAll();
+    }
+
+    @Test
+    void rulesRunCheapestFirstAndStopAtTheFirstRefusal() {
+        // Registered expensive first; cost, not registration order, decides
+        register("test_expensive", MorphRestrictionRule.COST_EXPENSIVE, EXPENSIVE_REFUSAL, new boolean[] { true });
+        boolean[] cheapRefuses = { true };
+        register("test_cheap", MorphRestrictionRule.COST_TRIVIAL, CHEAP_REFUSAL, cheapRefuses);
+
+        assertSame(CHEAP_REFUSAL, manager.evaluate(player, morph));
+        assertEquals(List.of("test_cheap"), calls);
+
+        calls.clear();
+        cheapRefuses[0] = false;
+        assertSame(EXPENSIVE_REFUSAL, manager.evaluate(player, morph));
+        assertEquals(List.of("test_cheap", "test_expensive"), calls);
+    }
+
+    @Test
+    void batchEvaluationStopsAtTheFirstRefusalToo() {
+        register("test_expensive", MorphRestrictionRule.COST_EXPENSIVE, EXPENSIVE_REFUSAL, new boolean[] { false });
+        register("test_cheap", MorphRestrictionRule.COST_TRIVIAL, CHEAP_REFUSAL, new boolean[] { true });
+
+        MorphEligibility eligibility = manager.evaluateAll(player, List.of(morph));
+
+        assertSame(CHEAP_REFUSAL, eligibility.reason(0));
+        assertEquals(List.of("test_cheap"), calls);
+    }
+
+    @Test
+    void cacheableVerdictsAreReusedUntilInvalidated() {
+        registerCacheable();
+        long hits = MorphMetrics.RESTRICTION_VERDICT_HITS.sum();
+        long misses = MorphMetrics.RESTRICTION_VERDICT_MISSES.sum();
+
+        assertNull(manager.evaluate(player, morph));
+        assertNull(manager.evaluate(player, morph));
+        assertEquals(1, cachedChecks.get());
+        assertEquals(hits + 1, MorphMetrics.RESTRICTION_VERDICT_HITS.sum());
+        assertEquals(misses + 1, MorphMetrics.RESTRICTION_VERDICT_MISSES.sum());
+
+        manager.invalidate(playerId);
+        manager.evaluate(player, morph);
+        assertEquals(2, cachedChecks.get());
+
+        manager.invalidateAll();
+        manager.evaluate(player, morph);
+        assertEquals(3, cachedChecks.get());
+
+        // A new dimension is a different cache key
+        when(level.dimension()).thenReturn(Level.NETHER);
+        manager.evaluate(player, morph);
+        assertEquals(4, cachedChecks.get());
+    }
+
+    @Test
+    void batchAndSingleEvaluationShareTheCache() {
+        registerCacheable();
+
+        manager.evaluateAll(player, List.of(morph));
+        manager.evaluate(player, morph);
+        manager.evaluateAll(player, List.of(morph));
+
+        assertEquals(1, cachedChecks.get());
+    }
+
+    @Test
+    void adHocMorphsAreNeverCached() {
+        registerCacheable();
+        MorphData adHoc = MorphData.create(EntityType.COW, MorphData.Gender.MALE, MorphData.BodyType.NORMAL, null);
+
+        manager.evaluate(player, adHoc);
+        manager.evaluate(player, adHoc);
+        manager.evaluateAll(player, List.of(adHoc));
+
+        assertEquals(3, cachedChecks.get());
+        assertEquals(-1, MorphRegistery.getInstance().findInternedId(adHoc.getMorphId()));
+    }
+
+    @Test
+    void batchEvaluationMatchesSingleEvaluation() {
+        rules.add("test_no_pigs");
+        manager.registerRule("test_no_pigs", (player, morph) -> morph.getEntityType() == EntityType.PIG
+                ? CHEAP_REFUSAL
+                : null);
+        rules.add("test_no_slim");
+        manager.registerRule("test_no_slim", new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                return morph.getBodyType() == MorphData.BodyType.SLIM ? EXPENSIVE_REFUSAL : null;
+            }
+
+            @Override
+            public int cost() {
+                return COST_EXPENSIVE;
+            }
+        });
+        rules.add("test_no_females");
+        manager.registerRule("test_no_females", new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                return morph.getGender() == MorphData.Gender.FEMALE ? RestrictionReason.DIMENSION_NOT_ALLOWED : null;
+            }
+
+            @Override
+            public boolean isCacheable() {
+                return true;
+            }
+        });
+
+        List<MorphData> morphs = new ArrayList<>();
+        for (EntityType<?> type : List.of(EntityType.PIG, EntityType.COW, EntityType.VILLAGER)) {
+            for (MorphData.Gender gender : MorphData.Gender.values()) {
+                for (MorphData.BodyType bodyType : MorphData.BodyType.values())
+                    morphs.add(MorphData.create(type, gender, bodyType, null));
+            }
+        }
+        MorphRegistery.getInstance().registerMorphs(morphs);
+        MorphRegistery.VersionedMorphs listing = MorphRegistery.getInstance().getVersionedMorphs();
+
+        // Once cold, once with the verdicts cached by the first pass
+        for (int pass = 0; pass < 2; pass++) {
+            MorphEligibility eligibility = manager.evaluateAll(player, listing.version(), listing.morphs());
+
+            assertEquals(listing.version(), eligibility.registryVersion());
+            assertEquals(listing.morphs().size(), eligibility.size());
+            for (int i = 0; i < eligibility.size(); i++) {
+                MorphData morph = listing.morphs().get(i);
+                assertEquals(morph.getMorphId(), eligibility.morphId(i));
+                assertSame(manager.evaluate(player, morph), eligibility.reason(i), "morph " + i);
+                assertEquals(eligibility.reason(i) == null, eligibility.isEligible(i));
+            }
+        }
+    }
+
+    @Test
+    void storeRacingAnInvalidationIsDropped() {
+        VerdictCache cache = new VerdictCache();
+        long stamp = cache.stamp();
+
+        // The player's inputs change while a verdict is being computed
+        cache.invalidate(playerId);
+        cache.store(playerId, Level.OVERWORLD, stamp, 0, CHEAP_REFUSAL);
+
+        assertEquals(VerdictCache.MISS, cache.lookup(playerId, Level.OVERWORLD, 0));
+
+        cache.store(playerId, Level.OVERWORLD, cache.stamp(), 0, CHEAP_REFUSAL);
+        assertSame(CHEAP_REFUSAL, VerdictCache.decode(cache.lookup(playerId, Level.OVERWORLD, 0)));
+    }
+
+    private void register(String name, int cost, RestrictionReason refusal, boolean[] refuses) {
+        rules.add(name);
+        manager.registerRule(name, new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                calls.add(name);
+                return refuses[0] ? refusal : null;
+            }
+
+            @Override
+            public int cost() {
+                return cost;
+            }
+        });
+    }
+
+    private void registerCacheable() {
+        rules.add("test_cached");
+        manager.registerRule("test_cached", new MorphRestrictionRule() {
+            @Override
+            public RestrictionReason check(Player player, MorphData morph) {
+                cachedChecks.incrementAndGet();
+                return null;
+            }
+
+            @Override
+            public boolean isCacheable() {
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,223 @@
+package com.seristic.morphlib.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.seristic.morphlib.MorphData;
+import com.seristic.morphlib.MorphManager;
+import com.seristic.morphlib.events.MorphEvents;
+import com.seristic.morphlib.events.PreMorphEvent;
+import com.seristic.morphlib.logging.LoggerManager;
+import com.seristic.morphlib.logging.LoggingConfig;
+import com.seristic.morphlib.logging.ModLogger;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * Batching, coalescing and refusal paths of {@link MorphPipeline}.
+ */
+class MorphPipelineTest {
+    @TempDir
+    static Path logDirectory;
+
+    private final MorphPipeline pipeline = MorphPipeline.getInstance();
+    private final Map<Entity, MorphData> morphs = new IdentityHashMap<>();
+    private final List<String> syncs = new ArrayList<>();
+    private Consumer<PreMorphEvent> preListener;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        ModLogger.init("morphlib-test", LoggingConfig.builder()
+                .logDirectory(logDirectory)
+                .consoleEnabled(false)
+                .build());
+    }
+
+    @AfterAll
+    static void shutdownLogger() {
+        LoggerManager.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MorphManager.setAccessor(new MorphManager.MorphAccessor() {
+            @Override
+            public MorphData getMorph(Entity entity) {
+                return morphs.get(entity);
+            }
+
+            @Override
+            public void setMorph(Entity entity, MorphData data) {
+                morphs.put(entity, data);
+            }
+
+            @Override
+            public void removeMorph(Entity entity) {
+                morphs.remove(entity);
+            }
+        });
+        pipeline.setSyncSink(new MorphPipeline.SyncSink() {
+            @Override
+            public void syncMorph(Entity entity, MorphData morphData) {
+                syncs.add(entity.getUUID() + "=" + morphData.getMorphId());
+            }
+
+            @Override
+            public void syncRemoval(Entity entity) {
+                syncs.add(entity.getUUID() + "=none");
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (preListener != null)
+            MorphEvents.PRE_MORPH.unregister(preListener);
+        pipeline.clear();
+        pipeline.setSyncSink(null);
+        pipeline.setMaxRequestsPerTick(MorphPipeline.DEFAULT_MAX_REQUESTS_PER_TICK);
+        pipeline.setMaxQueued(MorphPipeline.DEFAULT_MAX_QUEUED);
+    }
+
+    @Test
+    void tickProcessesAtMostTheBudget() {
+        pipeline.setMaxRequestsPerTick(2);
+        List<CompletableFuture<MorphPipeline.Result>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            results.add(pipeline.submit(entity(), morph(), true));
+
+        pipeline.tick();
+        assertEquals(2, completed(results));
+        assertEquals(3, pipeline.getQueuedCount());
+
+        pipeline.tick();
+        assertEquals(4, completed(results));
+
+        pipeline.tick();
+        assertEquals(5, completed(results));
+        assertEquals(0, pipeline.getQueuedCount());
+        results.forEach(result -> assertTrue(result.join().isApplied()));
+    }
+
+    @Test
+    void syncsAreCoalescedPerEntity() {
+        Entity first = entity();
+        Entity second = entity();
+        MorphData pig = morph();
+        MorphData cow = morph();
+
+        pipeline.submit(first, pig, true);
+        pipeline.submit(second, pig, true);
+        pipeline.submit(first, cow, true);
+        pipeline.tick();
+
+        // One sync per entity, carrying the last state, in first-touched order
+        assertEquals(List.of(first.getUUID() + "=" + cow.getMorphId(), second.getUUID() + "=" + pig.getMorphId()),
+                syncs);
+        assertSame(cow, morphs.get(first));
+    }
+
+    @Test
+    void revertSyncsARemoval() {
+        Entity entity = entity();
+        pipeline.submit(entity, morph(), true);
+        pipeline.submitRevert(entity, true);
+        pipeline.tick();
+
+        assertEquals(List.of(entity.getUUID() + "=none"), syncs);
+        assertNull(morphs.get(entity));
+    }
+
+    @Test
+    void cancelledRequestChangesNothing() {
+        preListener = event -> event.setCancelled(true, "Not today");
+        MorphEvents.PRE_MORPH.register(preListener);
+
+        Entity entity = entity();
+        CompletableFuture<MorphPipeline.Result> result = pipeline.submit(entity, morph(), true);
+        pipeline.tick();
+
+        assertEquals(MorphPipeline.Status.CANCELLED, result.join().status());
+        assertEquals("Not today", result.join().message());
+        assertNull(morphs.get(entity));
+        assertTrue(syncs.isEmpty());
+    }
+
+    @Test
+    void removedEntityIsInvalid() {
+        Entity entity = entity();
+        when(entity.isRemoved()).thenReturn(true);
+
+        CompletableFuture<MorphPipeline.Result> result = pipeline.submit(entity, morph(), true);
+        pipeline.tick();
+
+        assertEquals(MorphPipeline.Status.INVALID, result.join().status());
+        assertNull(morphs.get(entity));
+        assertTrue(syncs.isEmpty());
+    }
+
+    @Test
+    void fullQueueRejectsImmediately() {
+        pipeline.setMaxQueued(2);
+        pipeline.submit(entity(), morph(), true);
+        pipeline.submit(entity(), morph(), true);
+        CompletableFuture<MorphPipeline.Result> rejected = pipeline.submit(entity(), morph(), true);
+
+        assertTrue(rejected.isDone());
+        assertSame(MorphPipeline.Result.REJECTED, rejected.join());
+        assertEquals(2, pipeline.getQueuedCount());
+    }
+
+    @Test
+    void clearRejectsQueuedRequests() {
+        CompletableFuture<MorphPipeline.Result> result = pipeline.submit(entity(), morph(), true);
+        pipeline.clear();
+
+        assertSame(MorphPipeline.Result.REJECTED, result.join());
+        assertEquals(0, pipeline.getQueuedCount());
+        pipeline.tick();
+        assertTrue(syncs.isEmpty());
+    }
+
+    private static Entity entity() {
+        Entity entity = mock(Entity.class);
+        UUID id = UUID.randomUUID();
+        when(entity.getUUID()).thenReturn(id);
+        return entity;
+    }
+
+    private static MorphData morph() {
+        MorphData morph = new MorphData();
+        morph.setEntityType(EntityType.PIG);
+        return morph;
+    }
+
+    private static int completed(List<CompletableFuture<MorphPipeline.Result>> results) {
+        return (int) results.stream().filter(CompletableFuture::isDone).count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.seristic.morphlib.fabric;
+
+import com.seristic.morphlib.events.MorphEvents;
+import com.seristic.morphlib.events.PostMorphEvent;
+import com.seristic.morphlib.events.PreMorphEvent;
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+
+/**
+ * Fabric API events mirroring MorphLib's common morph events. Setting the
+ * pre event cancelled stops later callbacks and cancels the morph.
+ */
+public final class MorphFabricEvents {
+    // Fabric's invoker is exactly this while an event has no callbacks
+    private static final PreMorph NO_PRE_MORPH = event -> {
+    };
+    private static final PostMorph NO_POST_MORPH = event -> {
+    };
+
+    public static final Event<PreMorph> PRE_MORPH = EventFactory.createArrayBacked(PreMorph.class,
+            NO_PRE_MORPH,
+            callbacks -> event -> {
+                for (PreMorph callback : callbacks) {
+                    callback.onPreMorph(event);
+                    if (event.isCancelled()) {
+                        return;
+                    }
+                }
+            });
+
+    public static final Event<PostMorph> POST_MORPH = EventFactory.createArrayBacked(PostMorph.class,
+            NO_POST_MORPH,
+            callbacks -> event -> {
+                for (PostMorph callback : callbacks) {
+                    callback.onPostMorph(event);
+                }
+            });
+
+    private MorphFabricEvents() {
+    }
+
+    @FunctionalInterface
+    public interface PreMorph {
+        void onPreMorph(PreMorphEvent event);
+    }
+
+    @FunctionalInterface
+    public interface PostMorph {
+        void onPostMorph(PostMorphEvent event);
+    }
+
+    /**
+     * Register the forwarding listeners on the common bus. They only count as
+     * listeners while a Fabric callback is registered.
+     */
+    static void bridge() {
+        MorphEvents.PRE_MORPH.registerForwarder(event -> PRE_MORPH.invoker().onPreMorph(event),
+                () -> PRE_MORPH.invoker() != NO_PRE_MORPH);
+        MorphEvents.POST_MORPH.registerForwarder(event -> POST_MORPH.invoker().onPostMorph(event),
+                () -> POST_MORPH.invoker() != NO_POST_MORPH);
+    }
+}
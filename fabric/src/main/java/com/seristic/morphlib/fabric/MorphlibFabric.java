@@ -1,7 +1,10 @@
 package com.seristic.morphlib.fabric;
 
 import com.seristic.morphlib.Morphlib;
+import com.seristic.morphlib.services.MorphPipeline;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 
 public final class MorphlibFabric implements ModInitializer {
     @Override
@@ -12,5 +15,14 @@ public final class MorphlibFabric implements ModInitializer {
 
         // Run our common setup.
         Morphlib.init();
+
+        // Expose morph events as Fabric API events
+        MorphFabricEvents.bridge();
+
+        // Morph requests are applied in one batch at the end of each server
+        // tick. There is no Fabric sync sink yet, so state is not sent to
+        // clients, but requests complete and the queue drains.
+        ServerTickEvents.END_SERVER_TICK.register(server -> MorphPipeline.getInstance().tick());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> MorphPipeline.getInstance().clear());
     }
 }
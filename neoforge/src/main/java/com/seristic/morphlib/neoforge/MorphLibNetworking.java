@@ -3,22 +3,44 @@ package com.seristic.morphlib.neoforge;
 import com.seristic.morphlib.MorphData;
 import com.seristic.morphlib.MorphManager;
 import com.seristic.morphlib.MorphStack;
+import com.seristic.morphlib.client.ClientMorphEligibility;
 import com.seristic.morphlib.neoforge.network.S2CMorphClearPacket;
 import com.seristic.morphlib.neoforge.network.S2CMorphStackSyncPacket;
 import com.seristic.morphlib.neoforge.network.S2CMorphSyncPacket;
 import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TraceContext;
+import com.seristic.morphlib.metrics.MorphMetrics;
+import com.seristic.morphlib.network.S2CMorphEligibilityPacket;
+import com.seristic.morphlib.restrictions.MorphEligibility;
+import com.seristic.morphlib.restrictions.MorphRestrictionManager;
+import com.seristic.morphlib.services.MorphPipeline;
+import com.seristic.morphlib.services.MorphService;
 import net.minecraft.client.Minecraft;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.neoforged.neoforge.network.PacketDistributor;
 import net.neoforged.neoforge.network.registration.PayloadRegistrar;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Handles networking for MorphLib on NeoForge platform.
  * Manages morph synchronization between server and clients.
  */
 public class MorphLibNetworking {
 
+    // Players whose eligibility is re-sent on the next server tick
+    private static final Set<UUID> staleEligibility = ConcurrentHashMap.newKeySet();
+    private static volatile boolean allEligibilityStale;
+    // Registry version whose id table each player last received
+    private static final Map<UUID, Integer> sentIdTables = new ConcurrentHashMap<>();
+
     /**
      * Register networking packets
      */
@@ -46,6 +68,12 @@ public class MorphLibNetworking {
                     MorphLibNetworking::handleMorphStackSync);
             ModLogger.info("MorphLibNetworking", "✅ Registered S2CMorphStackSyncPacket");
 
+            registrar.playToClient(
+                    S2CMorphEligibilityPacket.TYPE,
+                    S2CMorphEligibilityPacket.CODEC,
+                    MorphLibNetworking::handleMorphEligibility);
+            ModLogger.info("MorphLibNetworking", "✅ Registered S2CMorphEligibilityPacket");
+
             ModLogger.info("MorphLibNetworking", "🎉 All networking packets registered successfully!");
         } catch (Exception e) {
             ModLogger.error("MorphLibNetworking", "💥 Exception during packet registration: " + e.getMessage());
@@ -58,23 +86,27 @@ public class MorphLibNetworking {
      */
     private static void handleMorphSync(S2CMorphSyncPacket payload,
             net.neoforged.neoforge.network.handling.IPayloadContext context) {
-        ModLogger.info("MorphLibNetworking", "� PACKET HANDLER CALLED! handleMorphSync invoked!");
-        ModLogger.info("MorphLibNetworking", "�📦 Received morph sync packet for entity ID: " + payload.entityId() +
-                " with morph: " + payload.morphData().getEntityType().toShortString());
+        ModLogger.debug("MorphLibNetworking", () -> "📦 Received morph sync packet for entity ID: "
+                + payload.entityId() + " with morph: " + payload.morphData().getEntityType().toShortString());
 
         context.enqueueWork(() -> {
             Minecraft mc = Minecraft.getInstance();
             if (mc.level != null) {
                 Entity entity = mc.level.getEntity(payload.entityId());
                 if (entity != null) {
-                    MorphManager.applyMorph(entity, payload.morphData());
-                    ModLogger.info("MorphLibNetworking",
-                            "✅ Successfully applied morph " + payload.morphData().getEntityType().toShortString() +
-                                    " to entity: " + entity.getName().getString() + " (ID: " + payload.entityId()
-                                    + ")");
+                    // Continue the server's trace so both sides log the same id
+                    try (TraceContext.Scope trace = TraceContext.resume(payload.traceId(),
+                            payload.traceStartMillis())) {
+                        MorphManager.tryApplyMorph(entity, payload.morphData());
+                        MorphMetrics.MORPH_PROPAGATION_TIME.recordNanos(
+                                TimeUnit.MILLISECONDS.toNanos(TraceContext.current().elapsedMillis()));
+                        ModLogger.info("MorphLibNetworking", () -> "✅ Successfully applied morph "
+                                + payload.morphData().getEntityType().toShortString() + " to entity: "
+                                + entity.getName().getString() + " (ID: " + payload.entityId() + ")");
+                    }
                 } else {
-                    ModLogger.warn("MorphLibNetworking",
-                            "❌ Could not find entity with ID: " + payload.entityId() + " in client world");
+                    ModLogger.warn("MorphLibNetworking", "❌ Could not find entity with ID: {} in client world",
+                            payload.entityId());
                 }
             } else {
                 ModLogger.warn("MorphLibNetworking", "❌ Client world is null, cannot apply morph sync");
@@ -92,9 +124,9 @@ public class MorphLibNetworking {
             if (mc.level != null) {
                 Entity entity = mc.level.getEntity(payload.entityId());
                 if (entity != null) {
-                    MorphManager.removeMorph(entity);
+                    MorphManager.tryRemoveMorph(entity);
                     ModLogger.debug("MorphLibNetworking",
-                            "Removed morph from entity: " + entity.getName().getString());
+                            () -> "Removed morph from entity: " + entity.getName().getString());
                 }
             }
         });
@@ -117,28 +149,137 @@ public class MorphLibNetworking {
                         MorphManager.addMorphLayer(entity, layer.getLayerId(),
                                 layer.getPriority(), layer.getMorphData());
                     }
-                    ModLogger.debug("MorphLibNetworking",
-                            "Applied morph stack to entity: " + entity.getName().getString() +
-                                    " (" + payload.morphStack().getLayers().size() + " layers)");
+                    ModLogger.debug("MorphLibNetworking", () -> "Applied morph stack to entity: "
+                            + entity.getName().getString() + " (" + payload.morphStack().getLayers().size()
+                            + " layers)");
                 }
             }
         });
     }
 
+    /**
+     * Handle morph eligibility packet on client side
+     */
+    private static void handleMorphEligibility(S2CMorphEligibilityPacket payload,
+            net.neoforged.neoforge.network.handling.IPayloadContext context) {
+        context.enqueueWork(() -> {
+            MorphEligibility eligibility = payload.resolve(ClientMorphEligibility.get());
+            if (eligibility == null) {
+                // The server sends the id table whenever the version changes, so this means lost state
+                ModLogger.warn("MorphLibNetworking", "Ignoring eligibility for unknown registry version {}",
+                        payload.registryVersion());
+                return;
+            }
+            ClientMorphEligibility.set(eligibility);
+            ModLogger.debug("MorphLibNetworking", "Received eligibility for {} morphs ({} eligible)",
+                    eligibility.size(), eligibility.eligibleCount());
+        });
+    }
+
+    /**
+     * Send the player's eligibility for every registered morph (one packet).
+     * Morph UUIDs are only included the first time after a registry change.
+     */
+    public static void sendEligibility(ServerPlayer player) {
+        MorphEligibility eligibility = MorphService.getInstance().evaluateAll(player);
+        Integer sent = sentIdTables.put(player.getUUID(), eligibility.registryVersion());
+        boolean includeIds = sent == null || sent != eligibility.registryVersion();
+        PacketDistributor.sendToPlayer(player, S2CMorphEligibilityPacket.of(eligibility, includeIds));
+        MorphMetrics.SYNC_PACKETS_SENT.increment();
+    }
+
+    /** Forget what a player was sent (logout); the next packet carries the id table again. */
+    public static void forgetEligibility(UUID playerId) {
+        staleEligibility.remove(playerId);
+        sentIdTables.remove(playerId);
+    }
+
+    /**
+     * Marks eligibility stale from any thread; {@link #flushEligibility} then
+     * re-sends it once per player.
+     */
+    public static final MorphRestrictionManager.EligibilityListener ELIGIBILITY_REFRESH
+            = new MorphRestrictionManager.EligibilityListener() {
+        @Override
+        public void eligibilityChanged(UUID playerId) {
+            staleEligibility.add(playerId);
+        }
+
+        @Override
+        public void eligibilityChangedForAll() {
+            allEligibilityStale = true;
+        }
+    };
+
+    /**
+     * Re-send eligibility to every player marked stale since the last call.
+     * Call once per server tick, on the server thread.
+     */
+    public static void flushEligibility(MinecraftServer server) {
+        if (allEligibilityStale) {
+            allEligibilityStale = false;
+            staleEligibility.clear();
+            for (ServerPlayer player : server.getPlayerList().getPlayers())
+                sendEligibility(player);
+            return;
+        }
+        Iterator<UUID> stale = staleEligibility.iterator();
+        while (stale.hasNext()) {
+            UUID playerId = stale.next();
+            stale.remove();
+            // Offline players get a fresh copy when they log in
+            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+            if (player != null)
+                sendEligibility(player);
+        }
+    }
+
+    /** Drop pending eligibility refreshes and sent id tables (server shutdown). */
+    public static void clearPendingEligibility() {
+        allEligibilityStale = false;
+        staleEligibility.clear();
+        sentIdTables.clear();
+    }
+
+    /**
+     * Sends the morph pipeline's coalesced syncs to the entity itself (if a
+     * player) and to everyone tracking it. A morphed player's eligibility is
+     * re-sent as well.
+     */
+    public static final MorphPipeline.SyncSink PIPELINE_SYNC = new MorphPipeline.SyncSink() {
+        @Override
+        public void syncMorph(Entity entity, MorphData morphData) {
+            if (entity instanceof ServerPlayer player) {
+                sendToPlayer(player, entity, morphData);
+                staleEligibility.add(player.getUUID());
+            }
+            sendToAllTracking(entity, morphData);
+        }
+
+        @Override
+        public void syncRemoval(Entity entity) {
+            if (entity instanceof ServerPlayer player) {
+                sendRemovalToPlayer(player, entity);
+                staleEligibility.add(player.getUUID());
+            }
+            sendRemovalToAllTracking(entity);
+        }
+    };
+
     /**
      * Send morph data to a specific player
      */
     public static void sendToPlayer(ServerPlayer player, Entity entity, MorphData morphData) {
-        ModLogger.info("MorphLibNetworking",
-                "🎯 ENTERING sendToPlayer for player: " + player.getName().getString() +
-                        ", entity ID: " + entity.getId() + " with morph: " + morphData.getEntityType().toShortString());
+        ModLogger.debug("MorphLibNetworking", () -> "🎯 sendToPlayer for player: " + player.getName().getString()
+                + ", entity ID: " + entity.getId() + " with morph: " + morphData.getEntityType().toShortString());
 
         S2CMorphSyncPacket payload = new S2CMorphSyncPacket(entity.getId(), morphData);
 
         try {
             PacketDistributor.sendToPlayer(player, payload);
+            MorphMetrics.SYNC_PACKETS_SENT.increment();
             ModLogger.info("MorphLibNetworking",
-                    "🚀 Successfully sent morph sync packet to player " + player.getName().getString());
+                    () -> "🚀 Successfully sent morph sync packet to player " + player.getName().getString());
         } catch (Exception e) {
             ModLogger.error("MorphLibNetworking",
                     "💥 Exception while sending packet to player: " + e.getMessage());
@@ -150,19 +291,16 @@ public class MorphLibNetworking {
      * Send morph data to all players tracking this entity
      */
     public static void sendToAllTracking(Entity entity, MorphData morphData) {
-        ModLogger.info("MorphLibNetworking",
-                "🎯 ENTERING sendToAllTracking for entity ID: " + entity.getId() +
-                        " with morph: " + morphData.getEntityType().toShortString());
+        ModLogger.debug("MorphLibNetworking", () -> "🎯 sendToAllTracking for entity ID: " + entity.getId()
+                + " with morph: " + morphData.getEntityType().toShortString());
 
         S2CMorphSyncPacket payload = new S2CMorphSyncPacket(entity.getId(), morphData);
 
-        ModLogger.info("MorphLibNetworking",
-                "📦 Created packet payload, about to send to tracking players...");
-
         try {
             PacketDistributor.sendToPlayersTrackingEntity(entity, payload);
+            MorphMetrics.SYNC_PACKETS_SENT.increment();
             ModLogger.info("MorphLibNetworking",
-                    "🚀 Successfully sent morph sync packet to ALL TRACKING for entity ID: " + entity.getId());
+                    "🚀 Successfully sent morph sync packet to ALL TRACKING for entity ID: {}", entity.getId());
         } catch (Exception e) {
             ModLogger.error("MorphLibNetworking",
                     "💥 Exception while sending packet: " + e.getMessage());
@@ -177,7 +315,7 @@ public class MorphLibNetworking {
         S2CMorphClearPacket payload = new S2CMorphClearPacket(entity.getId());
         PacketDistributor.sendToPlayersTrackingEntity(entity, payload);
         ModLogger.info("MorphLibNetworking",
-                "🚀 Sending morph REMOVAL packet to ALL TRACKING for entity ID: " + entity.getId());
+                "🚀 Sending morph REMOVAL packet to ALL TRACKING for entity ID: {}", entity.getId());
     }
 
     /**
@@ -186,8 +324,8 @@ public class MorphLibNetworking {
     public static void sendRemovalToPlayer(ServerPlayer player, Entity entity) {
         S2CMorphClearPacket payload = new S2CMorphClearPacket(entity.getId());
         PacketDistributor.sendToPlayer(player, payload);
-        ModLogger.info("MorphLibNetworking",
-                "🚀 Sending morph REMOVAL packet to player " + player.getName().getString() + " for entity ID: " + entity.getId());
+        ModLogger.info("MorphLibNetworking", () -> "🚀 Sending morph REMOVAL packet to player "
+                + player.getName().getString() + " for entity ID: " + entity.getId());
     }
 
     /**
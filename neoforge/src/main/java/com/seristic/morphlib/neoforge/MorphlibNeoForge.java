@@ -2,14 +2,30 @@ package com.seristic.morphlib.neoforge;
 
 import com.seristic.morphlib.Morphlib;
 import com.seristic.morphlib.MorphManager;
+import com.seristic.morphlib.client.ClientMorphEligibility;
+import com.seristic.morphlib.client.render.MorphLodPolicy;
 import com.seristic.morphlib.client.render.UniversalMorphRenderHandler;
+import com.seristic.morphlib.data.MorphDefinitionLoader;
+import com.seristic.morphlib.data.PlayerMorphHistoryManager;
 import com.seristic.morphlib.neoforge.command.MorphCommand;
+import com.seristic.morphlib.restrictions.MorphRestrictionManager;
+import com.seristic.morphlib.services.MorphPipeline;
 import com.seristic.morphlib.logging.ModLogger;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.loading.FMLEnvironment;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.AddReloadListenerEvent;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 import net.neoforged.neoforge.network.registration.PayloadRegistrar;
 
@@ -36,19 +52,55 @@ public class MorphlibNeoForge {
 
         // Register client-side rendering on client setup
         modEventBus.addListener(this::clientSetup);
+        if (FMLEnvironment.dist == Dist.CLIENT) {
+            registerClientModListeners(modEventBus);
+            NeoForge.EVENT_BUS.addListener(this::onClientLoggingOut);
+        }
 
         // Register commands
         NeoForge.EVENT_BUS.addListener(this::registerCommands);
 
+        // Forward morph lifecycle events to the NeoForge bus
+        NeoForgeMorphEvents.bridge();
+
+        // Datapack morph definitions (data/<namespace>/morphs/*.json)
+        NeoForge.EVENT_BUS.addListener(this::registerReloadListeners);
+
+        // Morph requests are applied in one batch at the end of each server tick
+        MorphPipeline.getInstance().setSyncSink(MorphLibNetworking.PIPELINE_SYNC);
+        NeoForge.EVENT_BUS.addListener(this::onServerTick);
+
+        // Re-send morph eligibility when rules, morphs, cooldowns or dimensions change
+        MorphRestrictionManager.getInstance().setEligibilityListener(MorphLibNetworking.ELIGIBILITY_REFRESH);
+        NeoForge.EVENT_BUS.addListener(this::onPlayerChangedDimension);
+
+        // Player morph history persistence
+        NeoForge.EVENT_BUS.addListener(this::onServerStarting);
+        NeoForge.EVENT_BUS.addListener(this::onServerStopped);
+        NeoForge.EVENT_BUS.addListener(this::onPlayerLoggedIn);
+        NeoForge.EVENT_BUS.addListener(this::onPlayerLoggedOut);
+
         ModLogger.info("MorphlibNeoForge", "✅ NeoForge mod initialization completed successfully!");
     }
 
     private void clientSetup(FMLClientSetupEvent event) {
+        // Morph detail by camera distance and on-screen size
+        MorphLodPolicy.configure(MorphLodPolicy.Thresholds.builder()
+                .distances(16.0f, 48.0f) // blocks
+                .minScreenSizes(0.08f, 0.02f) // entity height / distance
+                .build());
+
         // Register universal morph rendering handler (works on ALL LivingEntity types)
         UniversalMorphRenderHandler.register();
         ModLogger.info("MorphlibNeoForge", "✅ Universal morph render handler registered");
     }
 
+    private void registerClientModListeners(IEventBus modEventBus) {
+        // Chest geometry render layer and cache invalidation on resource reload
+        modEventBus.addListener(UniversalMorphRenderHandler::onAddLayers);
+        modEventBus.addListener(UniversalMorphRenderHandler::onRegisterReloadListeners);
+    }
+
     private void registerNetworking(RegisterPayloadHandlersEvent event) {
         ModLogger.info("MorphlibNeoForge", "🔧 registerNetworking method called!");
 
@@ -61,6 +113,50 @@ public class MorphlibNeoForge {
         ModLogger.info("MorphlibNeoForge", "✅ Networking registration completed successfully!");
     }
 
+    private void registerReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(MorphDefinitionLoader.getInstance());
+    }
+
+    private void onServerStarting(ServerStartingEvent event) {
+        PlayerMorphHistoryManager.getInstance().start(
+                event.getServer().getWorldPath(LevelResource.ROOT).resolve("morphlib").resolve("history"),
+                event.getServer(), PlayerMorphHistoryManager.DEFAULT_FLUSH_INTERVAL);
+    }
+
+    private void onServerStopped(ServerStoppedEvent event) {
+        MorphPipeline.getInstance().clear();
+        MorphLibNetworking.clearPendingEligibility();
+        PlayerMorphHistoryManager.getInstance().stop();
+    }
+
+    private void onServerTick(ServerTickEvent.Post event) {
+        MorphPipeline.getInstance().tick();
+        MorphRestrictionManager.getInstance().tickCooldownExpiries(event.getServer().overworld().getGameTime());
+        MorphLibNetworking.flushEligibility(event.getServer());
+    }
+
+    private void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        PlayerMorphHistoryManager.getInstance().onPlayerLogin(event.getEntity().getUUID());
+        if (event.getEntity() instanceof ServerPlayer player) {
+            MorphLibNetworking.sendEligibility(player);
+        }
+    }
+
+    private void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PlayerMorphHistoryManager.getInstance().onPlayerLogout(event.getEntity().getUUID());
+        MorphRestrictionManager.getInstance().invalidate(event.getEntity().getUUID());
+        MorphLibNetworking.forgetEligibility(event.getEntity().getUUID());
+    }
+
+    private void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        MorphLibNetworking.ELIGIBILITY_REFRESH.eligibilityChanged(event.getEntity().getUUID());
+    }
+
+    private void onClientLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        // Eligibility belongs to the server just left
+        ClientMorphEligibility.clear();
+    }
+
     private void registerCommands(RegisterCommandsEvent event) {
         MorphCommand.register(event.getDispatcher());
         ModLogger.info("MorphlibNeoForge", "Commands registered");
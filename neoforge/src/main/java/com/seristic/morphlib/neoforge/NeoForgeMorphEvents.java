@@ -0,0 +1,84 @@
+package com.seristic.morphlib.neoforge;
+
+import com.seristic.morphlib.events.MorphEvents;
+import com.seristic.morphlib.events.PostMorphEvent;
+import com.seristic.morphlib.events.PreMorphEvent;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.ICancellableEvent;
+import net.neoforged.neoforge.common.NeoForge;
+
+/**
+ * Forwards MorphLib's common morph events to {@link NeoForge#EVENT_BUS}, so
+ * NeoForge mods can use {@code @SubscribeEvent} as usual. Cancelling
+ * {@link Pre} cancels the morph.
+ */
+public final class NeoForgeMorphEvents {
+
+    private NeoForgeMorphEvents() {
+    }
+
+    /**
+     * Fired on {@link NeoForge#EVENT_BUS} before an entity morphs or reverts.
+     * Cancel with {@link #cancel(String)} to tell the player why.
+     */
+    public static class Pre extends Event implements ICancellableEvent {
+        private final PreMorphEvent event;
+        private String cancelReason;
+
+        public Pre(PreMorphEvent event) {
+            this.event = event;
+        }
+
+        public PreMorphEvent getMorphEvent() {
+            return event;
+        }
+
+        /**
+         * Cancel the morph with a reason shown to the player.
+         */
+        public void cancel(String reason) {
+            this.cancelReason = reason;
+            setCanceled(true);
+        }
+
+        public String getCancelReason() {
+            return cancelReason;
+        }
+    }
+
+    /**
+     * Fired on {@link NeoForge#EVENT_BUS} after an entity morphed or reverted.
+     */
+    public static class Post extends Event {
+        private final PostMorphEvent event;
+
+        public Post(PostMorphEvent event) {
+            this.event = event;
+        }
+
+        public PostMorphEvent getMorphEvent() {
+            return event;
+        }
+    }
+
+    /**
+     * Register the forwarding listeners on the common bus. NeoForge's bus
+     * cannot report whether anything subscribed to {@link Pre} or
+     * {@link Post}, so these always count as listeners and the common events
+     * are built for every morph.
+     */
+    public static void bridge() {
+        MorphEvents.PRE_MORPH.register(event -> {
+            Pre pre = NeoForge.EVENT_BUS.post(new Pre(event));
+            if (pre.isCanceled()) {
+                String reason = pre.getCancelReason();
+                if (reason == null)
+                    reason = event.getCancelReason();
+                if (reason == null)
+                    reason = "Cancelled by a NeoForge listener";
+                event.setCancelled(true, reason);
+            }
+        });
+        MorphEvents.POST_MORPH.register(event -> NeoForge.EVENT_BUS.post(new Post(event)));
+    }
+}
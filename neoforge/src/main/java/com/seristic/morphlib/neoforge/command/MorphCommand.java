@@ -9,7 +9,9 @@ import com.seristic.morphlib.MorphData;
 import com.seristic.morphlib.MorphManager;
 import com.seristic.morphlib.MorphStack;
 import com.seristic.morphlib.logging.ModLogger;
-import com.seristic.morphlib.neoforge.MorphLibNetworking;
+import com.seristic.morphlib.logging.TraceContext;
+import com.seristic.morphlib.metrics.MetricsRegistry;
+import com.seristic.morphlib.services.MorphPipeline;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.ResourceLocationArgument;
@@ -77,6 +79,14 @@ public class MorphCommand {
                                                 .then(Commands.literal("info")
                                                                 .executes(MorphCommand::executeMorphStackInfo)));
 
+                // Metrics export
+                dispatcher.register(
+                                Commands.literal("morphmetrics")
+                                                .requires(source -> source.hasPermission(2)) // Op level 2
+                                                .executes(MorphCommand::executeMetrics)
+                                                .then(Commands.literal("log")
+                                                                .executes(MorphCommand::executeLogMetrics)));
+
                 ModLogger.info("MorphCommand", "Morph commands registered");
         }
 
@@ -101,22 +111,19 @@ public class MorphCommand {
                 MorphData morphData = new MorphData();
                 morphData.setEntityType(entityType);
 
-                // Apply morph
-                MorphManager.applyMorph(player, morphData);
-
-                // Sync to the player themselves (important for single-player and self-view)
-                MorphLibNetworking.sendToPlayer(player, player, morphData);
-                
-                // Sync to all OTHER players tracking this player
-                MorphLibNetworking.sendToAllTracking(player, morphData);
-
-                // Send success message
-                context.getSource().sendSuccess(
-                                () -> Component.literal("Morphed into " + entityId),
-                                true);
-
-                ModLogger.info("MorphCommand", "Player " + player.getName().getString() +
-                                " morphed into " + entityId);
+                // Queue under one trace so clients report propagation latency; operators bypass restrictions
+                CommandSourceStack source = context.getSource();
+                try (TraceContext.Scope trace = TraceContext.begin()) {
+                        MorphPipeline.getInstance().submit(player, morphData, true).thenAccept(result -> {
+                                if (!result.isApplied()) {
+                                        source.sendFailure(Component.literal("Morph failed: " + result.message()));
+                                        return;
+                                }
+                                source.sendSuccess(() -> Component.literal("Morphed into " + entityId), true);
+                                ModLogger.info("MorphCommand", "Player {} morphed into {}",
+                                                player.getName().getString(), entityId);
+                        });
+                }
 
                 return 1;
         }
@@ -132,21 +139,18 @@ public class MorphCommand {
                         return 0;
                 }
 
-                // Remove morph
-                MorphManager.removeMorph(player);
-
-                // Sync removal to the player themselves
-                MorphLibNetworking.sendRemovalToPlayer(player, player);
-                
-                // Sync removal to all OTHER players tracking this player
-                MorphLibNetworking.sendRemovalToAllTracking(player);
-
-                // Send success message
-                context.getSource().sendSuccess(
-                                () -> Component.literal("Morph removed"),
-                                true);
-
-                ModLogger.info("MorphCommand", "Player " + player.getName().getString() + " unmorphed");
+                // Queue the removal; the pipeline syncs it to the player and everyone tracking them
+                CommandSourceStack source = context.getSource();
+                try (TraceContext.Scope trace = TraceContext.begin()) {
+                        MorphPipeline.getInstance().submitRevert(player, true).thenAccept(result -> {
+                                if (!result.isApplied()) {
+                                        source.sendFailure(Component.literal("Morph removal failed: " + result.message()));
+                                        return;
+                                }
+                                source.sendSuccess(() -> Component.literal("Morph removed"), true);
+                                ModLogger.info("MorphCommand", "Player {} unmorphed", player.getName().getString());
+                        });
+                }
 
                 return 1;
         }
@@ -282,4 +286,24 @@ public class MorphCommand {
 
                 return 1;
         }
+
+        /**
+         * Execute the /morphmetrics command to show the current metrics snapshot.
+         */
+        private static int executeMetrics(CommandContext<CommandSourceStack> context) {
+                context.getSource().sendSuccess(() -> Component.literal("MorphLib metrics:"), false);
+                for (String line : MetricsRegistry.getInstance().snapshotLines()) {
+                        context.getSource().sendSuccess(() -> Component.literal("  " + line), false);
+                }
+                return 1;
+        }
+
+        /**
+         * Execute the /morphmetrics log command to write a snapshot to the mod log.
+         */
+        private static int executeLogMetrics(CommandContext<CommandSourceStack> context) {
+                MetricsRegistry.getInstance().logSnapshot();
+                context.getSource().sendSuccess(() -> Component.literal("Metrics snapshot written to the log"), false);
+                return 1;
+        }
 }
@@ -2,6 +2,9 @@ package com.seristic.morphlib.neoforge.network;
 
 import com.seristic.morphlib.MorphStack;
 import com.seristic.morphlib.Morphlib;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TimedOperation;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
@@ -20,8 +23,10 @@ public record S2CMorphStackSyncPacket(int entityId, MorphStack morphStack) imple
             .of(S2CMorphStackSyncPacket::write, S2CMorphStackSyncPacket::read);
 
     private static void write(RegistryFriendlyByteBuf buf, S2CMorphStackSyncPacket packet) {
-        buf.writeInt(packet.entityId);
-        packet.morphStack.write(buf);
+        try (TimedOperation ignored = ModLogger.startTimed(MorphMetrics.PACKET_ENCODE_TIME)) {
+            buf.writeInt(packet.entityId);
+            packet.morphStack.write(buf);
+        }
     }
 
     private static S2CMorphStackSyncPacket read(RegistryFriendlyByteBuf buf) {
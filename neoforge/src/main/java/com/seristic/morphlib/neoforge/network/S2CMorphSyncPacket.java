@@ -2,6 +2,10 @@ package com.seristic.morphlib.neoforge.network;
 
 import com.seristic.morphlib.MorphData;
 import com.seristic.morphlib.Morphlib;
+import com.seristic.morphlib.logging.ModLogger;
+import com.seristic.morphlib.logging.TimedOperation;
+import com.seristic.morphlib.logging.TraceContext;
+import com.seristic.morphlib.metrics.MorphMetrics;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
@@ -9,9 +13,11 @@ import net.minecraft.resources.ResourceLocation;
 
 /**
  * Packet sent from server to client to sync morph data for an entity.
- * This packet contains the entity ID and the morph data to apply.
+ * This packet contains the entity ID, the morph data to apply and the
+ * trace (id and start time) of the request that caused it.
  */
-public record S2CMorphSyncPacket(int entityId, MorphData morphData) implements CustomPacketPayload {
+public record S2CMorphSyncPacket(int entityId, MorphData morphData, long traceId, long traceStartMillis)
+        implements CustomPacketPayload {
 
     public static final Type<S2CMorphSyncPacket> TYPE = new Type<>(
             ResourceLocation.fromNamespaceAndPath(Morphlib.MOD_ID, "morph_sync"));
@@ -19,15 +25,32 @@ public record S2CMorphSyncPacket(int entityId, MorphData morphData) implements C
     public static final StreamCodec<RegistryFriendlyByteBuf, S2CMorphSyncPacket> CODEC = StreamCodec
             .of(S2CMorphSyncPacket::write, S2CMorphSyncPacket::read);
 
+    /** Packet carrying the active trace, or a new one if none is active. */
+    public S2CMorphSyncPacket(int entityId, MorphData morphData) {
+        this(entityId, morphData, TraceContext.currentOrNew());
+    }
+
+    private S2CMorphSyncPacket(int entityId, MorphData morphData, TraceContext trace) {
+        this(entityId, morphData, trace.traceId(), trace.startMillis());
+    }
+
     private static void write(RegistryFriendlyByteBuf buf, S2CMorphSyncPacket packet) {
-        buf.writeInt(packet.entityId);
-        packet.morphData.write(buf);
+        try (TimedOperation ignored = ModLogger.startTimed(MorphMetrics.PACKET_ENCODE_TIME)) {
+            int start = buf.writerIndex();
+            buf.writeInt(packet.entityId);
+            packet.morphData.write(buf);
+            buf.writeLong(packet.traceId);
+            buf.writeLong(packet.traceStartMillis);
+            MorphMetrics.SYNC_BYTES_SENT.add(buf.writerIndex() - start);
+        }
     }
 
     private static S2CMorphSyncPacket read(RegistryFriendlyByteBuf buf) {
         int entityId = buf.readInt();
         MorphData morphData = MorphData.read(buf);
-        return new S2CMorphSyncPacket(entityId, morphData);
+        long traceId = buf.readLong();
+        long traceStartMillis = buf.readLong();
+        return new S2CMorphSyncPacket(entityId, morphData, traceId, traceStartMillis);
     }
 
     @Override